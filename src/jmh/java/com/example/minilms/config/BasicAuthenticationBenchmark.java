@@ -0,0 +1,57 @@
+package com.example.minilms.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks HTTP Basic authentication of one request on a single thread (requests/second per core),
+ * with and without the verified credential cache
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BasicAuthenticationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean credentialCache;
+
+    private BasicAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        SecurityConfig securityConfig = new SecurityConfig();
+        UserDetailsService userDetailsService = securityConfig.userDetailsService();
+        filter = new BasicAuthenticationFilter(new ProviderManager(securityConfig.authenticationProvider(
+                userDetailsService, new SimpleMeterRegistry(), credentialCache, 300, 10_000)));
+        authorization = "Basic " + Base64.getEncoder()
+                .encodeToString("student:student123".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public int authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.minilms.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test against a running instance
+ *
+ * Keeps a fixed number of connections busy, each sending its next request as soon as the previous
+ * response arrived, and reports throughput and latency percentiles over the measurement window
+ * (after a warm-up). Compare request execution modes by running it against the application started
+ * with and without the {@code virtual-threads} profile, e.g.
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile
+ * java -Djdk.httpclient.keepalive.timeout=600 -cp target/test-classes com.example.minilms.loadtest.HttpLoadTest \
+ *     --connections=5000 --duration=60 --path=/api/courses/1/progress?userId=student1
+ * </pre>
+ * Needs an open file limit above the connection count on both sides.
+ */
+public class HttpLoadTest {
+
+    private static final long BUCKET_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int BUCKETS = 600_000;
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean recording;
+    private volatile boolean stopped;
+
+    HttpLoadTest(URI uri, String user, String password, Duration timeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        String credentials = Base64.getEncoder()
+                .encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Basic " + credentials)
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String path = options.getOrDefault("path", "/api/courses/1/progress?userId=student1");
+        int connections = Integer.parseInt(options.getOrDefault("connections", "5000"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60")));
+
+        HttpLoadTest test = new HttpLoadTest(URI.create(baseUrl + path),
+                options.getOrDefault("user", "admin"), options.getOrDefault("password", "admin123"), timeout);
+        System.out.printf("GET %s%s with %d connections: %d s warm-up, %d s measurement%n",
+                baseUrl, path, connections, warmupSeconds, durationSeconds);
+        test.run(connections, warmupSeconds, durationSeconds);
+    }
+
+    void run(int connections, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(connections);
+        for (int i = 0; i < connections; i++) {
+            send(finished);
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        recording = true;
+        long started = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        recording = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        stopped = true;
+        finished.await(1, TimeUnit.MINUTES);
+
+        long completed = ok.sum();
+        System.out.printf("requests: %d ok, %d failed, %.0f req/s%n",
+                completed, failed.sum(), completed / elapsedSeconds);
+        System.out.printf("latency ms: p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                percentile(0.50), percentile(0.90), percentile(0.99), percentile(0.999), percentile(1.0));
+    }
+
+    /**
+     * Send the next request of a connection, chaining the following one onto its completion
+     */
+    private void send(CountDownLatch finished) {
+        if (stopped) {
+            finished.countDown();
+            return;
+        }
+        long sentAt = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (recording) {
+                        if (error == null && response.statusCode() < 400) {
+                            ok.increment();
+                            long bucket = (System.nanoTime() - sentAt) / BUCKET_NANOS;
+                            latencies.incrementAndGet((int) Math.min(bucket, BUCKETS - 1));
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                    send(finished);
+                });
+    }
+
+    /**
+     * Latency in milliseconds at the given quantile of the successful requests, at 0.1 ms resolution
+     */
+    private double percentile(double quantile) {
+        long total = ok.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += latencies.get(bucket);
+            if (seen >= rank) {
+                return (bucket + 1) * BUCKET_NANOS / 1e6;
+            }
+        }
+        return BUCKETS * BUCKET_NANOS / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.MiniLmsApplication;
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonContent;
+import com.example.minilms.entity.LessonProgress;
+import com.example.minilms.entity.LessonType;
+import com.example.minilms.entity.Module;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks bulk entity inserts through JPA against the in-memory database: lessons with their
+ * bodies, and lesson progress rows, {@value #ROWS} per transaction
+ *
+ * Runs the application context with each Hibernate JDBC batch size; the score is rows per second.
+ * With identity-generated IDs every row is inserted on its own to learn its ID, whatever the batch size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EntityInsertBenchmark {
+
+    private static final int ROWS = 200;
+    private static final long MODULE_ID = 1L;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> lessonIds;
+    private long run;
+
+    @Setup
+    public void setUp() {
+        // Passed as command line arguments to take precedence over application.properties
+        context = new SpringApplicationBuilder(MiniLmsApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:insert-benchmark;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.minilms=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        lessonIds = context.getBean(LessonRepository.class).findLessonIdsByModuleId(MODULE_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertLessons() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Module module = entityManager.getReference(Module.class, MODULE_ID);
+            for (int i = 0; i < ROWS; i++) {
+                Lesson lesson = new Lesson("Benchmark lesson " + i, LessonType.TEXT, "Benchmark lesson body " + i);
+                lesson.setModule(module);
+                lesson.setOrderIndex((i + 1) * Lesson.ORDER_INDEX_GAP);
+                entityManager.persist(lesson);
+                entityManager.persist(new LessonContent(lesson, "Benchmark lesson body " + i));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertProgress() {
+        List<LessonProgress> rows = new ArrayList<>(ROWS);
+        while (rows.size() < ROWS) {
+            String userId = "bench-" + run++;
+            for (int i = 0; i < lessonIds.size() && rows.size() < ROWS; i++) {
+                LessonProgress progress = new LessonProgress(userId, lessonIds.get(i), i % 2 == 0);
+                progress.setModuleId(MODULE_ID);
+                progress.setCourseId(1L);
+                rows.add(progress);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> rows.forEach(entityManager::persist));
+    }
+}
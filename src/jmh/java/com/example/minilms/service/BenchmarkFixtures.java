@@ -0,0 +1,185 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.CourseStructure.LessonNode;
+import com.example.minilms.dto.projection.CourseStructure.ModuleNode;
+import com.example.minilms.entity.*;
+import com.example.minilms.entity.Module;
+import com.example.minilms.repository.LessonProgressRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Synthetic course trees, progress sets and data access stubs shared by the benchmarks
+ *
+ * Stubs are plain subclasses and proxies rather than mocks, so that stubbed calls
+ * cost next to nothing compared to the code being measured.
+ */
+final class BenchmarkFixtures {
+
+    static final String USER_ID = "bench-user";
+    static final Long COURSE_ID = 1L;
+    static final int LESSONS_PER_MODULE = 10;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Build a course with the given number of lessons, split into modules of {@code lessonsPerModule}
+     */
+    static CourseStructure course(int lessonCount, int lessonsPerModule) {
+        Course course = new Course("Benchmark course", "Synthetic course with " + lessonCount + " lessons");
+        course.setId(COURSE_ID);
+        course.setCreatedAt(NOW);
+        course.setUpdatedAt(NOW);
+
+        LessonType[] types = LessonType.values();
+        List<Module> modules = new ArrayList<>();
+        long lessonId = 1;
+        for (int moduleIndex = 0; lessonId <= lessonCount; moduleIndex++) {
+            Module module = new Module("Module " + (moduleIndex + 1), "Synthetic module");
+            module.setId((long) moduleIndex + 1);
+            module.setCreatedAt(NOW);
+            module.setUpdatedAt(NOW);
+
+            for (int i = 0; i < lessonsPerModule && lessonId <= lessonCount; i++, lessonId++) {
+                LessonType type = types[(int) (lessonId % types.length)];
+                Lesson lesson = new Lesson("Lesson " + lessonId, type, sampleContent(type));
+                lesson.setId(lessonId);
+                lesson.setOrderIndex(i + 1);
+                lesson.setCreatedAt(NOW);
+                lesson.setUpdatedAt(NOW);
+                module.addLesson(lesson);
+            }
+            course.addModule(module);
+            modules.add(module);
+        }
+
+        return CourseStructure.of(course, modules, 1);
+    }
+
+    /**
+     * Build progress rows for roughly {@code densityPercent}% of the lessons, two thirds of them completed
+     */
+    static List<LessonProgress> progress(CourseStructure course, int densityPercent) {
+        Random random = new Random(42);
+        List<LessonProgress> progress = new ArrayList<>();
+        for (ModuleNode module : course.modules()) {
+            for (LessonNode lesson : module.lessons()) {
+                if (random.nextInt(100) < densityPercent) {
+                    LessonProgress row = new LessonProgress(USER_ID, lesson.id(), random.nextInt(3) != 0);
+                    row.setStartedAt(NOW);
+                    row.setUpdatedAt(NOW.plusMinutes(lesson.id()));
+                    progress.add(row);
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Build the completion bitsets matching a set of progress rows
+     */
+    static CompletionIndexService.CompletionIndex completionIndex(CourseStructure course, List<LessonProgress> progress) {
+        BitSet started = new BitSet();
+        BitSet completed = new BitSet();
+        for (LessonProgress row : progress) {
+            int position = course.completionLayout().lessonPositions().get(row.getLessonId());
+            started.set(position);
+            completed.set(position, row.getCompleted());
+        }
+        return new CompletionIndexService.CompletionIndex(course.completionLayout(), started, completed, NOW);
+    }
+
+    /**
+     * Build the module rollups matching a set of progress rows
+     */
+    static ProgressRollupService.CourseRollup rollup(CourseStructure course, List<LessonProgress> progress) {
+        Map<Long, LessonProgress> byLesson = new HashMap<>();
+        progress.forEach(row -> byLesson.put(row.getLessonId(), row));
+
+        List<UserModuleProgress> modules = new ArrayList<>();
+        for (ModuleNode module : course.getNonEmptyModules()) {
+            UserModuleProgress rollup = new UserModuleProgress(USER_ID, module.id(), COURSE_ID, module.lessons().size());
+            for (LessonNode lesson : module.lessons()) {
+                LessonProgress row = byLesson.get(lesson.id());
+                if (row != null) {
+                    rollup.applyDelta(1, row.getCompleted() ? 1 : 0, row.getUpdatedAt());
+                }
+            }
+            if (rollup.getStartedLessons() > 0) {
+                modules.add(rollup);
+            }
+        }
+        return new ProgressRollupService.CourseRollup(NOW, modules);
+    }
+
+    /**
+     * Valid sample content for a lesson type
+     */
+    static String sampleContent(LessonType type) {
+        return switch (type) {
+            case TEXT -> "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(40);
+            case VIDEO -> "https://www.youtube.com/watch?v=benchmark";
+            case IMAGE -> "https://cdn.example.com/images/diagram.png";
+            case PDF -> "https://cdn.example.com/docs/handout.pdf";
+        };
+    }
+
+    /**
+     * Structure cache serving a fixed course, which also contains every requested module
+     */
+    static CourseStructureCache structureCache(CourseStructure course) {
+        return new CourseStructureCache(null, null, null, null, new SimpleMeterRegistry(), 1, 1) {
+            @Override
+            public Optional<CourseStructure> getCourse(Long courseId) {
+                return Optional.of(course);
+            }
+
+            @Override
+            public Optional<CourseStructure> getCourseOfModule(Long moduleId) {
+                return Optional.of(course);
+            }
+        };
+    }
+
+    /**
+     * Lesson progress repository answering the course and module progress queries with fixed rows
+     */
+    static LessonProgressRepository progressRepository(List<LessonProgress> progress) {
+        return (LessonProgressRepository) Proxy.newProxyInstance(LessonProgressRepository.class.getClassLoader(),
+                new Class<?>[]{LessonProgressRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserIdAndCourseId", "findByUserIdAndModuleId" -> progress;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Completion index service returning fixed bitsets
+     */
+    static CompletionIndexService completionIndexService(CompletionIndexService.CompletionIndex index) {
+        return new CompletionIndexService(null, null, null, null, ProgressService.CourseProgressEngine.BITSET) {
+            @Override
+            public CompletionIndex getIndex(String userId, CourseStructure course) {
+                return index;
+            }
+        };
+    }
+
+    /**
+     * Rollup service returning fixed module rollups
+     */
+    static ProgressRollupService rollupService(ProgressRollupService.CourseRollup rollup) {
+        return new ProgressRollupService(null, null, null, null, null, ProgressService.CourseProgressEngine.ROLLUP) {
+            @Override
+            public CourseRollup getCourseRollup(String userId, Long courseId) {
+                return rollup;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.minilms.service;
+
+import com.example.minilms.entity.LessonType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks lesson content validation for every lesson type
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentValidationBenchmark {
+
+    @Param({"TEXT", "VIDEO", "IMAGE", "PDF"})
+    private LessonType type;
+
+    private LessonService lessonService;
+    private String validContent;
+    private String invalidContent;
+
+    @Setup
+    public void setUp() {
+        lessonService = new LessonService(null, null, null, null, null, null);
+        validContent = BenchmarkFixtures.sampleContent(type);
+        invalidContent = type == LessonType.TEXT ? "x".repeat(10_001) : "ftp://example.com/resource.bin";
+    }
+
+    @Benchmark
+    public boolean validContent() {
+        return lessonService.isContentValidForType(validContent, type);
+    }
+
+    @Benchmark
+    public boolean invalidContent() {
+        return lessonService.isContentValidForType(invalidContent, type);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.response.ProgressResponse;
+import com.example.minilms.entity.LessonProgress;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.minilms.service.BenchmarkFixtures.COURSE_ID;
+import static com.example.minilms.service.BenchmarkFixtures.USER_ID;
+
+/**
+ * Benchmarks the full course progress aggregation of each engine over synthetic course trees.
+ * Data access is stubbed, so only the in-memory aggregation is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CourseProgressBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lessons;
+
+    @Param({"0", "50", "100"})
+    private int density;
+
+    @Param({"ENTITY", "BITSET", "ROLLUP"})
+    private ProgressService.CourseProgressEngine engine;
+
+    private ProgressService progressService;
+
+    @Setup
+    public void setUp() {
+        CourseStructure course = BenchmarkFixtures.course(lessons, BenchmarkFixtures.LESSONS_PER_MODULE);
+        List<LessonProgress> progress = BenchmarkFixtures.progress(course, density);
+
+        progressService = new ProgressService(BenchmarkFixtures.progressRepository(progress), null, null, null, null, null,
+                BenchmarkFixtures.rollupService(BenchmarkFixtures.rollup(course, progress)), null,
+                BenchmarkFixtures.structureCache(course),
+                BenchmarkFixtures.completionIndexService(BenchmarkFixtures.completionIndex(course, progress)), null,
+                engine);
+    }
+
+    @Benchmark
+    public ProgressResponse getCourseProgress() {
+        return progressService.getCourseProgress(USER_ID, COURSE_ID);
+    }
+}
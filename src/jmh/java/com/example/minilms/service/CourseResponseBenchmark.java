@@ -0,0 +1,101 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.minilms.service.BenchmarkFixtures.COURSE_ID;
+
+/**
+ * Benchmarks writing a course detail response by serializing the course tree against writing it
+ * from the cached JSON bytes, plain and gzip-encoded
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CourseResponseBenchmark {
+
+    private static final String MESSAGE = "Course retrieved successfully";
+
+    @Param({"10", "100", "1000"})
+    private int lessons;
+
+    private ObjectMapper objectMapper;
+    private CourseStructure course;
+    private CourseResponseCache courseResponseCache;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        course = BenchmarkFixtures.course(lessons, BenchmarkFixtures.LESSONS_PER_MODULE);
+        courseResponseCache = new CourseResponseCache(BenchmarkFixtures.structureCache(course), objectMapper,
+                new SimpleMeterRegistry(), true, true, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public byte[] serializeCourse() throws IOException {
+        BufferedResponse response = new BufferedResponse();
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.success(MESSAGE, course));
+        return response.content.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeCachedCourse() throws IOException {
+        BufferedResponse response = new BufferedResponse();
+        courseResponseCache.write(courseResponseCache.getCourse(COURSE_ID).orElseThrow(), MESSAGE, false, response);
+        return response.content.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeCachedCourseGzip() throws IOException {
+        BufferedResponse response = new BufferedResponse();
+        courseResponseCache.write(courseResponseCache.getCourse(COURSE_ID).orElseThrow(), MESSAGE, true, response);
+        return response.content.toByteArray();
+    }
+
+    /**
+     * Mock response collecting the body through bulk writes, unlike the byte-at-a-time mock output stream
+     */
+    private static final class BufferedResponse extends MockHttpServletResponse {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream(64 * 1024);
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                content.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                content.write(b, off, len);
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
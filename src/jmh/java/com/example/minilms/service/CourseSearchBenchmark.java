@@ -0,0 +1,104 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.response.CourseSearchResponse;
+import com.example.minilms.entity.LessonType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ranked course search over a synthetic catalog with a Zipf-distributed vocabulary
+ * of random words
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CourseSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+
+    @Param({"100000"})
+    private int courses;
+
+    private CourseSearchIndex searchIndex;
+    private String[] vocabulary;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 4 + random.nextInt(7); word.length() < length; ) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        searchIndex = new CourseSearchIndex(null, null, null);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long id = 1; id <= courses; id++) {
+            List<CourseStructure.ModuleNode> modules = new ArrayList<>();
+            Map<Long, String> lessonTexts = new HashMap<>();
+            for (int m = 0; m < 4; m++) {
+                String body = text(random, 40);
+                lessonTexts.put(id * 10 + m, body);
+                List<CourseStructure.LessonNode> lessons = List.of(
+                        new CourseStructure.LessonNode(id * 10 + m, text(random, 4), LessonType.TEXT,
+                                body.length(), 1, now, now, true));
+                modules.add(new CourseStructure.ModuleNode(id * 10 + m, text(random, 3), text(random, 12),
+                        null, null, now, now, lessons));
+            }
+            searchIndex.indexCourse(new CourseStructure(id, text(random, 5), text(random, 25), null, null,
+                    now, now, modules, 0, Map.of(), null, null), lessonTexts);
+        }
+    }
+
+    @Benchmark
+    public CourseSearchResponse commonWord() {
+        return searchIndex.search(vocabulary[3], 0, 10);
+    }
+
+    @Benchmark
+    public CourseSearchResponse twoWords() {
+        return searchIndex.search(vocabulary[10] + " " + vocabulary[40], 0, 10);
+    }
+
+    @Benchmark
+    public CourseSearchResponse rareWord() {
+        return searchIndex.search(vocabulary[5_000], 0, 10);
+    }
+
+    @Benchmark
+    public CourseSearchResponse prefix() {
+        return searchIndex.search(vocabulary[10] + " " + vocabulary[700].substring(0, 4), 0, 10);
+    }
+
+    @Benchmark
+    public CourseSearchResponse typo() {
+        String word = vocabulary[1_500];
+        return searchIndex.search(word.substring(0, word.length() - 1) + "x", 0, 10);
+    }
+
+    /**
+     * Words drawn from the vocabulary with a Zipf-like skew towards the first entries
+     */
+    private String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int rank = (int) Math.pow(VOCABULARY_SIZE, random.nextDouble()) - 1;
+            text.append(vocabulary[rank]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.CourseStructure.ModuleNode;
+import com.example.minilms.dto.response.ModuleProgressInfo;
+import com.example.minilms.entity.LessonProgress;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks the per-module lesson progress calculation for a single module of varying size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModuleProgressBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lessons;
+
+    @Param({"0", "50", "100"})
+    private int density;
+
+    private ModuleNode module;
+    private Map<Long, LessonProgress> progressMap;
+
+    @Setup
+    public void setUp() {
+        CourseStructure course = BenchmarkFixtures.course(lessons, lessons);
+        module = course.modules().get(0);
+        progressMap = BenchmarkFixtures.progress(course, density).stream()
+                .collect(Collectors.toMap(LessonProgress::getLessonId, Function.identity()));
+    }
+
+    @Benchmark
+    public ModuleProgressInfo calculateModuleProgress() {
+        return ProgressService.calculateModuleProgress(module, progressMap);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.dto.response.ProgressResponse;
+import com.example.minilms.entity.LessonProgress;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.minilms.service.BenchmarkFixtures.COURSE_ID;
+import static com.example.minilms.service.BenchmarkFixtures.USER_ID;
+
+/**
+ * Benchmarks Jackson serialization of course and module progress responses
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProgressResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lessons;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<ProgressResponse> courseResponse;
+    private ApiResponse<ProgressResponse> moduleResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        CourseStructure course = BenchmarkFixtures.course(lessons, BenchmarkFixtures.LESSONS_PER_MODULE);
+        CourseStructure singleModuleCourse = BenchmarkFixtures.course(lessons, lessons);
+        List<LessonProgress> progress = BenchmarkFixtures.progress(course, 50);
+
+        ProgressService courseProgressService = new ProgressService(BenchmarkFixtures.progressRepository(progress),
+                null, null, null, null, null, null, null, BenchmarkFixtures.structureCache(course), null, null,
+                ProgressService.CourseProgressEngine.ENTITY);
+        ProgressService moduleProgressService = new ProgressService(BenchmarkFixtures.progressRepository(progress),
+                null, null, null, null, null, null, null, BenchmarkFixtures.structureCache(singleModuleCourse), null, null,
+                ProgressService.CourseProgressEngine.ENTITY);
+
+        courseResponse = ApiResponse.success("Course progress retrieved successfully",
+                courseProgressService.getCourseProgress(USER_ID, COURSE_ID));
+        moduleResponse = ApiResponse.success("Module progress retrieved successfully",
+                moduleProgressService.getModuleProgress(USER_ID, singleModuleCourse.modules().get(0).id()));
+    }
+
+    @Benchmark
+    public byte[] serializeCourseProgress() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(courseResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeModuleProgress() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(moduleResponse);
+    }
+}
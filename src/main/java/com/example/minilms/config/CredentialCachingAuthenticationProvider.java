@@ -0,0 +1,98 @@
+package com.example.minilms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * DAO authentication provider that remembers recently verified credentials
+ *
+ * HTTP Basic sends the password with every request, so without a cache each call pays a full
+ * BCrypt verification. Successful verifications are remembered under an HMAC of the username and
+ * password (keyed with a per-process random secret, so no password is ever held in memory) together
+ * with the password hash they were verified against. A later request with the same credentials skips
+ * BCrypt as long as the user still has that hash; user loading and account status checks still run
+ * on every request. Failed attempts are never cached and always pay the full cost.
+ *
+ * There is no explicit invalidation: a password change gives the user a new hash, which no remembered
+ * entry matches, and locked, disabled or removed users are rejected by the per-request user loading.
+ * Any other revocation that leaves the stored hash unchanged takes effect within the TTL
+ * ({@code minilms.security.credential-cache.ttl-seconds}), after which BCrypt runs again.
+ */
+public class CredentialCachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Mac macPrototype;
+    private final Cache<String, String> verifiedCredentials;
+
+    public CredentialCachingAuthenticationProvider(UserDetailsService userDetailsService,
+                                                   PasswordEncoder passwordEncoder,
+                                                   Duration ttl,
+                                                   long maxSize,
+                                                   MeterRegistry meterRegistry) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        try {
+            this.macPrototype = Mac.getInstance(HMAC_ALGORITHM);
+            this.macPrototype.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedCredentials, "authCredentials");
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        if (authentication.getCredentials() == null || userDetails.getPassword() == null) {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            return;
+        }
+
+        String key = credentialKey(userDetails.getUsername(), authentication.getCredentials().toString());
+        if (userDetails.getPassword().equals(verifiedCredentials.getIfPresent(key))) {
+            return;
+        }
+
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        verifiedCredentials.put(key, userDetails.getPassword());
+    }
+
+    private String credentialKey(String username, String password) {
+        Mac mac;
+        try {
+            mac = (Mac) macPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 implementation cannot be cloned", e);
+        }
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+}
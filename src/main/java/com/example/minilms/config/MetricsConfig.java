@@ -0,0 +1,67 @@
+package com.example.minilms.config;
+
+import com.example.minilms.metrics.RequestTimings;
+import com.example.minilms.metrics.RequestTimings.Stage;
+import com.example.minilms.metrics.RequestTimings.StageScope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Request stage instrumentation for the Mini LMS
+ * Attributes repository calls and JSON response serialization to the current request's timings
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * JSON message converter timing response serialization
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                try (StageScope scope = RequestTimings.start(Stage.SERIALIZATION)) {
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+
+    /**
+     * Time every call to a {@link Repository} bean, Spring Data repositories included
+     */
+    @Bean
+    public static RepositoryTimingPostProcessor repositoryTimingPostProcessor() {
+        return new RepositoryTimingPostProcessor();
+    }
+
+    /**
+     * Adds a repository stage timing advice to beans whose class is annotated with {@link Repository}.
+     * The advice goes first so that it also wraps the Spring Data interceptors that execute queries
+     * without proceeding.
+     */
+    static class RepositoryTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+        RepositoryTimingPostProcessor() {
+            MethodInterceptor timing = invocation -> {
+                try (StageScope scope = RequestTimings.start(Stage.REPOSITORY)) {
+                    return invocation.proceed();
+                }
+            };
+            this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true), timing);
+            this.beforeExistingAdvisors = true;
+        }
+    }
+}
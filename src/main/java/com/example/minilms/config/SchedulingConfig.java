@@ -0,0 +1,13 @@
+package com.example.minilms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration for the Mini LMS
+ * Enables background jobs such as the progress write-behind flush
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,116 @@
+package com.example.minilms.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Startup check that the indexes the repository queries rely on exist
+ *
+ * An index is accepted under any name as long as the expected columns are its leading columns,
+ * so primary keys and unique constraints count. Startup fails listing every missing index, which
+ * catches a schema that was created or altered outside the Flyway migrations.
+ */
+@Component
+public class SchemaIndexVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    /**
+     * Expected indexes as table name followed by leading column names
+     */
+    static final List<List<String>> EXPECTED_INDEXES = List.of(
+            List.of("modules", "course_id", "id"),
+            List.of("lessons", "module_id", "order_index", "id"),
+            List.of("lesson_contents", "lesson_id"),
+            List.of("lesson_progress", "user_id", "lesson_id"),
+            List.of("lesson_progress", "lesson_id"),
+            List.of("lesson_progress", "user_id", "course_id"),
+            List.of("lesson_progress", "user_id", "module_id"),
+            List.of("lesson_progress", "course_id", "module_id"),
+            List.of("lesson_progress", "updated_at", "id"),
+            List.of("user_module_progress", "module_id", "user_id"),
+            List.of("user_module_progress", "user_id", "course_id"),
+            List.of("user_course_progress", "course_id", "user_id"),
+            List.of("user_course_completion", "course_id", "user_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    @Autowired
+    public SchemaIndexVerifier(JdbcTemplate jdbcTemplate,
+                               @Value("${minilms.schema.verify-indexes:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Fail startup if any expected index is missing
+     */
+    @PostConstruct
+    public void verifyIndexes() {
+        if (!enabled) {
+            return;
+        }
+        List<String> missing = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection ->
+                findMissingIndexes(connection.getMetaData()));
+        if (missing != null && !missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes: " + String.join(", ", missing));
+        }
+        log.info("Verified {} database indexes", EXPECTED_INDEXES.size());
+    }
+
+    private List<String> findMissingIndexes(DatabaseMetaData metaData) throws SQLException {
+        Map<String, Collection<List<String>>> indexesByTable = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (List<String> expected : EXPECTED_INDEXES) {
+            String table = expected.get(0);
+            List<String> columns = expected.subList(1, expected.size());
+            Collection<List<String>> indexes = indexesByTable.get(table);
+            if (indexes == null) {
+                indexes = readIndexes(metaData, table);
+                indexesByTable.put(table, indexes);
+            }
+            boolean found = indexes.stream().anyMatch(index ->
+                    index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns));
+            if (!found) {
+                missing.add(table + " (" + String.join(", ", columns) + ")");
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Read the column lists of a table's indexes, in index column order and in lower case
+     */
+    private Collection<List<String>> readIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, SortedMap<Short, String>> columnsByIndex = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, tableName, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String columnName = rs.getString("COLUMN_NAME");
+                if (indexName == null || columnName == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+            }
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        for (SortedMap<Short, String> columns : columnsByIndex.values()) {
+            indexes.add(List.copyOf(columns.values()));
+        }
+        return indexes;
+    }
+}
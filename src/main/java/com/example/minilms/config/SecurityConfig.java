@@ -1,7 +1,16 @@
 package com.example.minilms.config;
 
+import com.example.minilms.metrics.RequestTimings;
+import com.example.minilms.metrics.RequestTimings.Stage;
+import com.example.minilms.metrics.RequestTimings.StageScope;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.User;
@@ -12,17 +21,31 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 /**
  * Security configuration for the Mini LMS
  * Provides basic authentication with in-memory users
+ *
+ * Verified Basic credentials are cached for a short TTL (see {@link CredentialCachingAuthenticationProvider})
+ * so that steady-state requests do not pay a BCrypt verification each.
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(
+            HttpSecurity http,
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${minilms.security.credential-cache.enabled:true}") boolean credentialCacheEnabled,
+            @Value("${minilms.security.credential-cache.ttl-seconds:300}") long credentialCacheTtlSeconds,
+            @Value("${minilms.security.credential-cache.max-size:10000}") long credentialCacheMaxSize) throws Exception {
+        AuthenticationProvider authenticationProvider = authenticationProvider(userDetailsService, meterRegistry,
+                credentialCacheEnabled, credentialCacheTtlSeconds, credentialCacheMaxSize);
         http
+                .authenticationManager(timedAuthenticationManager(new ProviderManager(authenticationProvider)))
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for API
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/h2-console/**").permitAll()
@@ -66,6 +89,34 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(admin, student, instructor);
     }
 
+    /**
+     * Username/password provider used by the filter chain, optionally caching verified credentials
+     */
+    AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                  MeterRegistry meterRegistry,
+                                                  boolean credentialCacheEnabled,
+                                                  long credentialCacheTtlSeconds,
+                                                  long credentialCacheMaxSize) {
+        if (credentialCacheEnabled) {
+            return new CredentialCachingAuthenticationProvider(userDetailsService, passwordEncoder(),
+                    Duration.ofSeconds(credentialCacheTtlSeconds), credentialCacheMaxSize, meterRegistry);
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder());
+        return provider;
+    }
+
+    /**
+     * Authentication manager attributing its time to the authentication stage of the request
+     */
+    AuthenticationManager timedAuthenticationManager(AuthenticationManager authenticationManager) {
+        return authentication -> {
+            try (StageScope scope = RequestTimings.start(Stage.AUTHENTICATION)) {
+                return authenticationManager.authenticate(authentication);
+            }
+        };
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,45 @@
+package com.example.minilms.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs whether requests run on virtual or platform threads once the application is ready
+ *
+ * {@code spring.threads.virtual.enabled} only takes effect on Java 21 and later; on older runtimes
+ * it is silently ignored, so that case is logged as a warning.
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    private final Environment environment;
+
+    @Autowired
+    public ThreadingModeReporter(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Log the request execution mode
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests, scheduled and async tasks run on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests run on the platform thread pool", Runtime.version().feature());
+        } else {
+            log.info("Requests run on a pool of up to {} platform threads",
+                    environment.getProperty("server.tomcat.threads.max", "200"));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.minilms.controller;
+
+import com.example.minilms.dto.projection.ContentVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
+
+/**
+ * Conditional GET handling for reads of course content, validated by the course's content version
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Set the endpoint's Cache-Control and validators and evaluate If-None-Match / If-Modified-Since.
+     * Returns true when a 304 has been prepared, in which case the handler should return null
+     * without loading anything. An absent version (unknown ID) is left to the handler's 404.
+     */
+    static boolean checkNotModified(ServletWebRequest request, Optional<ContentVersion> version, String cacheControl) {
+        if (version.isEmpty()) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return request.checkNotModified(version.get().eTag(), version.get().lastModified());
+    }
+
+    /**
+     * Same as {@link #checkNotModified(ServletWebRequest, Optional, String)} for a response whose
+     * representation depends on Accept-Encoding: a gzip-coded response gets its own entity tag
+     */
+    static boolean checkNotModified(ServletWebRequest request, Optional<ContentVersion> version, String cacheControl,
+                                    boolean gzip) {
+        request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return checkNotModified(request, version, cacheControl);
+        }
+        if (version.isEmpty()) {
+            return false;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return request.checkNotModified(version.get().eTag("gzip"), version.get().lastModified());
+    }
+
+    /**
+     * Check if the request accepts the gzip content coding (and does not refuse it with q=0)
+     */
+    static boolean acceptsGzip(ServletWebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=") && param.substring(2).trim().matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the validators with those of the version actually served, when it differs from the checked one
+     */
+    static void useServedVersion(ServletWebRequest request, ContentVersion served) {
+        request.getResponse().setHeader(HttpHeaders.ETAG, served.eTag());
+        request.getResponse().setDateHeader(HttpHeaders.LAST_MODIFIED, served.lastModified() / 1000 * 1000);
+    }
+
+    /**
+     * Same as {@link #useServedVersion(ServletWebRequest, ContentVersion)} for a possibly gzip-coded response
+     */
+    static void useServedVersion(ServletWebRequest request, ContentVersion served, boolean gzip) {
+        useServedVersion(request, served);
+        if (gzip) {
+            request.getResponse().setHeader(HttpHeaders.ETAG, served.eTag("gzip"));
+        }
+    }
+}
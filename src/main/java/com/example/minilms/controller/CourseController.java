@@ -1,24 +1,36 @@
 package com.example.minilms.controller;
 
+import com.example.minilms.dto.projection.ContentVersion;
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.ResponseView;
 import com.example.minilms.dto.request.CourseCreateRequest;
 import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.dto.response.CourseAnalyticsResponse;
+import com.example.minilms.dto.response.CourseSearchResponse;
+import com.example.minilms.dto.response.CursorPage;
 import com.example.minilms.dto.response.ProgressResponse;
 import com.example.minilms.entity.Course;
+import com.example.minilms.service.ContentVersionService;
+import com.example.minilms.service.CourseAnalyticsService;
+import com.example.minilms.service.CourseResponseCache;
+import com.example.minilms.service.CourseResponseCache.SerializedCourse;
 import com.example.minilms.service.CourseService;
 import com.example.minilms.service.ProgressService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller for Course management
@@ -30,11 +42,22 @@ public class CourseController {
 
     private final CourseService courseService;
     private final ProgressService progressService;
+    private final ContentVersionService contentVersionService;
+    private final CourseResponseCache courseResponseCache;
+    private final CourseAnalyticsService courseAnalyticsService;
+    private final String courseCacheControl;
 
     @Autowired
-    public CourseController(CourseService courseService, ProgressService progressService) {
+    public CourseController(CourseService courseService, ProgressService progressService,
+                            ContentVersionService contentVersionService, CourseResponseCache courseResponseCache,
+                            CourseAnalyticsService courseAnalyticsService,
+                            @Value("${minilms.http.cache-control.course:private, no-cache}") String courseCacheControl) {
         this.courseService = courseService;
         this.progressService = progressService;
+        this.contentVersionService = contentVersionService;
+        this.courseResponseCache = courseResponseCache;
+        this.courseAnalyticsService = courseAnalyticsService;
+        this.courseCacheControl = courseCacheControl;
     }
 
     /**
@@ -57,25 +80,36 @@ public class CourseController {
      * Get all courses
      */
     @GetMapping
-    @Operation(summary = "Get all courses", description = "Retrieves all courses with optional pagination")
+    @Operation(summary = "Get all courses",
+            description = "Retrieves all courses with optional pagination as read projections: view=summary " +
+                    "(id, title, thumbnail), list (course columns and module count, the default) or detail " +
+                    "(list plus modules without lessons). Passing after or limit switches to cursor pagination " +
+                    "ordered by ID, which does not count the table")
     public ResponseEntity<ApiResponse<Object>> getAllCourses(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "Include modules") @RequestParam(defaultValue = "false") boolean includeModules) {
+            @Parameter(description = "Include modules (same as view=detail)") @RequestParam(defaultValue = "false") boolean includeModules,
+            @Parameter(description = "Projection: summary, list or detail") @RequestParam(required = false) String view,
+            @Parameter(description = "Cursor from the previous page (cursor pagination)") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (cursor pagination)") @RequestParam(required = false) Integer limit) {
 
         try {
-            if (size > 0) {
+            ResponseView responseView = ResponseView.parse(view, includeModules ? ResponseView.DETAIL : ResponseView.LIST);
+            Object courses;
+            if (after != null || limit != null) {
+                courses = courseService.getCoursesPage(after, CursorPage.resolveLimit(limit), responseView);
+            } else if (size > 0) {
                 // Return paginated results
                 Pageable pageable = PageRequest.of(page, size);
-                Page<Course> coursePage = courseService.getAllCourses(pageable);
-                return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", coursePage));
+                courses = courseService.getAllCourses(pageable, responseView);
             } else {
                 // Return all courses
-                List<Course> courses = includeModules ?
-                        courseService.getAllCoursesWithModules() :
-                        courseService.getAllCourses();
-                return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", courses));
+                courses = courseService.getAllCourses(responseView);
             }
+            return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", courses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to retrieve courses: " + e.getMessage()));
@@ -86,15 +120,33 @@ public class CourseController {
      * Get course by ID
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get course by ID", description = "Retrieves a course by its ID with modules and lessons")
-    public ResponseEntity<ApiResponse<Course>> getCourseById(
-            @Parameter(description = "Course ID") @PathVariable Long id) {
+    @Operation(summary = "Get course by ID",
+            description = "Retrieves a course by its ID with modules and lessons. Supports conditional requests " +
+                    "(If-None-Match / If-Modified-Since) against the course's content version, and is sent " +
+                    "gzip-encoded to clients that accept gzip")
+    public ResponseEntity<ApiResponse<CourseStructure>> getCourseById(
+            @Parameter(description = "Course ID") @PathVariable Long id,
+            ServletWebRequest webRequest,
+            HttpServletResponse response) {
 
         try {
-            Course course = courseService.getCourseWithDetails(id)
+            Optional<ContentVersion> version = contentVersionService.getCourseVersion(id);
+            boolean gzip = courseResponseCache.isGzipEnabled() && ConditionalRequests.acceptsGzip(webRequest);
+            boolean notModified = courseResponseCache.isGzipEnabled()
+                    ? ConditionalRequests.checkNotModified(webRequest, version, courseCacheControl, gzip)
+                    : ConditionalRequests.checkNotModified(webRequest, version, courseCacheControl);
+            if (notModified) {
+                return null;
+            }
+            SerializedCourse course = courseResponseCache.getCourse(id)
                     .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
+            if (version.isPresent() && !course.contentVersion().equals(version.get())) {
+                ConditionalRequests.useServedVersion(webRequest, course.contentVersion(), gzip);
+            }
 
-            return ResponseEntity.ok(ApiResponse.success("Course retrieved successfully", course));
+            // Written straight from the cached JSON bytes, without serializing the course tree again
+            courseResponseCache.write(course, "Course retrieved successfully", gzip, response);
+            return null;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -146,16 +198,28 @@ public class CourseController {
     }
 
     /**
-     * Search courses by title
+     * Search courses
      */
     @GetMapping("/search")
-    @Operation(summary = "Search courses", description = "Searches courses by title")
-    public ResponseEntity<ApiResponse<List<Course>>> searchCourses(
-            @Parameter(description = "Search term") @RequestParam String title) {
+    @Operation(summary = "Search courses",
+            description = "Ranked search over course titles and descriptions, module titles and summaries, " +
+                    "lesson titles and text lesson content; the last word also matches as a prefix and " +
+                    "unknown words match close spellings")
+    public ResponseEntity<ApiResponse<CourseSearchResponse>> searchCourses(
+            @Parameter(description = "Search query") @RequestParam(required = false) String q,
+            @Parameter(description = "Search query (alias of q)") @RequestParam(required = false) String title,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
 
         try {
-            List<Course> courses = courseService.searchCoursesByTitle(title);
-            return ResponseEntity.ok(ApiResponse.success("Search completed successfully", courses));
+            String query = q != null ? q : title;
+            if (query == null || page < 0 || size < 1 || size > CursorPage.MAX_LIMIT) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error("A query, a non-negative page and a size between 1 and "
+                                + CursorPage.MAX_LIMIT + " are required"));
+            }
+            CourseSearchResponse results = courseService.searchCourses(query, page, size);
+            return ResponseEntity.ok(ApiResponse.success("Search completed successfully", results));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to search courses: " + e.getMessage()));
@@ -182,4 +246,47 @@ public class CourseController {
                     .body(ApiResponse.error("Failed to retrieve course progress: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Get cohort analytics for a course
+     */
+    @GetMapping("/{id}/analytics")
+    @Operation(summary = "Get course analytics",
+            description = "Retrieves, per module and lesson, how many learners started and completed it, their " +
+                    "average completion percentage and the median time from start to completion")
+    public ResponseEntity<ApiResponse<CourseAnalyticsResponse>> getCourseAnalytics(
+            @Parameter(description = "Course ID") @PathVariable Long id) {
+
+        try {
+            CourseAnalyticsResponse analytics = courseAnalyticsService.getCourseAnalytics(id);
+            return ResponseEntity.ok(ApiResponse.success("Course analytics retrieved successfully", analytics));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve course analytics: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Rebuild progress rollups for a course
+     */
+    @PostMapping("/{id}/progress/rollups/rebuild")
+    @Operation(summary = "Rebuild progress rollups",
+            description = "Recomputes every user's module and course progress rollups for a course from lesson progress")
+    public ResponseEntity<ApiResponse<Integer>> rebuildProgressRollups(
+            @Parameter(description = "Course ID") @PathVariable Long id) {
+
+        try {
+            int users = progressService.rebuildProgressRollups(id);
+            return ResponseEntity.ok(ApiResponse.success("Progress rollups rebuilt successfully", users));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to rebuild progress rollups: " + e.getMessage()));
+        }
+    }
+}
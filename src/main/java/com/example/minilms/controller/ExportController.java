@@ -0,0 +1,72 @@
+package com.example.minilms.controller;
+
+import com.example.minilms.repository.LessonProgressJdbcRepository.ExportFilter;
+import com.example.minilms.service.ProgressExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * REST Controller for bulk data exports
+ */
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Bulk data export APIs")
+public class ExportController {
+
+    private final ProgressExportService progressExportService;
+
+    @Autowired
+    public ExportController(ProgressExportService progressExportService) {
+        this.progressExportService = progressExportService;
+    }
+
+    /**
+     * Stream lesson progress rows as CSV or NDJSON
+     *
+     * Invalid parameters are rejected before streaming starts, by the global IllegalArgumentException handler.
+     */
+    @GetMapping("/progress")
+    @Operation(summary = "Export lesson progress",
+            description = "Streams every lesson progress row matching the filters, ordered by updatedAt and id. " +
+                    "To resume an interrupted export, pass the updatedAt and id of the last row received as " +
+                    "afterUpdatedAt and afterId. updatedAt is the write time, not the commit time, so to fetch " +
+                    "later changes pass updatedFrom = last updatedAt - write-behind flush interval - longest " +
+                    "transaction instead and skip the rows already received; offline batch rows keep the " +
+                    "client's timestamp and may be older still")
+    public ResponseEntity<StreamingResponseBody> exportProgress(
+            @Parameter(description = "Output format: csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Course ID") @RequestParam(required = false) Long courseId,
+            @Parameter(description = "Module ID") @RequestParam(required = false) Long moduleId,
+            @Parameter(description = "Rows updated at or after this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @Parameter(description = "Rows updated before this time")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @Parameter(description = "updatedAt of the last row already received")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterUpdatedAt,
+            @Parameter(description = "ID of the last row already received") @RequestParam(required = false) Long afterId) {
+
+        ProgressExportService.Format exportFormat = ProgressExportService.Format.fromName(format);
+        ExportFilter filter = new ExportFilter(courseId, moduleId, updatedFrom, updatedTo, afterUpdatedAt, afterId);
+        progressExportService.validate(filter);
+
+        StreamingResponseBody body = output -> progressExportService.export(filter, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("lesson-progress." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
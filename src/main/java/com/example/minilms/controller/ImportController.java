@@ -0,0 +1,53 @@
+package com.example.minilms.controller;
+
+import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.dto.response.CourseImportResponse;
+import com.example.minilms.service.CourseImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * REST Controller for bulk catalog imports
+ */
+@RestController
+@RequestMapping("/api/import")
+@Tag(name = "Import", description = "Bulk catalog import APIs")
+public class ImportController {
+
+    private final CourseImportService courseImportService;
+
+    @Autowired
+    public ImportController(CourseImportService courseImportService) {
+        this.courseImportService = courseImportService;
+    }
+
+    /**
+     * Import courses with their modules and lessons
+     */
+    @PostMapping(value = "/courses", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import courses",
+            description = "Imports a JSON array (or NDJSON stream) of courses, each with its modules and their " +
+                    "lessons, read one course at a time. Each course is imported whole or rejected with its " +
+                    "validation errors; valid courses are written in batches")
+    public ResponseEntity<ApiResponse<CourseImportResponse>> importCourses(InputStream body) {
+
+        try {
+            CourseImportResponse response = courseImportService.importCourses(body);
+            if (!response.isCompleted()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ApiResponse<>(false, response.getFailure(), response));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Course import finished", response));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to import courses: " + e.getMessage()));
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.minilms.controller;
 
 import com.example.minilms.dto.request.LessonCreateRequest;
+import com.example.minilms.dto.request.LessonPositionRequest;
 import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.dto.response.CursorPage;
+import com.example.minilms.entity.ContentEncoding;
 import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonContent;
 import com.example.minilms.entity.LessonProgress;
 import com.example.minilms.entity.LessonType;
+import com.example.minilms.exception.ProgressBufferFullException;
+import com.example.minilms.service.ContentVersionService;
 import com.example.minilms.service.LessonService;
 import com.example.minilms.service.ProgressService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,10 +20,16 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -30,11 +42,23 @@ public class LessonController {
 
     private final LessonService lessonService;
     private final ProgressService progressService;
+    private final ContentVersionService contentVersionService;
+    private final String moduleLessonsCacheControl;
+    private final String lessonCacheControl;
+    private final String lessonContentCacheControl;
 
     @Autowired
-    public LessonController(LessonService lessonService, ProgressService progressService) {
+    public LessonController(LessonService lessonService, ProgressService progressService,
+                            ContentVersionService contentVersionService,
+                            @Value("${minilms.http.cache-control.module-lessons:private, no-cache}") String moduleLessonsCacheControl,
+                            @Value("${minilms.http.cache-control.lesson:private, no-cache}") String lessonCacheControl,
+                            @Value("${minilms.http.cache-control.lesson-content:private, no-cache}") String lessonContentCacheControl) {
         this.lessonService = lessonService;
         this.progressService = progressService;
+        this.contentVersionService = contentVersionService;
+        this.moduleLessonsCacheControl = moduleLessonsCacheControl;
+        this.lessonCacheControl = lessonCacheControl;
+        this.lessonContentCacheControl = lessonContentCacheControl;
     }
 
     /**
@@ -63,17 +87,36 @@ public class LessonController {
      * Get all lessons for a module
      */
     @GetMapping("/modules/{moduleId}/lessons")
-    @Operation(summary = "Get lessons by module", description = "Retrieves all lessons for a specific module")
-    public ResponseEntity<ApiResponse<List<Lesson>>> getLessonsByModule(
+    @Operation(summary = "Get lessons by module",
+            description = "Retrieves all lessons for a specific module. Passing after or limit switches to " +
+                    "cursor pagination ordered by order index and ID. Supports conditional requests against the " +
+                    "course's content version")
+    public ResponseEntity<ApiResponse<Object>> getLessonsByModule(
             @Parameter(description = "Module ID") @PathVariable Long moduleId,
-            @Parameter(description = "Filter by lesson type") @RequestParam(required = false) LessonType type) {
+            @Parameter(description = "Filter by lesson type") @RequestParam(required = false) LessonType type,
+            @Parameter(description = "Cursor from the previous page (cursor pagination)") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (cursor pagination)") @RequestParam(required = false) Integer limit,
+            ServletWebRequest webRequest) {
 
         try {
+            if (ConditionalRequests.checkNotModified(webRequest, contentVersionService.getModuleVersion(moduleId),
+                    moduleLessonsCacheControl)) {
+                return null;
+            }
+            if (after != null || limit != null) {
+                CursorPage<Lesson> lessonPage = lessonService.getLessonsPageByModuleId(
+                        moduleId, type, after, CursorPage.resolveLimit(limit));
+                return ResponseEntity.ok(ApiResponse.success("Lessons retrieved successfully", lessonPage));
+            }
+
             List<Lesson> lessons = type != null ?
                     lessonService.getLessonsByModuleIdAndType(moduleId, type) :
                     lessonService.getLessonsByModuleId(moduleId);
 
             return ResponseEntity.ok(ApiResponse.success("Lessons retrieved successfully", lessons));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -87,11 +130,18 @@ public class LessonController {
      * Get lesson by ID
      */
     @GetMapping("/lessons/{id}")
-    @Operation(summary = "Get single lesson", description = "Retrieves a lesson by its ID")
+    @Operation(summary = "Get single lesson",
+            description = "Retrieves a lesson by its ID. Supports conditional requests against the course's " +
+                    "content version")
     public ResponseEntity<ApiResponse<Lesson>> getLessonById(
-            @Parameter(description = "Lesson ID") @PathVariable Long id) {
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            ServletWebRequest webRequest) {
 
         try {
+            if (ConditionalRequests.checkNotModified(webRequest, contentVersionService.getLessonVersion(id),
+                    lessonCacheControl)) {
+                return null;
+            }
             Lesson lesson = lessonService.getLessonById(id)
                     .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + id));
 
@@ -105,6 +155,49 @@ public class LessonController {
         }
     }
 
+    /**
+     * Get lesson content
+     */
+    @GetMapping("/lessons/{id}/content")
+    @Operation(summary = "Get lesson content",
+            description = "Retrieves the body of a lesson (the text, or the media URL) as UTF-8 plain text. " +
+                    "Supports byte range requests and conditional requests against the course's content version. " +
+                    "Compressed TEXT bodies are sent gzip-encoded as stored to clients that accept gzip")
+    public ResponseEntity<Object> getLessonContent(
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            ServletWebRequest webRequest) {
+
+        try {
+            // Stored gzip bodies are passed through as-is to clients accepting gzip; byte ranges are
+            // served from the decoded text so offsets stay meaningful
+            boolean gzip = ConditionalRequests.acceptsGzip(webRequest) && webRequest.getHeader(HttpHeaders.RANGE) == null;
+            if (ConditionalRequests.checkNotModified(webRequest, contentVersionService.getLessonVersion(id),
+                    lessonContentCacheControl, gzip)) {
+                return null;
+            }
+            LessonContent content = lessonService.getLessonContent(id)
+                    .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + id));
+
+            MediaType textPlain = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+            if (gzip && content.getEncoding() == ContentEncoding.GZIP) {
+                return ResponseEntity.ok()
+                        .contentType(textPlain)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .body(content.getCompressedBody());
+            }
+            // A Resource body lets Spring MVC answer Range requests with 206 partial content
+            return ResponseEntity.ok()
+                    .contentType(textPlain)
+                    .body(new ByteArrayResource(content.getText().getBytes(StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve lesson content: " + e.getMessage()));
+        }
+    }
+
     /**
      * Update lesson
      */
@@ -162,10 +255,9 @@ public class LessonController {
 
         try {
             Boolean completed = completionPercentage == null || completionPercentage >= 100;
-            LessonProgress progress = progressService.updateLessonProgress(
-                    userId, lessonId, completed, completionPercentage);
-
-            return ResponseEntity.ok(ApiResponse.success("Lesson progress updated successfully", progress));
+            return recordLessonProgress(userId, lessonId, completed, completionPercentage);
+        } catch (ProgressBufferFullException e) {
+            return progressBufferFull(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -190,10 +282,9 @@ public class LessonController {
             Integer completionPercentage) {
 
         try {
-            LessonProgress progress = progressService.updateLessonProgress(
-                    userId, lessonId, null, completionPercentage);
-
-            return ResponseEntity.ok(ApiResponse.success("Lesson progress updated successfully", progress));
+            return recordLessonProgress(userId, lessonId, null, completionPercentage);
+        } catch (ProgressBufferFullException e) {
+            return progressBufferFull(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -203,11 +294,66 @@ public class LessonController {
         }
     }
 
+    /**
+     * Apply a progress update synchronously, or buffer it when write-behind mode is enabled
+     */
+    private ResponseEntity<ApiResponse<LessonProgress>> recordLessonProgress(
+            String userId, Long lessonId, Boolean completed, Integer completionPercentage) {
+
+        if (progressService.isWriteBehindEnabled()) {
+            LessonProgress pending = progressService.enqueueLessonProgress(
+                    userId, lessonId, completed, completionPercentage);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Lesson progress accepted", pending));
+        }
+
+        LessonProgress progress = progressService.updateLessonProgress(
+                userId, lessonId, completed, completionPercentage);
+        return ResponseEntity.ok(ApiResponse.success("Lesson progress updated successfully", progress));
+    }
+
+    /**
+     * Build the response for a progress update rejected by the write-behind buffer
+     */
+    private ResponseEntity<ApiResponse<LessonProgress>> progressBufferFull(ProgressBufferFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
+    /**
+     * Move a lesson within its module
+     */
+    @PatchMapping("/lessons/{id}/position")
+    @Operation(summary = "Move lesson",
+            description = "Moves a lesson right after afterLessonId and/or right before beforeLessonId, both " +
+                    "lessons of the same module. Usually only the moved lesson's order index changes")
+    public ResponseEntity<ApiResponse<Lesson>> moveLesson(
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            @RequestBody LessonPositionRequest request) {
+
+        try {
+            Lesson lesson = lessonService.moveLesson(id, request);
+            return ResponseEntity.ok(ApiResponse.success("Lesson moved successfully", lesson));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to move lesson: " + e.getMessage()));
+        }
+    }
+
     /**
      * Reorder lessons within a module
      */
     @PutMapping("/modules/{moduleId}/lessons/reorder")
-    @Operation(summary = "Reorder lessons", description = "Reorders lessons within a module")
+    @Operation(summary = "Reorder lessons",
+            description = "Reorders lessons within a module. The list must contain every lesson of the module " +
+                    "once; only lessons whose order index has to change are written")
     public ResponseEntity<ApiResponse<String>> reorderLessons(
             @Parameter(description = "Module ID") @PathVariable Long moduleId,
             @Parameter(description = "Ordered list of lesson IDs") @RequestBody List<Long> lessonIds) {
@@ -1,9 +1,12 @@
 package com.example.minilms.controller;
 
+import com.example.minilms.dto.projection.ResponseView;
 import com.example.minilms.dto.request.ModuleCreateRequest;
 import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.dto.response.CursorPage;
 import com.example.minilms.dto.response.ProgressResponse;
 import com.example.minilms.entity.Module;
+import com.example.minilms.service.ContentVersionService;
 import com.example.minilms.service.ModuleService;
 import com.example.minilms.service.ProgressService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,11 +14,11 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * REST Controller for Module management
@@ -27,11 +30,20 @@ public class ModuleController {
 
     private final ModuleService moduleService;
     private final ProgressService progressService;
+    private final ContentVersionService contentVersionService;
+    private final String courseModulesCacheControl;
+    private final String moduleCacheControl;
 
     @Autowired
-    public ModuleController(ModuleService moduleService, ProgressService progressService) {
+    public ModuleController(ModuleService moduleService, ProgressService progressService,
+                            ContentVersionService contentVersionService,
+                            @Value("${minilms.http.cache-control.course-modules:private, no-cache}") String courseModulesCacheControl,
+                            @Value("${minilms.http.cache-control.module:private, no-cache}") String moduleCacheControl) {
         this.moduleService = moduleService;
         this.progressService = progressService;
+        this.contentVersionService = contentVersionService;
+        this.courseModulesCacheControl = courseModulesCacheControl;
+        this.moduleCacheControl = moduleCacheControl;
     }
 
     /**
@@ -60,17 +72,33 @@ public class ModuleController {
      * Get all modules for a course
      */
     @GetMapping("/courses/{courseId}/modules")
-    @Operation(summary = "Get modules by course", description = "Retrieves all modules for a specific course")
-    public ResponseEntity<ApiResponse<List<Module>>> getModulesByCourse(
+    @Operation(summary = "Get modules by course",
+            description = "Retrieves all modules for a specific course as read projections: view=summary " +
+                    "(id, title, thumbnail), list (module columns and lesson count, the default) or detail " +
+                    "(modules with their lessons). Passing after or limit switches to cursor pagination ordered by ID. " +
+                    "Supports conditional requests against the course's content version")
+    public ResponseEntity<ApiResponse<Object>> getModulesByCourse(
             @Parameter(description = "Course ID") @PathVariable Long courseId,
-            @Parameter(description = "Include lessons") @RequestParam(defaultValue = "false") boolean includeLessons) {
+            @Parameter(description = "Include lessons (same as view=detail)") @RequestParam(defaultValue = "false") boolean includeLessons,
+            @Parameter(description = "Projection: summary, list or detail") @RequestParam(required = false) String view,
+            @Parameter(description = "Cursor from the previous page (cursor pagination)") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size (cursor pagination)") @RequestParam(required = false) Integer limit,
+            ServletWebRequest webRequest) {
 
         try {
-            List<Module> modules = includeLessons ?
-                    moduleService.getModulesWithLessonsByCourseId(courseId) :
-                    moduleService.getModulesByCourseId(courseId);
+            if (ConditionalRequests.checkNotModified(webRequest, contentVersionService.getCourseVersion(courseId),
+                    courseModulesCacheControl)) {
+                return null;
+            }
+            ResponseView responseView = ResponseView.parse(view, includeLessons ? ResponseView.DETAIL : ResponseView.LIST);
+            Object modules = after != null || limit != null ?
+                    moduleService.getModulesPageByCourseId(courseId, after, CursorPage.resolveLimit(limit), responseView) :
+                    moduleService.getModulesByCourseId(courseId, responseView);
 
             return ResponseEntity.ok(ApiResponse.success("Modules retrieved successfully", modules));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(e.getMessage()));
@@ -84,11 +112,18 @@ public class ModuleController {
      * Get module by ID
      */
     @GetMapping("/modules/{id}")
-    @Operation(summary = "Get module with lessons and progress", description = "Retrieves a module by its ID with lessons")
+    @Operation(summary = "Get module with lessons and progress",
+            description = "Retrieves a module by its ID with lessons. Supports conditional requests against " +
+                    "the course's content version")
     public ResponseEntity<ApiResponse<Module>> getModuleById(
-            @Parameter(description = "Module ID") @PathVariable Long id) {
+            @Parameter(description = "Module ID") @PathVariable Long id,
+            ServletWebRequest webRequest) {
 
         try {
+            if (ConditionalRequests.checkNotModified(webRequest, contentVersionService.getModuleVersion(id),
+                    moduleCacheControl)) {
+                return null;
+            }
             Module module = moduleService.getModuleWithLessons(id)
                     .orElseThrow(() -> new RuntimeException("Module not found with id: " + id));
 
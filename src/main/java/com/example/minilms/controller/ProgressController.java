@@ -0,0 +1,49 @@
+package com.example.minilms.controller;
+
+import com.example.minilms.dto.request.ProgressBatchRequest;
+import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.dto.response.ProgressBatchResponse;
+import com.example.minilms.service.ProgressService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for bulk progress operations
+ */
+@RestController
+@RequestMapping("/api/progress")
+@Tag(name = "Progress", description = "Bulk progress tracking APIs")
+public class ProgressController {
+
+    private final ProgressService progressService;
+
+    @Autowired
+    public ProgressController(ProgressService progressService) {
+        this.progressService = progressService;
+    }
+
+    /**
+     * Apply a batch of lesson progress events
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Upload progress batch",
+            description = "Applies up to 10000 lesson progress events in one transaction and returns per-item results. " +
+                    "Events are timestamped with their clientTimestamp (capped at the server time) and skipped " +
+                    "when the stored progress of their user and lesson is more recent")
+    public ResponseEntity<ApiResponse<ProgressBatchResponse>> applyProgressBatch(
+            @Valid @RequestBody ProgressBatchRequest request) {
+
+        try {
+            ProgressBatchResponse response = progressService.applyProgressBatch(request.getItems());
+            return ResponseEntity.ok(ApiResponse.success("Progress batch processed successfully", response));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to process progress batch: " + e.getMessage()));
+        }
+    }
+}
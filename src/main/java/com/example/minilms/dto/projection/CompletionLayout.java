@@ -0,0 +1,66 @@
+package com.example.minilms.dto.projection;
+
+import com.example.minilms.dto.projection.CourseStructure.LessonNode;
+import com.example.minilms.dto.projection.CourseStructure.ModuleNode;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapping of a course's lessons to dense bit positions
+ *
+ * Lessons are numbered in display order (module by module), so every module owns a
+ * contiguous range of positions. The fingerprint identifies the exact lesson order;
+ * bitsets stored for a different fingerprint must be rebuilt.
+ */
+public record CompletionLayout(long fingerprint, Map<Long, Integer> lessonPositions, Map<Long, Range> moduleRanges) {
+
+    /**
+     * Build the layout for modules listed in display order
+     */
+    public static CompletionLayout of(List<ModuleNode> modules) {
+        Map<Long, Integer> lessonPositions = new HashMap<>();
+        Map<Long, Range> moduleRanges = new HashMap<>();
+        long fingerprint = 0xcbf29ce484222325L;
+
+        int position = 0;
+        for (ModuleNode module : modules) {
+            int from = position;
+            fingerprint = mix(fingerprint, module.id());
+            for (LessonNode lesson : module.lessons()) {
+                lessonPositions.put(lesson.id(), position++);
+                fingerprint = mix(fingerprint, lesson.id());
+            }
+            moduleRanges.put(module.id(), new Range(from, position));
+        }
+
+        return new CompletionLayout(fingerprint, Map.copyOf(lessonPositions), Map.copyOf(moduleRanges));
+    }
+
+    /**
+     * Number of lessons covered by the layout
+     */
+    public int size() {
+        return lessonPositions.size();
+    }
+
+    private static long mix(long hash, long value) {
+        // FNV-1a over the 8 bytes of the value
+        for (int i = 0; i < 8; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Half-open range of bit positions [from, to) owned by a module
+     */
+    public record Range(int from, int to) {
+
+        public int size() {
+            return to - from;
+        }
+    }
+}
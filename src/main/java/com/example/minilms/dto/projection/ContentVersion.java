@@ -0,0 +1,32 @@
+package com.example.minilms.dto.projection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Read projection of a course tree's aggregate content version, used as the HTTP validator
+ * of every read of the course, its modules and its lessons
+ */
+public record ContentVersion(Long courseId, long version, LocalDateTime updatedAt) {
+
+    /**
+     * Strong entity tag identifying this version of the course tree
+     */
+    public String eTag() {
+        return "\"course-" + courseId + "-v" + version + "\"";
+    }
+
+    /**
+     * Strong entity tag of one representation of this version, such as its gzip content coding
+     */
+    public String eTag(String variant) {
+        return "\"course-" + courseId + "-v" + version + "-" + variant + "\"";
+    }
+
+    /**
+     * Last modification time in epoch milliseconds
+     */
+    public long lastModified() {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.minilms.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read projection of a course with its modules (without lessons), for listing pages
+ */
+public record CourseDetail(
+        Long id,
+        String title,
+        String description,
+        String thumbnailUrl,
+        String coverImageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<ModuleListItem> modules) {
+
+    /**
+     * Attach modules to a course list item
+     */
+    public static CourseDetail of(CourseListItem course, List<ModuleListItem> modules) {
+        return new CourseDetail(course.id(), course.title(), course.description(), course.thumbnailUrl(),
+                course.coverImageUrl(), course.createdAt(), course.updatedAt(), modules);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.minilms.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of a course's own columns with its module count, for listing pages
+ */
+public record CourseListItem(
+        Long id,
+        String title,
+        String description,
+        String thumbnailUrl,
+        String coverImageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long moduleCount) {
+}
@@ -0,0 +1,119 @@
+package com.example.minilms.dto.projection;
+
+import com.example.minilms.entity.Course;
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonType;
+import com.example.minilms.entity.Module;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Immutable snapshot of a course tree (course, modules and lessons)
+ *
+ * Serializes to the same JSON shape as the {@link Course} entity with its modules and lessons,
+ * so it can be returned wherever the fully loaded entity tree was returned before.
+ */
+public record CourseStructure(
+        Long id,
+        String title,
+        String description,
+        String thumbnailUrl,
+        String coverImageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<ModuleNode> modules,
+        @JsonIgnore long version,
+        @JsonIgnore Map<Long, LessonLocation> lessonLocations,
+        @JsonIgnore CompletionLayout completionLayout,
+        @JsonIgnore ContentVersion contentVersion) {
+
+    /**
+     * Build a snapshot from a course and its modules with lessons loaded, in display order
+     */
+    public static CourseStructure of(Course course, List<Module> modules, long version) {
+        List<ModuleNode> moduleNodes = new ArrayList<>(modules.size());
+        Map<Long, LessonLocation> lessonLocations = new HashMap<>();
+
+        for (Module module : modules) {
+            List<LessonNode> lessonNodes = new ArrayList<>(module.getLessons().size());
+            for (Lesson lesson : module.getLessons()) {
+                lessonNodes.add(new LessonNode(lesson.getId(), lesson.getTitle(), lesson.getType(),
+                        lesson.getContentLength(), lesson.getOrderIndex(), lesson.getCreatedAt(), lesson.getUpdatedAt(),
+                        lesson.isContentValid()));
+                lessonLocations.put(lesson.getId(), new LessonLocation(lesson.getId(), module.getId(), course.getId()));
+            }
+            moduleNodes.add(new ModuleNode(module.getId(), module.getTitle(), module.getSummary(),
+                    module.getThumbnailUrl(), module.getCoverImageUrl(), module.getCreatedAt(), module.getUpdatedAt(),
+                    List.copyOf(lessonNodes)));
+        }
+
+        return new CourseStructure(course.getId(), course.getTitle(), course.getDescription(),
+                course.getThumbnailUrl(), course.getCoverImageUrl(), course.getCreatedAt(), course.getUpdatedAt(),
+                List.copyOf(moduleNodes), version, Map.copyOf(lessonLocations), CompletionLayout.of(moduleNodes),
+                new ContentVersion(course.getId(), course.getContentVersion(), course.getContentUpdatedAt()));
+    }
+
+    /**
+     * Find a module of this course by ID
+     */
+    public Optional<ModuleNode> findModule(Long moduleId) {
+        return modules.stream()
+                .filter(module -> module.id().equals(moduleId))
+                .findFirst();
+    }
+
+    /**
+     * Find where a lesson of this course sits
+     */
+    public Optional<LessonLocation> findLessonLocation(Long lessonId) {
+        return Optional.ofNullable(lessonLocations.get(lessonId));
+    }
+
+    /**
+     * Total number of lessons in the course
+     */
+    @JsonIgnore
+    public int getTotalLessons() {
+        return lessonLocations.size();
+    }
+
+    /**
+     * Modules that contain at least one lesson
+     */
+    @JsonIgnore
+    public List<ModuleNode> getNonEmptyModules() {
+        return modules.stream()
+                .filter(module -> !module.lessons().isEmpty())
+                .toList();
+    }
+
+    /**
+     * Snapshot of a module and its lessons
+     */
+    public record ModuleNode(
+            Long id,
+            String title,
+            String summary,
+            String thumbnailUrl,
+            String coverImageUrl,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            List<LessonNode> lessons) {
+    }
+
+    /**
+     * Snapshot of a lesson; the body is not part of the structure and is fetched per lesson
+     */
+    public record LessonNode(
+            Long id,
+            String title,
+            LessonType type,
+            int contentLength,
+            Integer orderIndex,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            boolean contentValid) {
+    }
+}
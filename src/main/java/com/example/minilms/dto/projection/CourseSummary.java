@@ -0,0 +1,7 @@
+package com.example.minilms.dto.projection;
+
+/**
+ * Read projection of a course reduced to what a link or picker needs
+ */
+public record CourseSummary(Long id, String title, String thumbnailUrl) {
+}
@@ -0,0 +1,9 @@
+package com.example.minilms.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of a user's completion state on a lesson
+ */
+public record LessonCompletionState(Long lessonId, Boolean completed, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,7 @@
+package com.example.minilms.dto.projection;
+
+/**
+ * Read projection locating a lesson within its module and course
+ */
+public record LessonLocation(Long lessonId, Long moduleId, Long courseId) {
+}
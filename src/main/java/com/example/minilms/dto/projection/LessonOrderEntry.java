@@ -0,0 +1,7 @@
+package com.example.minilms.dto.projection;
+
+/**
+ * Read projection of a lesson's position within its module
+ */
+public record LessonOrderEntry(long lessonId, Integer orderIndex) {
+}
@@ -0,0 +1,18 @@
+package com.example.minilms.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of a module's own columns with its lesson count, for listing pages
+ */
+public record ModuleListItem(
+        Long id,
+        Long courseId,
+        String title,
+        String summary,
+        String thumbnailUrl,
+        String coverImageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long lessonCount) {
+}
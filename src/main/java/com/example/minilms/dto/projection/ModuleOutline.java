@@ -0,0 +1,7 @@
+package com.example.minilms.dto.projection;
+
+/**
+ * Read projection of a module with its lesson count
+ */
+public record ModuleOutline(Long moduleId, String title, long lessonCount) {
+}
@@ -0,0 +1,7 @@
+package com.example.minilms.dto.projection;
+
+/**
+ * Read projection of a module reduced to what a link or picker needs
+ */
+public record ModuleSummary(Long id, Long courseId, String title, String thumbnailUrl) {
+}
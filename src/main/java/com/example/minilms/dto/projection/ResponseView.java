@@ -0,0 +1,29 @@
+package com.example.minilms.dto.projection;
+
+import java.util.Locale;
+
+/**
+ * Shape of the read projection returned by listing endpoints
+ *
+ * SUMMARY carries just enough to render a link, LIST adds the scalar columns and child counts,
+ * and DETAIL adds the direct children. No view loads lesson content through a listing query.
+ */
+public enum ResponseView {
+    SUMMARY,
+    LIST,
+    DETAIL;
+
+    /**
+     * Parse a view query parameter case-insensitively, falling back to the given default when absent
+     */
+    public static ResponseView parse(String value, ResponseView defaultView) {
+        if (value == null || value.isBlank()) {
+            return defaultView;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown view: " + value + " (expected summary, list or detail)");
+        }
+    }
+}
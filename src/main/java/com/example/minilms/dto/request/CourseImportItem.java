@@ -0,0 +1,22 @@
+package com.example.minilms.dto.request;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one course of a bulk import, with its modules and their lessons in display order
+ */
+public class CourseImportItem extends CourseCreateRequest {
+
+    @Valid
+    private List<ModuleImportItem> modules = new ArrayList<>();
+
+    // Constructors
+    public CourseImportItem() {}
+
+    // Getters and Setters
+    public List<ModuleImportItem> getModules() { return modules; }
+    public void setModules(List<ModuleImportItem> modules) { this.modules = modules; }
+}
@@ -0,0 +1,29 @@
+package com.example.minilms.dto.request;
+
+/**
+ * DTO for moving a lesson next to other lessons of its module
+ *
+ * The lesson is placed right after {@code afterLessonId} and/or right before {@code beforeLessonId};
+ * when both are given they must be adjacent.
+ */
+public class LessonPositionRequest {
+
+    private Long afterLessonId;
+
+    private Long beforeLessonId;
+
+    // Constructors
+    public LessonPositionRequest() {}
+
+    public LessonPositionRequest(Long afterLessonId, Long beforeLessonId) {
+        this.afterLessonId = afterLessonId;
+        this.beforeLessonId = beforeLessonId;
+    }
+
+    // Getters and Setters
+    public Long getAfterLessonId() { return afterLessonId; }
+    public void setAfterLessonId(Long afterLessonId) { this.afterLessonId = afterLessonId; }
+
+    public Long getBeforeLessonId() { return beforeLessonId; }
+    public void setBeforeLessonId(Long beforeLessonId) { this.beforeLessonId = beforeLessonId; }
+}
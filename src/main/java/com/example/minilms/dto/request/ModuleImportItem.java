@@ -0,0 +1,22 @@
+package com.example.minilms.dto.request;
+
+import jakarta.validation.Valid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one module of an imported course, with its lessons in display order
+ */
+public class ModuleImportItem extends ModuleCreateRequest {
+
+    @Valid
+    private List<LessonCreateRequest> lessons = new ArrayList<>();
+
+    // Constructors
+    public ModuleImportItem() {}
+
+    // Getters and Setters
+    public List<LessonCreateRequest> getLessons() { return lessons; }
+    public void setLessons(List<LessonCreateRequest> lessons) { this.lessons = lessons; }
+}
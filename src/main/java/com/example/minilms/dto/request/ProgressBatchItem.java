@@ -0,0 +1,54 @@
+package com.example.minilms.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a single progress event within a batch upload
+ */
+public class ProgressBatchItem {
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+
+    @NotNull(message = "Lesson ID is required")
+    private Long lessonId;
+
+    private Boolean completed;
+
+    @Min(value = 0, message = "Completion percentage must be between 0 and 100")
+    @Max(value = 100, message = "Completion percentage must be between 0 and 100")
+    private Integer completionPercentage;
+
+    private LocalDateTime clientTimestamp;
+
+    // Constructors
+    public ProgressBatchItem() {}
+
+    public ProgressBatchItem(String userId, Long lessonId, Boolean completed, Integer completionPercentage) {
+        this.userId = userId;
+        this.lessonId = lessonId;
+        this.completed = completed;
+        this.completionPercentage = completionPercentage;
+    }
+
+    // Getters and Setters
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Long getLessonId() { return lessonId; }
+    public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; }
+
+    public Integer getCompletionPercentage() { return completionPercentage; }
+    public void setCompletionPercentage(Integer completionPercentage) { this.completionPercentage = completionPercentage; }
+
+    public LocalDateTime getClientTimestamp() { return clientTimestamp; }
+    public void setClientTimestamp(LocalDateTime clientTimestamp) { this.clientTimestamp = clientTimestamp; }
+}
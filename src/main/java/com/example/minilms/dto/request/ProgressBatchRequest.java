@@ -0,0 +1,30 @@
+package com.example.minilms.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for uploading a batch of lesson progress events
+ */
+public class ProgressBatchRequest {
+
+    @NotEmpty(message = "At least one progress item is required")
+    @Size(max = 10000, message = "A batch must not exceed 10000 items")
+    @Valid
+    private List<ProgressBatchItem> items = new ArrayList<>();
+
+    // Constructors
+    public ProgressBatchRequest() {}
+
+    public ProgressBatchRequest(List<ProgressBatchItem> items) {
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<ProgressBatchItem> getItems() { return items; }
+    public void setItems(List<ProgressBatchItem> items) { this.items = items; }
+}
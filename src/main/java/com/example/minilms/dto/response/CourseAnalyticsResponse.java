@@ -0,0 +1,42 @@
+package com.example.minilms.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the cohort analytics of a course: per module and lesson, how many learners started and
+ * completed it, their average completion percentage and the median time they took to complete it
+ */
+public class CourseAnalyticsResponse {
+
+    private Long courseId;
+    private String courseTitle;
+    private int learners;
+    private List<ModuleAnalytics> modules;
+    private LocalDateTime generatedAt;
+
+    // Constructors
+    public CourseAnalyticsResponse() {}
+
+    public CourseAnalyticsResponse(Long courseId, String courseTitle) {
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.generatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getCourseId() { return courseId; }
+    public void setCourseId(Long courseId) { this.courseId = courseId; }
+
+    public String getCourseTitle() { return courseTitle; }
+    public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+
+    public int getLearners() { return learners; }
+    public void setLearners(int learners) { this.learners = learners; }
+
+    public List<ModuleAnalytics> getModules() { return modules; }
+    public void setModules(List<ModuleAnalytics> modules) { this.modules = modules; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
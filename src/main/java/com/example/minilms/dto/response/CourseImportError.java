@@ -0,0 +1,32 @@
+package com.example.minilms.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for a course record rejected by a bulk import
+ */
+public class CourseImportError {
+
+    private long index;
+    private String title;
+    private List<String> messages;
+
+    // Constructors
+    public CourseImportError() {}
+
+    public CourseImportError(long index, String title, List<String> messages) {
+        this.index = index;
+        this.title = title;
+        this.messages = messages;
+    }
+
+    // Getters and Setters
+    public long getIndex() { return index; }
+    public void setIndex(long index) { this.index = index; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public List<String> getMessages() { return messages; }
+    public void setMessages(List<String> messages) { this.messages = messages; }
+}
@@ -0,0 +1,50 @@
+package com.example.minilms.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk course import
+ *
+ * Courses are imported whole or not at all. {@code completed} is false when the document could not
+ * be read to the end; the courses counted as imported before that point stay imported.
+ */
+public class CourseImportResponse {
+
+    private long coursesImported;
+    private long modulesImported;
+    private long lessonsImported;
+    private long coursesRejected;
+    private boolean completed;
+    private String failure;
+    private boolean errorsTruncated;
+    private List<CourseImportError> errors = new ArrayList<>();
+
+    // Constructors
+    public CourseImportResponse() {}
+
+    // Getters and Setters
+    public long getCoursesImported() { return coursesImported; }
+    public void setCoursesImported(long coursesImported) { this.coursesImported = coursesImported; }
+
+    public long getModulesImported() { return modulesImported; }
+    public void setModulesImported(long modulesImported) { this.modulesImported = modulesImported; }
+
+    public long getLessonsImported() { return lessonsImported; }
+    public void setLessonsImported(long lessonsImported) { this.lessonsImported = lessonsImported; }
+
+    public long getCoursesRejected() { return coursesRejected; }
+    public void setCoursesRejected(long coursesRejected) { this.coursesRejected = coursesRejected; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public String getFailure() { return failure; }
+    public void setFailure(String failure) { this.failure = failure; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public List<CourseImportError> getErrors() { return errors; }
+    public void setErrors(List<CourseImportError> errors) { this.errors = errors; }
+}
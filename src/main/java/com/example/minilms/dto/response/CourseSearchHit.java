@@ -0,0 +1,40 @@
+package com.example.minilms.dto.response;
+
+/**
+ * DTO for a single ranked course search result
+ */
+public class CourseSearchHit {
+
+    private Long id;
+    private String title;
+    private String description;
+    private String thumbnailUrl;
+    private double score;
+
+    // Constructors
+    public CourseSearchHit() {}
+
+    public CourseSearchHit(Long id, String title, String description, String thumbnailUrl, double score) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.thumbnailUrl = thumbnailUrl;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
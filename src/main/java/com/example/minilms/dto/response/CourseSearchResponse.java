@@ -0,0 +1,42 @@
+package com.example.minilms.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for one page of ranked course search results
+ */
+public class CourseSearchResponse {
+
+    private String query;
+    private int totalHits;
+    private int page;
+    private int size;
+    private List<CourseSearchHit> hits;
+
+    // Constructors
+    public CourseSearchResponse() {}
+
+    public CourseSearchResponse(String query, int totalHits, int page, int size, List<CourseSearchHit> hits) {
+        this.query = query;
+        this.totalHits = totalHits;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+
+    // Getters and Setters
+    public String getQuery() { return query; }
+    public void setQuery(String query) { this.query = query; }
+
+    public int getTotalHits() { return totalHits; }
+    public void setTotalHits(int totalHits) { this.totalHits = totalHits; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public List<CourseSearchHit> getHits() { return hits; }
+    public void setHits(List<CourseSearchHit> hits) { this.hits = hits; }
+}
@@ -0,0 +1,102 @@
+package com.example.minilms.dto.response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO for one page of a keyset (cursor) paginated listing
+ *
+ * The cursor is an opaque token encoding the sort key of the last item on the page;
+ * passing it back as {@code after} continues right behind that item. No total count is
+ * computed, so the cost of a page does not depend on how deep into the listing it is.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String CURSOR_VERSION = "v1";
+
+    private List<T> items;
+    private int limit;
+    private boolean hasMore;
+    private String nextCursor;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, int limit, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.limit = limit;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from up to {@code limit + 1} fetched items; the extra item only signals that more follow
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? List.copyOf(fetched.subList(0, limit)) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, limit, hasMore, nextCursor);
+    }
+
+    /**
+     * Clamp a requested page size to [1, MAX_LIMIT], using the default when none was given
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Encode sort key values into an opaque cursor
+     */
+    public static String encodeCursor(long... keys) {
+        StringBuilder raw = new StringBuilder(CURSOR_VERSION);
+        for (long key : keys) {
+            raw.append(':').append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encodeCursor} carrying the expected number of key values
+     */
+    public static long[] decodeCursor(String cursor, int keyCount) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != keyCount + 1 || !CURSOR_VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            long[] keys = new long[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = Long.parseLong(parts[i + 1]);
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
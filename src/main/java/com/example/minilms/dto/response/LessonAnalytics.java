@@ -0,0 +1,41 @@
+package com.example.minilms.dto.response;
+
+/**
+ * DTO for the cohort figures of a lesson
+ */
+public class LessonAnalytics {
+
+    private Long lessonId;
+    private String lessonTitle;
+    private int learnersStarted;
+    private int learnersCompleted;
+    private double averageCompletionPercentage;
+    private Long medianSecondsToComplete;
+
+    // Constructors
+    public LessonAnalytics() {}
+
+    public LessonAnalytics(Long lessonId, String lessonTitle) {
+        this.lessonId = lessonId;
+        this.lessonTitle = lessonTitle;
+    }
+
+    // Getters and Setters
+    public Long getLessonId() { return lessonId; }
+    public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+
+    public String getLessonTitle() { return lessonTitle; }
+    public void setLessonTitle(String lessonTitle) { this.lessonTitle = lessonTitle; }
+
+    public int getLearnersStarted() { return learnersStarted; }
+    public void setLearnersStarted(int learnersStarted) { this.learnersStarted = learnersStarted; }
+
+    public int getLearnersCompleted() { return learnersCompleted; }
+    public void setLearnersCompleted(int learnersCompleted) { this.learnersCompleted = learnersCompleted; }
+
+    public double getAverageCompletionPercentage() { return averageCompletionPercentage; }
+    public void setAverageCompletionPercentage(double averageCompletionPercentage) { this.averageCompletionPercentage = averageCompletionPercentage; }
+
+    public Long getMedianSecondsToComplete() { return medianSecondsToComplete; }
+    public void setMedianSecondsToComplete(Long medianSecondsToComplete) { this.medianSecondsToComplete = medianSecondsToComplete; }
+}
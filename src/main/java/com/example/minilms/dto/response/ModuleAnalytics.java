@@ -0,0 +1,55 @@
+package com.example.minilms.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for the cohort figures of a module and its lessons
+ *
+ * A learner started the module with any of its lessons and completed it with all of them. The average
+ * completion percentage is over learners who started the module, counting lessons not started as 0, and
+ * the time to complete runs from their first lesson start to their last lesson completion.
+ */
+public class ModuleAnalytics {
+
+    private Long moduleId;
+    private String moduleTitle;
+    private int totalLessons;
+    private int learnersStarted;
+    private int learnersCompleted;
+    private double averageCompletionPercentage;
+    private Long medianSecondsToComplete;
+    private List<LessonAnalytics> lessons;
+
+    // Constructors
+    public ModuleAnalytics() {}
+
+    public ModuleAnalytics(Long moduleId, String moduleTitle) {
+        this.moduleId = moduleId;
+        this.moduleTitle = moduleTitle;
+    }
+
+    // Getters and Setters
+    public Long getModuleId() { return moduleId; }
+    public void setModuleId(Long moduleId) { this.moduleId = moduleId; }
+
+    public String getModuleTitle() { return moduleTitle; }
+    public void setModuleTitle(String moduleTitle) { this.moduleTitle = moduleTitle; }
+
+    public int getTotalLessons() { return totalLessons; }
+    public void setTotalLessons(int totalLessons) { this.totalLessons = totalLessons; }
+
+    public int getLearnersStarted() { return learnersStarted; }
+    public void setLearnersStarted(int learnersStarted) { this.learnersStarted = learnersStarted; }
+
+    public int getLearnersCompleted() { return learnersCompleted; }
+    public void setLearnersCompleted(int learnersCompleted) { this.learnersCompleted = learnersCompleted; }
+
+    public double getAverageCompletionPercentage() { return averageCompletionPercentage; }
+    public void setAverageCompletionPercentage(double averageCompletionPercentage) { this.averageCompletionPercentage = averageCompletionPercentage; }
+
+    public Long getMedianSecondsToComplete() { return medianSecondsToComplete; }
+    public void setMedianSecondsToComplete(Long medianSecondsToComplete) { this.medianSecondsToComplete = medianSecondsToComplete; }
+
+    public List<LessonAnalytics> getLessons() { return lessons; }
+    public void setLessons(List<LessonAnalytics> lessons) { this.lessons = lessons; }
+}
@@ -0,0 +1,50 @@
+package com.example.minilms.dto.response;
+
+/**
+ * DTO for the outcome of a single item in a progress batch
+ */
+public class ProgressBatchItemResult {
+
+    /**
+     * Outcome of a batch item
+     */
+    public enum Status {
+        APPLIED,     // written to the database
+        SUPERSEDED,  // replaced by a later event for the same user and lesson in the same batch
+        SKIPPED,     // not written, the stored progress of the user and lesson is more recent
+        REJECTED     // not written, see message
+    }
+
+    private int index;
+    private String userId;
+    private Long lessonId;
+    private Status status;
+    private String message;
+
+    // Constructors
+    public ProgressBatchItemResult() {}
+
+    public ProgressBatchItemResult(int index, String userId, Long lessonId, Status status, String message) {
+        this.index = index;
+        this.userId = userId;
+        this.lessonId = lessonId;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Long getLessonId() { return lessonId; }
+    public void setLessonId(Long lessonId) { this.lessonId = lessonId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
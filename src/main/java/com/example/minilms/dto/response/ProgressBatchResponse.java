@@ -0,0 +1,46 @@
+package com.example.minilms.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a progress batch upload
+ */
+public class ProgressBatchResponse {
+
+    private int applied;
+    private int superseded;
+    private int skipped;
+    private int rejected;
+    private List<ProgressBatchItemResult> results;
+
+    // Constructors
+    public ProgressBatchResponse() {}
+
+    public ProgressBatchResponse(List<ProgressBatchItemResult> results) {
+        this.results = results;
+        for (ProgressBatchItemResult result : results) {
+            switch (result.getStatus()) {
+                case APPLIED -> applied++;
+                case SUPERSEDED -> superseded++;
+                case SKIPPED -> skipped++;
+                case REJECTED -> rejected++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getApplied() { return applied; }
+    public void setApplied(int applied) { this.applied = applied; }
+
+    public int getSuperseded() { return superseded; }
+    public void setSuperseded(int superseded) { this.superseded = superseded; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<ProgressBatchItemResult> getResults() { return results; }
+    public void setResults(List<ProgressBatchItemResult> results) { this.results = results; }
+}
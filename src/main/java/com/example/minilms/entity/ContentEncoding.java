@@ -0,0 +1,20 @@
+package com.example.minilms.entity;
+
+/**
+ * Enum representing how a lesson body is stored, recorded next to the body so rows written
+ * before compression was enabled stay readable
+ */
+public enum ContentEncoding {
+    IDENTITY("Stored as plain text"),
+    GZIP("Stored as gzip-compressed UTF-8");
+
+    private final String description;
+
+    ContentEncoding(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
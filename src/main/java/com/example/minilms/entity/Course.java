@@ -1,9 +1,11 @@
 package com.example.minilms.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -17,7 +19,8 @@ import java.util.List;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Course title is required")
@@ -41,6 +44,20 @@ public class Course {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Incremented whenever the course, its modules or its lessons change (see ContentVersionService);
+     * never written through the entity, so the loaded value may lag behind within a transaction
+     */
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "content_version", nullable = false, updatable = false)
+    private long contentVersion;
+
+    @JsonIgnore
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "content_updated_at", nullable = false, updatable = false)
+    private LocalDateTime contentUpdatedAt;
+
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonManagedReference("course-modules")
     private List<Module> modules = new ArrayList<>();
@@ -51,6 +68,7 @@ public class Course {
         LocalDateTime now = LocalDateTime.now();
         createdAt = now;
         updatedAt = now;
+        contentUpdatedAt = now;
     }
 
     @PreUpdate
@@ -141,6 +159,22 @@ public class Course {
         this.updatedAt = updatedAt;
     }
 
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public void setContentVersion(long contentVersion) {
+        this.contentVersion = contentVersion;
+    }
+
+    public LocalDateTime getContentUpdatedAt() {
+        return contentUpdatedAt;
+    }
+
+    public void setContentUpdatedAt(LocalDateTime contentUpdatedAt) {
+        this.contentUpdatedAt = contentUpdatedAt;
+    }
+
     public List<Module> getModules() {
         return modules;
     }
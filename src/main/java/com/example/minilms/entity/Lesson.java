@@ -15,8 +15,15 @@ import java.time.LocalDateTime;
 @Table(name = "lessons")
 public class Lesson {
 
+    /**
+     * Spacing between the order indexes of consecutive lessons, leaving room to move a lesson
+     * between two others by writing only its own row
+     */
+    public static final int ORDER_INDEX_GAP = 1024;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lessons_seq")
+    @SequenceGenerator(name = "lessons_seq", sequenceName = "lessons_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Lesson title is required")
@@ -29,8 +36,14 @@ public class Lesson {
     @Column(nullable = false)
     private LessonType type;
 
-    @Column(columnDefinition = "TEXT")
-    private String content;
+    /**
+     * Length of the lesson body, which is stored separately as {@link LessonContent}
+     */
+    @Column(name = "content_length", nullable = false)
+    private int contentLength;
+
+    @Column(name = "content_valid", nullable = false)
+    private boolean contentValid;
 
     @Column(name = "order_index")
     private Integer orderIndex;
@@ -70,11 +83,20 @@ public class Lesson {
     public Lesson(String title, LessonType type, String content) {
         this.title = title;
         this.type = type;
-        this.content = content;
+        describeContent(content);
+    }
+
+    // Helper methods
+    /**
+     * Record the length and validity of a new lesson body; call after setting the type
+     */
+    public void describeContent(String content) {
+        contentLength = content != null ? content.length() : 0;
+        contentValid = isValidContent(content, type);
     }
 
     // Content validation based on lesson type
-    public boolean isContentValid() {
+    public static boolean isValidContent(String content, LessonType type) {
         if (content == null || content.trim().isEmpty()) {
             return false;
         }
@@ -92,7 +114,7 @@ public class Lesson {
         };
     }
 
-    private boolean isValidUrl(String url) {
+    private static boolean isValidUrl(String url) {
         return url != null && (url.startsWith("http://") || url.startsWith("https://"));
     }
 
@@ -121,12 +143,20 @@ public class Lesson {
         this.type = type;
     }
 
-    public String getContent() {
-        return content;
+    public int getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(int contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public boolean isContentValid() {
+        return contentValid;
     }
 
-    public void setContent(String content) {
-        this.content = content;
+    public void setContentValid(boolean contentValid) {
+        this.contentValid = contentValid;
     }
 
     public Integer getOrderIndex() {
@@ -0,0 +1,165 @@
+package com.example.minilms.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Entity holding the body of a Lesson
+ *
+ * Kept in its own table, keyed by the lesson ID, so that lesson, module and course queries
+ * never read bodies; they are fetched one lesson at a time when actually needed.
+ * Rows are removed by the database together with their lesson.
+ *
+ * The body is either plain text ({@link ContentEncoding#IDENTITY}, in {@code body}) or gzip-compressed
+ * UTF-8 ({@link ContentEncoding#GZIP}, in {@code compressed_body}); the encoding column tells which.
+ * Compressed bodies are only inflated when their text is asked for.
+ */
+@Entity
+@Table(name = "lesson_contents")
+public class LessonContent {
+
+    /**
+     * Upper bound of a compressed body: 10,000 characters of up to 3 UTF-8 bytes each, plus gzip overhead
+     */
+    public static final int MAX_COMPRESSED_SIZE = 65536;
+
+    @Id
+    @Column(name = "lesson_id")
+    private Long lessonId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "lesson_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Lesson lesson;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'IDENTITY'")
+    @Column(nullable = false, length = 16)
+    private ContentEncoding encoding = ContentEncoding.IDENTITY;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "compressed_body", length = MAX_COMPRESSED_SIZE)
+    private byte[] compressedBody;
+
+    // Constructors
+    public LessonContent() {}
+
+    public LessonContent(Lesson lesson, String body) {
+        this.lesson = lesson;
+        this.body = body;
+    }
+
+    /**
+     * Replace the body, storing it gzip-compressed or as plain text
+     */
+    public void store(String text, boolean compress) {
+        if (compress) {
+            store(gzip(text));
+        } else {
+            this.encoding = ContentEncoding.IDENTITY;
+            this.body = text;
+            this.compressedBody = null;
+        }
+    }
+
+    /**
+     * Replace the body with one already gzip-compressed by {@link #gzip(String)}
+     */
+    public void store(byte[] compressed) {
+        this.encoding = ContentEncoding.GZIP;
+        this.body = null;
+        this.compressedBody = compressed;
+    }
+
+    /**
+     * Get the body text, inflating it if it is stored compressed
+     */
+    public String getText() {
+        return decode(encoding, body, compressedBody);
+    }
+
+    /**
+     * Decode a stored body given its encoding and both body columns
+     */
+    public static String decode(ContentEncoding encoding, String body, byte[] compressedBody) {
+        return encoding == ContentEncoding.GZIP ? gunzip(compressedBody) : body;
+    }
+
+    /**
+     * Gzip-compress text as UTF-8
+     */
+    public static byte[] gzip(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(text.length() / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress lesson content", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inflate gzip-compressed UTF-8 text
+     */
+    public static String gunzip(byte[] compressed) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress lesson content", e);
+        }
+    }
+
+    // Getters and Setters
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public Lesson getLesson() {
+        return lesson;
+    }
+
+    public void setLesson(Lesson lesson) {
+        this.lesson = lesson;
+    }
+
+    public ContentEncoding getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(ContentEncoding encoding) {
+        this.encoding = encoding;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public byte[] getCompressedBody() {
+        return compressedBody;
+    }
+
+    public void setCompressedBody(byte[] compressedBody) {
+        this.compressedBody = compressedBody;
+    }
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class LessonProgress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_progress_seq")
+    @SequenceGenerator(name = "lesson_progress_seq", sequenceName = "lesson_progress_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "User ID is required")
@@ -26,6 +27,12 @@ public class LessonProgress {
     @Column(name = "lesson_id", nullable = false)
     private Long lessonId;
 
+    @Column(name = "module_id", nullable = false)
+    private Long moduleId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
     @Column(nullable = false)
     private Boolean completed = false;
 
@@ -141,6 +148,22 @@ public class LessonProgress {
         this.lessonId = lessonId;
     }
 
+    public Long getModuleId() {
+        return moduleId;
+    }
+
+    public void setModuleId(Long moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
     public Boolean getCompleted() {
         return completed;
     }
@@ -18,7 +18,8 @@ import java.util.List;
 public class Module {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modules_seq")
+    @SequenceGenerator(name = "modules_seq", sequenceName = "modules_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Module title is required")
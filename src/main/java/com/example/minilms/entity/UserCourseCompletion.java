@@ -0,0 +1,142 @@
+package com.example.minilms.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Entity holding a compact completion index of a user within a Course
+ *
+ * Each lesson of the course maps to one bit (see the course's completion layout);
+ * one bitset records started lessons and another completed lessons. The layout
+ * fingerprint identifies the lesson order the bits were written for.
+ */
+@Entity
+@Table(name = "user_course_completion")
+@IdClass(UserCourseCompletion.Key.class)
+public class UserCourseCompletion {
+
+    /**
+     * Maximum size of each bitset in bytes, bounding courses to 65536 lessons
+     */
+    public static final int MAX_BITSET_BYTES = 8192;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "layout_fingerprint", nullable = false)
+    private long layoutFingerprint;
+
+    @Column(name = "started_bits", nullable = false, length = MAX_BITSET_BYTES)
+    private byte[] startedBits = new byte[0];
+
+    @Column(name = "completed_bits", nullable = false, length = MAX_BITSET_BYTES)
+    private byte[] completedBits = new byte[0];
+
+    @Column(name = "last_updated")
+    private LocalDateTime lastUpdated;
+
+    // Constructors
+    public UserCourseCompletion() {}
+
+    public UserCourseCompletion(String userId, Long courseId, long layoutFingerprint) {
+        this.userId = userId;
+        this.courseId = courseId;
+        this.layoutFingerprint = layoutFingerprint;
+    }
+
+    // Helper methods
+    public BitSet getStarted() {
+        return BitSet.valueOf(startedBits);
+    }
+
+    public void setStarted(BitSet started) {
+        this.startedBits = started.toByteArray();
+    }
+
+    public BitSet getCompleted() {
+        return BitSet.valueOf(completedBits);
+    }
+
+    public void setCompleted(BitSet completed) {
+        this.completedBits = completed.toByteArray();
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public long getLayoutFingerprint() {
+        return layoutFingerprint;
+    }
+
+    public void setLayoutFingerprint(long layoutFingerprint) {
+        this.layoutFingerprint = layoutFingerprint;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return "UserCourseCompletion{" +
+                "userId='" + userId + '\'' +
+                ", courseId=" + courseId +
+                ", layoutFingerprint=" + layoutFingerprint +
+                '}';
+    }
+
+    /**
+     * Composite primary key (userId, courseId)
+     */
+    public static class Key implements Serializable {
+
+        private String userId;
+        private Long courseId;
+
+        public Key() {}
+
+        public Key(String userId, Long courseId) {
+            this.userId = userId;
+            this.courseId = courseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(courseId, key.courseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, courseId);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.minilms.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity holding a user's rolled-up progress within a Course
+ *
+ * The presence of this row also marks the user's module rollups for the course
+ * as complete: a missing module row then simply means no progress in that module.
+ */
+@Entity
+@Table(name = "user_course_progress")
+@IdClass(UserCourseProgress.Key.class)
+public class UserCourseProgress {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "total_lessons", nullable = false)
+    private int totalLessons;
+
+    @Column(name = "total_modules", nullable = false)
+    private int totalModules; // modules that contain at least one lesson
+
+    @Column(name = "started_lessons", nullable = false)
+    private int startedLessons;
+
+    @Column(name = "completed_lessons", nullable = false)
+    private int completedLessons;
+
+    @Column(name = "progress_percentage", nullable = false)
+    private double progressPercentage;
+
+    @Column(name = "last_updated", nullable = false)
+    private LocalDateTime lastUpdated;
+
+    // Constructors
+    public UserCourseProgress() {}
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getTotalLessons() {
+        return totalLessons;
+    }
+
+    public void setTotalLessons(int totalLessons) {
+        this.totalLessons = totalLessons;
+    }
+
+    public int getTotalModules() {
+        return totalModules;
+    }
+
+    public void setTotalModules(int totalModules) {
+        this.totalModules = totalModules;
+    }
+
+    public int getStartedLessons() {
+        return startedLessons;
+    }
+
+    public void setStartedLessons(int startedLessons) {
+        this.startedLessons = startedLessons;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(int completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public double getProgressPercentage() {
+        return progressPercentage;
+    }
+
+    public void setProgressPercentage(double progressPercentage) {
+        this.progressPercentage = progressPercentage;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return "UserCourseProgress{" +
+                "userId='" + userId + '\'' +
+                ", courseId=" + courseId +
+                ", completedLessons=" + completedLessons +
+                ", totalLessons=" + totalLessons +
+                ", progressPercentage=" + progressPercentage +
+                '}';
+    }
+
+    /**
+     * Composite primary key (userId, courseId)
+     */
+    public static class Key implements Serializable {
+
+        private String userId;
+        private Long courseId;
+
+        public Key() {}
+
+        public Key(String userId, Long courseId) {
+            this.userId = userId;
+            this.courseId = courseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(courseId, key.courseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, courseId);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.minilms.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity holding a user's rolled-up progress within a Module
+ *
+ * Maintained incrementally from lesson progress writes so that dashboards
+ * do not need to recompute progress from individual lesson rows.
+ */
+@Entity
+@Table(name = "user_module_progress",
+        indexes = @Index(name = "idx_user_module_progress_user_course", columnList = "user_id, course_id"))
+@IdClass(UserModuleProgress.Key.class)
+public class UserModuleProgress {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "module_id", nullable = false)
+    private Long moduleId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "total_lessons", nullable = false)
+    private int totalLessons;
+
+    @Column(name = "started_lessons", nullable = false)
+    private int startedLessons;
+
+    @Column(name = "completed_lessons", nullable = false)
+    private int completedLessons;
+
+    @Column(name = "progress_percentage", nullable = false)
+    private double progressPercentage;
+
+    @Column(name = "last_updated", nullable = false)
+    private LocalDateTime lastUpdated;
+
+    // Constructors
+    public UserModuleProgress() {}
+
+    public UserModuleProgress(String userId, Long moduleId, Long courseId, int totalLessons) {
+        this.userId = userId;
+        this.moduleId = moduleId;
+        this.courseId = courseId;
+        this.totalLessons = totalLessons;
+        this.lastUpdated = LocalDateTime.now();
+    }
+
+    // Helper methods
+    public void applyDelta(int startedDelta, int completedDelta, LocalDateTime updatedAt) {
+        this.startedLessons += startedDelta;
+        this.completedLessons += completedDelta;
+        this.progressPercentage = totalLessons > 0 ? (double) completedLessons / totalLessons * 100 : 0.0;
+        if (updatedAt != null && (lastUpdated == null || updatedAt.isAfter(lastUpdated))) {
+            this.lastUpdated = updatedAt;
+        }
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Long getModuleId() {
+        return moduleId;
+    }
+
+    public void setModuleId(Long moduleId) {
+        this.moduleId = moduleId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getTotalLessons() {
+        return totalLessons;
+    }
+
+    public void setTotalLessons(int totalLessons) {
+        this.totalLessons = totalLessons;
+    }
+
+    public int getStartedLessons() {
+        return startedLessons;
+    }
+
+    public void setStartedLessons(int startedLessons) {
+        this.startedLessons = startedLessons;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(int completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public double getProgressPercentage() {
+        return progressPercentage;
+    }
+
+    public void setProgressPercentage(double progressPercentage) {
+        this.progressPercentage = progressPercentage;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    @Override
+    public String toString() {
+        return "UserModuleProgress{" +
+                "userId='" + userId + '\'' +
+                ", moduleId=" + moduleId +
+                ", completedLessons=" + completedLessons +
+                ", totalLessons=" + totalLessons +
+                ", progressPercentage=" + progressPercentage +
+                '}';
+    }
+
+    /**
+     * Composite primary key (userId, moduleId)
+     */
+    public static class Key implements Serializable {
+
+        private String userId;
+        private Long moduleId;
+
+        public Key() {}
+
+        public Key(String userId, Long moduleId) {
+            this.userId = userId;
+            this.moduleId = moduleId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(moduleId, key.moduleId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, moduleId);
+        }
+    }
+}
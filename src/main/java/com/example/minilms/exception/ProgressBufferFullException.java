@@ -0,0 +1,11 @@
+package com.example.minilms.exception;
+
+/**
+ * Thrown when the progress write-behind buffer cannot accept more updates
+ */
+public class ProgressBufferFullException extends RuntimeException {
+
+    public ProgressBufferFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.minilms.metrics;
+
+import com.example.minilms.MiniLmsApplication;
+import com.example.minilms.metrics.RequestTimings.Stage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter timing each request and its stages
+ *
+ * Runs ahead of the security filters so that authentication is part of the measurement. Requests
+ * handled by an application controller method are recorded in the {@code minilms.http.endpoint}
+ * timer and the time spent per stage in {@code minilms.http.endpoint.stage}, both tagged with the
+ * endpoint (controller and method name) and outcome. Any request slower than the configured
+ * threshold is logged with its per-stage breakdown.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    private static final String APPLICATION_PACKAGE = MiniLmsApplication.class.getPackageName() + ".";
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestThresholdNanos;
+
+    @Autowired
+    public RequestTimingFilter(MeterRegistry meterRegistry,
+                               @Value("${minilms.metrics.slow-request-threshold-ms:1000}") long slowRequestThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestThresholdMs);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin(request);
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            String endpoint = endpoint(request);
+            Outcome outcome = failed ? Outcome.SERVER_ERROR : Outcome.forStatus(response.getStatus());
+            if (endpoint != null) {
+                record(endpoint, outcome, elapsed, timings);
+            }
+            if (slowRequestThresholdNanos > 0 && elapsed >= slowRequestThresholdNanos) {
+                logSlowRequest(request, response, endpoint, failed, elapsed, timings);
+            }
+        }
+    }
+
+    private void record(String endpoint, Outcome outcome, long elapsed, RequestTimings timings) {
+        Timer.builder("minilms.http.endpoint")
+                .description("Time taken to serve requests per controller method")
+                .tags("endpoint", endpoint, "outcome", outcome.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        for (Stage stage : Stage.values()) {
+            long nanos = timings.getNanos(stage);
+            if (nanos > 0) {
+                Timer.builder("minilms.http.endpoint.stage")
+                        .description("Time spent per request in a processing stage; stages may nest")
+                        .tags("endpoint", endpoint, "stage", stage.getTag(), "outcome", outcome.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response, String endpoint,
+                                boolean failed, long elapsed, RequestTimings timings) {
+        StringBuilder breakdown = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            long nanos = timings.getNanos(stage);
+            if (nanos > 0) {
+                breakdown.append(breakdown.isEmpty() ? "" : ", ")
+                        .append(stage.getTag()).append(' ').append(millis(nanos)).append(" ms");
+            }
+        }
+        log.warn("Slow request {} {} ({}, {}) took {} ms: {}", request.getMethod(), request.getRequestURI(),
+                endpoint != null ? endpoint : "no endpoint", failed ? "failed" : response.getStatus(),
+                millis(elapsed), breakdown.isEmpty() ? "no instrumented stages" : breakdown);
+    }
+
+    /**
+     * Name of the application controller method that handled the request, if any
+     */
+    private static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+                && handler.getBeanType().getName().startsWith(APPLICATION_PACKAGE)) {
+            return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        }
+        return null;
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.minilms.metrics;
+
+import jakarta.servlet.ServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Time spent per stage while serving the current request
+ *
+ * Created for each request by {@link RequestTimingFilter} and found through the request attributes,
+ * so code anywhere on the request thread can attribute time to a stage with
+ * {@code try (StageScope scope = RequestTimings.start(Stage.REPOSITORY)) { ... }}. Nested scopes of
+ * the same stage count once; different stages may nest (progress aggregation includes the repository
+ * calls it makes). Outside of a request, scopes record nothing.
+ */
+public final class RequestTimings {
+
+    private static final String ATTRIBUTE = RequestTimings.class.getName();
+    private static final StageScope NOOP = () -> {
+    };
+
+    /**
+     * Instrumented stages of request processing
+     */
+    public enum Stage {
+        AUTHENTICATION("authentication"),
+        REPOSITORY("repository"),
+        PROGRESS_AGGREGATION("progress_aggregation"),
+        SERIALIZATION("serialization");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    /**
+     * Open stage measurement, ended by closing it
+     */
+    @FunctionalInterface
+    public interface StageScope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private final long[] nanos = new long[Stage.values().length];
+    private final int[] depth = new int[Stage.values().length];
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Start timing a stage of the current request
+     */
+    public static StageScope start(Stage stage) {
+        RequestTimings timings = current();
+        if (timings == null) {
+            return NOOP;
+        }
+        int index = stage.ordinal();
+        if (timings.depth[index]++ > 0) {
+            return () -> timings.depth[index]--;
+        }
+        long started = System.nanoTime();
+        return () -> {
+            timings.depth[index]--;
+            timings.nanos[index] += System.nanoTime() - started;
+        };
+    }
+
+    /**
+     * Attach fresh stage timings to a request
+     */
+    static RequestTimings begin(ServletRequest request) {
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(ATTRIBUTE, timings);
+        return timings;
+    }
+
+    /**
+     * Time spent in a stage so far, in nanoseconds
+     */
+    long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    private static RequestTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                ? (RequestTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+    }
+}
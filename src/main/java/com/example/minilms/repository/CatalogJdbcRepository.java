@@ -0,0 +1,236 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.entity.ContentEncoding;
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonContent;
+import com.example.minilms.entity.LessonType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * JDBC-based repository for bulk reads and writes of courses, modules and lessons
+ *
+ * Rows carry explicit IDs so whole course trees can be written in batched statements
+ * without a generated-key round-trip per row. IDs come from blocks reserved with
+ * {@link #reserveIdBlock(String)}, shared with the entity mappings' sequences. The
+ * streaming reads walk whole tables row by row without loading them into the persistence context.
+ */
+@Repository
+public class CatalogJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_COURSE_SQL =
+            "INSERT INTO courses (id, title, description, thumbnail_url, cover_image_url, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MODULE_SQL =
+            "INSERT INTO modules (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LESSON_SQL =
+            "INSERT INTO lessons (id, title, type, content_length, content_valid, order_index, module_id, " +
+            "created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LESSON_CONTENT_SQL =
+            "INSERT INTO lesson_contents (lesson_id, encoding, body, compressed_body) VALUES (?, ?, ?, ?)";
+
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Number of IDs reserved by each value drawn from a table's sequence, as in the entity mappings
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final List<String> SEQUENCE_TABLES = List.of("courses", "modules", "lessons", "lesson_progress");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CatalogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserve a block of {@link #ID_ALLOCATION_SIZE} consecutive IDs of a table
+     *
+     * @return the first ID of the block
+     */
+    public long reserveIdBlock(String table) {
+        if (!SEQUENCE_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Unsupported table: " + table);
+        }
+        Long first = jdbcTemplate.queryForObject("SELECT nextval('" + table + "_seq')", Long.class);
+        return first != null ? first : 0;
+    }
+
+    /**
+     * Insert courses with explicit IDs using batched statements
+     */
+    public void batchInsertCourses(List<CourseRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_COURSE_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            Timestamp now = Timestamp.valueOf(row.createdAt());
+            ps.setLong(1, row.id());
+            ps.setString(2, row.title());
+            ps.setString(3, row.description());
+            ps.setString(4, row.thumbnailUrl());
+            ps.setString(5, row.coverImageUrl());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    /**
+     * Insert modules with explicit IDs using batched statements
+     */
+    public void batchInsertModules(List<ModuleRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_MODULE_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            Timestamp now = Timestamp.valueOf(row.createdAt());
+            ps.setLong(1, row.id());
+            ps.setString(2, row.title());
+            ps.setString(3, row.summary());
+            ps.setString(4, row.thumbnailUrl());
+            ps.setString(5, row.coverImageUrl());
+            ps.setLong(6, row.courseId());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    /**
+     * Insert lessons and their bodies with explicit IDs using batched statements
+     *
+     * @param encoder stores each body as {@link com.example.minilms.service.LessonContentStore#encode} would
+     */
+    public void batchInsertLessons(List<LessonRow> rows, Function<LessonRow, LessonContent> encoder) {
+        jdbcTemplate.batchUpdate(INSERT_LESSON_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            Timestamp now = Timestamp.valueOf(row.createdAt());
+            ps.setLong(1, row.id());
+            ps.setString(2, row.title());
+            ps.setString(3, row.type());
+            ps.setInt(4, row.content() != null ? row.content().length() : 0);
+            ps.setBoolean(5, Lesson.isValidContent(row.content(), LessonType.valueOf(row.type())));
+            ps.setInt(6, row.orderIndex());
+            ps.setLong(7, row.moduleId());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+        List<LessonRow> withContent = rows.stream().filter(row -> row.content() != null).toList();
+        jdbcTemplate.batchUpdate(INSERT_LESSON_CONTENT_SQL, withContent, BATCH_SIZE, (ps, row) -> {
+            LessonContent content = encoder.apply(row);
+            ps.setLong(1, row.id());
+            ps.setString(2, content.getEncoding().name());
+            ps.setString(3, content.getBody());
+            ps.setBytes(4, content.getCompressedBody());
+        });
+    }
+
+    /**
+     * Stream every course row
+     */
+    public void forEachCourse(Consumer<CourseRow> consumer) {
+        streamRows("SELECT id, title, description, thumbnail_url, cover_image_url, created_at FROM courses",
+                rs -> consumer.accept(new CourseRow(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5), rs.getTimestamp(6).toLocalDateTime())));
+    }
+
+    /**
+     * Stream every module row
+     */
+    public void forEachModule(Consumer<ModuleRow> consumer) {
+        streamRows("SELECT id, title, summary, thumbnail_url, cover_image_url, course_id, created_at FROM modules",
+                rs -> consumer.accept(new ModuleRow(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5), rs.getLong(6), rs.getTimestamp(7).toLocalDateTime())));
+    }
+
+    /**
+     * Stream every lesson row, with the body for lessons of the given type only
+     */
+    public void forEachLesson(String contentType, Consumer<LessonRow> consumer) {
+        streamRows("SELECT l.id, l.title, l.type, l.order_index, l.module_id, l.created_at, " +
+                        "c.encoding, c.body, c.compressed_body " +
+                        "FROM lessons l " +
+                        "LEFT JOIN lesson_contents c ON c.lesson_id = l.id AND l.type = ?",
+                ps -> ps.setString(1, contentType),
+                rs -> consumer.accept(new LessonRow(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        readBody(rs, 7), rs.getInt(4), rs.getLong(5), rs.getTimestamp(6).toLocalDateTime())));
+    }
+
+    /**
+     * Find the bodies of a course's lessons of the given type by lesson ID
+     */
+    public Map<Long, String> findLessonBodiesByCourseId(long courseId, String type) {
+        Map<Long, String> bodies = new HashMap<>();
+        jdbcTemplate.query("SELECT c.lesson_id, c.encoding, c.body, c.compressed_body " +
+                        "FROM lesson_contents c " +
+                        "JOIN lessons l ON l.id = c.lesson_id " +
+                        "JOIN modules m ON m.id = l.module_id " +
+                        "WHERE m.course_id = ? AND l.type = ?",
+                rs -> {
+                    bodies.put(rs.getLong(1), readBody(rs, 2));
+                }, courseId, type);
+        return bodies;
+    }
+
+    /**
+     * Read a body from its encoding, body and compressed_body columns, starting at the given one
+     */
+    private static String readBody(ResultSet rs, int encodingColumn) throws SQLException {
+        String encoding = rs.getString(encodingColumn);
+        if (encoding == null) {
+            return null;
+        }
+        return LessonContent.decode(ContentEncoding.valueOf(encoding), rs.getString(encodingColumn + 1),
+                rs.getBytes(encodingColumn + 2));
+    }
+
+    private void streamRows(String sql, RowCallbackHandler handler) {
+        streamRows(sql, ps -> { }, handler);
+    }
+
+    private void streamRows(String sql, PreparedStatementSetter setter, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            setter.setValues(ps);
+            return ps;
+        }, handler);
+    }
+
+    /**
+     * Course row with an explicit ID
+     */
+    public record CourseRow(long id, String title, String description, String thumbnailUrl,
+                            String coverImageUrl, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Module row with an explicit ID
+     */
+    public record ModuleRow(long id, String title, String summary, String thumbnailUrl,
+                            String coverImageUrl, long courseId, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Lesson row with an explicit ID and its body
+     */
+    public record LessonRow(long id, String title, String type, String content, int orderIndex,
+                            long moduleId, LocalDateTime createdAt) {
+    }
+}
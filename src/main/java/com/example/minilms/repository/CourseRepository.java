@@ -1,11 +1,19 @@
 package com.example.minilms.repository;
 
+import com.example.minilms.dto.projection.ContentVersion;
+import com.example.minilms.dto.projection.CourseListItem;
+import com.example.minilms.dto.projection.CourseSummary;
 import com.example.minilms.entity.Course;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,24 +24,61 @@ import java.util.Optional;
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
     /**
-     * Find course by ID with modules and lessons eagerly loaded
+     * Keyset page of course summaries ordered by ID, starting after the given ID
      */
-    @Query("SELECT DISTINCT c FROM Course c " +
-            "LEFT JOIN FETCH c.modules m " +
-            "LEFT JOIN FETCH m.lessons " +
-            "WHERE c.id = :id")
-    Optional<Course> findByIdWithModulesAndLessons(@Param("id") Long id);
+    @Query("SELECT new com.example.minilms.dto.projection.CourseSummary(c.id, c.title, c.thumbnailUrl) " +
+            "FROM Course c " +
+            "WHERE c.id > :afterId " +
+            "ORDER BY c.id ASC")
+    List<CourseSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
 
     /**
-     * Find all courses with their modules
+     * Offset page of course summaries ordered by ID
      */
-    @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.modules")
-    List<Course> findAllWithModules();
+    @Query(value = "SELECT new com.example.minilms.dto.projection.CourseSummary(c.id, c.title, c.thumbnailUrl) " +
+            "FROM Course c " +
+            "ORDER BY c.id ASC",
+            countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseSummary> findSummaries(Pageable pageable);
 
     /**
-     * Find courses by title containing the search term (case insensitive)
+     * Keyset page of course list items ordered by ID, starting after the given ID
      */
-    List<Course> findByTitleContainingIgnoreCase(String title);
+    @Query("SELECT new com.example.minilms.dto.projection.CourseListItem(c.id, c.title, c.description, " +
+            "c.thumbnailUrl, c.coverImageUrl, c.createdAt, c.updatedAt, " +
+            "(SELECT COUNT(m) FROM Module m WHERE m.course = c)) " +
+            "FROM Course c " +
+            "WHERE c.id > :afterId " +
+            "ORDER BY c.id ASC")
+    List<CourseListItem> findListItemsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Offset page of course list items ordered by ID
+     */
+    @Query(value = "SELECT new com.example.minilms.dto.projection.CourseListItem(c.id, c.title, c.description, " +
+            "c.thumbnailUrl, c.coverImageUrl, c.createdAt, c.updatedAt, " +
+            "(SELECT COUNT(m) FROM Module m WHERE m.course = c)) " +
+            "FROM Course c " +
+            "ORDER BY c.id ASC",
+            countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseListItem> findListItems(Pageable pageable);
+
+    /**
+     * Find the aggregate content version of a course without loading it
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.ContentVersion(c.id, c.contentVersion, c.contentUpdatedAt) " +
+            "FROM Course c " +
+            "WHERE c.id = :courseId")
+    Optional<ContentVersion> findContentVersionById(@Param("courseId") Long courseId);
+
+    /**
+     * Increment the aggregate content version of a course
+     */
+    @Modifying
+    @Query("UPDATE Course c " +
+            "SET c.contentVersion = c.contentVersion + 1, c.contentUpdatedAt = :updatedAt " +
+            "WHERE c.id = :courseId")
+    int incrementContentVersion(@Param("courseId") Long courseId, @Param("updatedAt") LocalDateTime updatedAt);
 
     /**
      * Count total number of lessons in a course
@@ -0,0 +1,32 @@
+package com.example.minilms.repository;
+
+/**
+ * IDs of one table handed out from sequence blocks, one database round-trip per block
+ *
+ * Each block holds {@link CatalogJdbcRepository#ID_ALLOCATION_SIZE} IDs, as the entity mappings reserve, so
+ * bulk writers binding explicit IDs share the sequence with Hibernate without collisions. IDs left over
+ * in the last block are never used. Not thread-safe; meant for one batch or import at a time.
+ */
+public final class IdBlocks {
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final String table;
+    private long next;
+    private long end;
+
+    public IdBlocks(CatalogJdbcRepository catalogJdbcRepository, String table) {
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.table = table;
+    }
+
+    /**
+     * Next unused ID, reserving a new block when the current one is used up
+     */
+    public long next() {
+        if (next == end) {
+            next = catalogJdbcRepository.reserveIdBlock(table);
+            end = next + CatalogJdbcRepository.ID_ALLOCATION_SIZE;
+        }
+        return next++;
+    }
+}
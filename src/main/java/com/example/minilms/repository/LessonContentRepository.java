@@ -0,0 +1,42 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.entity.ContentEncoding;
+import com.example.minilms.entity.LessonContent;
+import com.example.minilms.entity.LessonType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for LessonContent entity operations
+ */
+@Repository
+public interface LessonContentRepository extends JpaRepository<LessonContent, Long> {
+
+    /**
+     * Replace the stored body of a lesson without loading the previous one
+     */
+    @Modifying
+    @Query("UPDATE LessonContent c SET c.encoding = :encoding, c.body = :body, c.compressedBody = :compressedBody " +
+           "WHERE c.lessonId = :lessonId")
+    int updateContent(@Param("lessonId") Long lessonId, @Param("encoding") ContentEncoding encoding,
+                      @Param("body") String body, @Param("compressedBody") byte[] compressedBody);
+
+    /**
+     * Find and lock a keyset batch of bodies stored with the given encoding for lessons of the given type
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM LessonContent c WHERE c.encoding = :encoding AND c.lesson.type = :type " +
+           "AND c.lessonId > :afterId ORDER BY c.lessonId")
+    List<LessonContent> findBatchByEncodingAndLessonType(@Param("encoding") ContentEncoding encoding,
+                                                         @Param("type") LessonType type,
+                                                         @Param("afterId") Long afterId,
+                                                         Limit limit);
+}
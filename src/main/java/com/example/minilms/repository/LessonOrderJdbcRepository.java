@@ -0,0 +1,85 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.dto.projection.LessonOrderEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC-based repository for reading and rewriting the order of lessons within modules
+ *
+ * Reorders read a module's (ID, order index) pairs in one query and write back only the rows
+ * whose index changed, in a single batched statement, without loading lesson entities.
+ */
+@Repository
+public class LessonOrderJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String LOCK_MODULE_SQL =
+            "SELECT course_id FROM modules WHERE id = ? FOR UPDATE";
+
+    private static final String FIND_BY_MODULE_SQL =
+            "SELECT id, order_index FROM lessons WHERE module_id = ? ORDER BY order_index, id";
+
+    private static final String UPDATE_ORDER_INDEX_SQL =
+            "UPDATE lessons SET order_index = ?, updated_at = ? WHERE id = ?";
+
+    private static final String FIND_CROWDED_MODULES_SQL =
+            "SELECT DISTINCT g.module_id FROM (" +
+            "SELECT module_id, order_index, " +
+            "order_index - LAG(order_index) OVER (PARTITION BY module_id ORDER BY order_index, id) AS gap " +
+            "FROM lessons) g " +
+            "WHERE g.order_index IS NULL OR g.gap < ? " +
+            "ORDER BY g.module_id " +
+            "FETCH FIRST ? ROWS ONLY";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public LessonOrderJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lock a module row for the rest of the transaction so that concurrent reorders of its lessons
+     * run one after the other
+     *
+     * @return the ID of the module's course, or empty when the module does not exist
+     */
+    public Optional<Long> lockModule(long moduleId) {
+        return jdbcTemplate.queryForList(LOCK_MODULE_SQL, Long.class, moduleId).stream().findFirst();
+    }
+
+    /**
+     * Find the lessons of a module with their order indexes, in display order
+     */
+    public List<LessonOrderEntry> findByModuleId(long moduleId) {
+        return jdbcTemplate.query(FIND_BY_MODULE_SQL,
+                (rs, rowNum) -> new LessonOrderEntry(rs.getLong(1), rs.getObject(2, Integer.class)), moduleId);
+    }
+
+    /**
+     * Write new order indexes using batched statements
+     */
+    public void batchUpdateOrderIndexes(List<LessonOrderEntry> entries, LocalDateTime updatedAt) {
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.batchUpdate(UPDATE_ORDER_INDEX_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setInt(1, entry.orderIndex());
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, entry.lessonId());
+        });
+    }
+
+    /**
+     * Find modules with a missing order index or two consecutive lessons closer than the given gap
+     */
+    public List<Long> findCrowdedModuleIds(int minGap, int limit) {
+        return jdbcTemplate.queryForList(FIND_CROWDED_MODULES_SQL, Long.class, minGap, limit);
+    }
+}
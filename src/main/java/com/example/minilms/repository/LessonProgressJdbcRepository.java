@@ -0,0 +1,380 @@
+package com.example.minilms.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * JDBC-based repository for bulk lesson progress writes and aggregate reads
+ *
+ * Bypasses the persistence context so that many progress rows can be written
+ * in a handful of batched statements instead of one round-trip per row, and
+ * progress can be aggregated in SQL without materializing any entity. Exports
+ * walk the table with a forward-only cursor in (updated_at, id) order.
+ *
+ * Inserted rows carry explicit IDs from blocks reserved with {@link IdBlocks}, one sequence round-trip
+ * per block, rather than the column default, which would take a whole block of the pooled-lo sequence
+ * for every row.
+ */
+@Repository
+public class LessonProgressJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPDATE_SQL =
+            "UPDATE lesson_progress SET " +
+            "completed = ?, " +
+            "completion_percentage = ?, " +
+            "completed_at = CASE WHEN ? THEN COALESCE(completed_at, ?) ELSE NULL END, " +
+            "updated_at = ?, " +
+            "module_id = ?, " +
+            "course_id = ? " +
+            "WHERE user_id = ? AND lesson_id = ? AND updated_at <= ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO lesson_progress " +
+            "(id, user_id, lesson_id, module_id, course_id, completed, completion_percentage, " +
+            "started_at, completed_at, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String H2_MERGE_SQL =
+            "MERGE INTO lesson_progress t " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS BOOLEAN), CAST(? AS INTEGER), CAST(? AS TIMESTAMP))) " +
+            "AS s(id, user_id, lesson_id, module_id, course_id, completed, completion_percentage, ts) " +
+            "ON t.user_id = s.user_id AND t.lesson_id = s.lesson_id " +
+            "WHEN MATCHED AND t.updated_at <= s.ts THEN UPDATE SET " +
+            "completed = s.completed, " +
+            "completion_percentage = s.completion_percentage, " +
+            "completed_at = CASE WHEN s.completed THEN COALESCE(t.completed_at, s.ts) ELSE NULL END, " +
+            "updated_at = s.ts, " +
+            "module_id = s.module_id, " +
+            "course_id = s.course_id " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(id, user_id, lesson_id, module_id, course_id, completed, completion_percentage, " +
+            "started_at, completed_at, created_at, updated_at) " +
+            "VALUES (s.id, s.user_id, s.lesson_id, s.module_id, s.course_id, s.completed, s.completion_percentage, s.ts, " +
+            "CASE WHEN s.completed THEN s.ts ELSE NULL END, s.ts, s.ts)";
+
+    private static final String POSTGRES_UPSERT_SQL =
+            INSERT_SQL + " " +
+            "ON CONFLICT (user_id, lesson_id) DO UPDATE SET " +
+            "completed = EXCLUDED.completed, " +
+            "completion_percentage = EXCLUDED.completion_percentage, " +
+            "completed_at = CASE WHEN EXCLUDED.completed " +
+            "THEN COALESCE(lesson_progress.completed_at, EXCLUDED.updated_at) ELSE NULL END, " +
+            "updated_at = EXCLUDED.updated_at, " +
+            "module_id = EXCLUDED.module_id, " +
+            "course_id = EXCLUDED.course_id " +
+            "WHERE lesson_progress.updated_at <= EXCLUDED.updated_at";
+
+    private static final String STATES_SQL =
+            "SELECT user_id, lesson_id, completed, updated_at FROM lesson_progress WHERE (user_id, lesson_id) IN ";
+
+    private static final String COURSE_PROGRESS_BY_MODULE_SQL =
+            "SELECT c.title, m.id, m.title, COUNT(l.id), COUNT(p.id), " +
+            "COALESCE(SUM(CASE WHEN p.completed THEN 1 ELSE 0 END), 0), MAX(p.updated_at) " +
+            "FROM courses c " +
+            "LEFT JOIN modules m ON m.course_id = c.id " +
+            "LEFT JOIN lessons l ON l.module_id = m.id " +
+            "LEFT JOIN lesson_progress p ON p.lesson_id = l.id AND p.user_id = ? " +
+            "WHERE c.id = ? " +
+            "GROUP BY c.title, m.id, m.title " +
+            "ORDER BY m.id";
+
+    private static final String EXPORT_SQL =
+            "SELECT id, user_id, lesson_id, module_id, course_id, completed, completion_percentage, " +
+            "started_at, completed_at, created_at, updated_at " +
+            "FROM lesson_progress";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final String upsertSql;
+    private final ParameterizedPreparedStatementSetter<NumberedRow> upsertBinder;
+
+    @Autowired
+    public LessonProgressJdbcRepository(JdbcTemplate jdbcTemplate, CatalogJdbcRepository catalogJdbcRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogJdbcRepository = catalogJdbcRepository;
+
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equalsIgnoreCase(product)) {
+            this.upsertSql = H2_MERGE_SQL;
+            this.upsertBinder = this::bindMerge;
+        } else if ("PostgreSQL".equalsIgnoreCase(product)) {
+            this.upsertSql = POSTGRES_UPSERT_SQL;
+            this.upsertBinder = this::bindInsert;
+        } else {
+            this.upsertSql = null;
+            this.upsertBinder = null;
+        }
+    }
+
+    /**
+     * Insert or update the given progress rows using batched statements.
+     * Uses a single native upsert statement per row (H2 MERGE, PostgreSQL ON CONFLICT)
+     * when the database supports it, and falls back to update-then-insert otherwise.
+     * A stored row updated after a given row's timestamp is left as it is. Every row of a native upsert
+     * is given an ID, which stays unused when the row turns out to exist.
+     *
+     * @return number of rows submitted
+     */
+    public int batchUpsert(List<ProgressRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        if (upsertSql != null) {
+            jdbcTemplate.batchUpdate(upsertSql, number(rows), BATCH_SIZE, upsertBinder);
+            return rows.size();
+        }
+
+        int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_SQL, rows, BATCH_SIZE, this::bindUpdate);
+
+        List<ProgressRow> notUpdated = new ArrayList<>();
+        int index = 0;
+        for (int[] batchCounts : updateCounts) {
+            for (int count : batchCounts) {
+                if (count == 0) {
+                    notUpdated.add(rows.get(index));
+                }
+                index++;
+            }
+        }
+
+        // Rows not updated are either missing or newer than the given state
+        Set<List<Object>> stored = new HashSet<>();
+        for (ProgressState state : findStates(notUpdated)) {
+            stored.add(List.of(state.userId(), state.lessonId()));
+        }
+        List<ProgressRow> missing = notUpdated.stream()
+                .filter(row -> !stored.contains(List.of(row.userId(), row.lessonId())))
+                .toList();
+
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, number(missing), BATCH_SIZE, this::bindInsert);
+        }
+
+        return rows.size();
+    }
+
+    /**
+     * Read the stored completion state and update time of the given rows' users and lessons,
+     * for those that have a progress row
+     */
+    public List<ProgressState> findStates(List<ProgressRow> rows) {
+        List<ProgressState> states = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<ProgressRow> chunk = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)"));
+            Object[] args = new Object[chunk.size() * 2];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[2 * i] = chunk.get(i).userId();
+                args[2 * i + 1] = chunk.get(i).lessonId();
+            }
+            states.addAll(jdbcTemplate.query(STATES_SQL + "(" + placeholders + ")", (rs, rowNum) ->
+                    new ProgressState(rs.getString(1), rs.getLong(2), rs.getBoolean(3),
+                            rs.getTimestamp(4).toLocalDateTime()), args));
+        }
+        return states;
+    }
+
+    /**
+     * Insert progress rows that are known not to exist yet using batched statements
+     */
+    public int batchInsert(List<ProgressRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, number(rows), BATCH_SIZE, this::bindInsert);
+        return rows.size();
+    }
+
+    /**
+     * Aggregate a user's progress over a course into per-module lesson, started and completed counts
+     * and the latest progress update, in a single grouped query. Returns one row per module (a single
+     * row with a null module ID for a course without modules), or no rows if the course does not exist.
+     */
+    public List<ModuleProgressRow> findCourseProgressByModule(String userId, Long courseId) {
+        return jdbcTemplate.query(COURSE_PROGRESS_BY_MODULE_SQL, (rs, rowNum) -> {
+            Timestamp lastUpdated = rs.getTimestamp(7);
+            return new ModuleProgressRow(rs.getString(1), rs.getObject(2, Long.class),
+                    rs.getString(3), rs.getInt(4), rs.getInt(5), rs.getInt(6),
+                    lastUpdated != null ? lastUpdated.toLocalDateTime() : null);
+        }, userId, courseId);
+    }
+
+    /**
+     * Stream the progress rows matching a filter in (updated_at, id) order with a forward-only cursor,
+     * fetching the given number of rows per round-trip. Must run in a transaction for drivers that only
+     * use a cursor with auto-commit off (PostgreSQL).
+     */
+    public void forEachForExport(ExportFilter filter, int fetchSize, Consumer<ExportRow> consumer) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (filter.courseId() != null) {
+            conditions.add("course_id = ?");
+            args.add(filter.courseId());
+        }
+        if (filter.moduleId() != null) {
+            conditions.add("module_id = ?");
+            args.add(filter.moduleId());
+        }
+        if (filter.updatedFrom() != null) {
+            conditions.add("updated_at >= ?");
+            args.add(Timestamp.valueOf(filter.updatedFrom()));
+        }
+        if (filter.updatedTo() != null) {
+            conditions.add("updated_at < ?");
+            args.add(Timestamp.valueOf(filter.updatedTo()));
+        }
+        if (filter.afterUpdatedAt() != null) {
+            Timestamp after = Timestamp.valueOf(filter.afterUpdatedAt());
+            conditions.add("(updated_at > ? OR (updated_at = ? AND id > ?))");
+            args.add(after);
+            args.add(after);
+            args.add(filter.afterId());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY updated_at, id");
+
+        RowCallbackHandler handler = rs -> consumer.accept(new ExportRow(rs.getLong(1), rs.getString(2),
+                rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getBoolean(6),
+                rs.getObject(7, Integer.class), toLocalDateTime(rs.getTimestamp(8)),
+                toLocalDateTime(rs.getTimestamp(9)), toLocalDateTime(rs.getTimestamp(10)),
+                toLocalDateTime(rs.getTimestamp(11))));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Pair rows with IDs from freshly reserved sequence blocks
+     */
+    private List<NumberedRow> number(List<ProgressRow> rows) {
+        IdBlocks ids = new IdBlocks(catalogJdbcRepository, "lesson_progress");
+        List<NumberedRow> numbered = new ArrayList<>(rows.size());
+        for (ProgressRow row : rows) {
+            numbered.add(new NumberedRow(ids.next(), row));
+        }
+        return numbered;
+    }
+
+    private void bindMerge(PreparedStatement ps, NumberedRow numbered) throws SQLException {
+        ProgressRow row = numbered.row();
+        ps.setLong(1, numbered.id());
+        ps.setString(2, row.userId());
+        ps.setLong(3, row.lessonId());
+        ps.setLong(4, row.moduleId());
+        ps.setLong(5, row.courseId());
+        ps.setBoolean(6, row.completed());
+        ps.setInt(7, row.completionPercentage());
+        ps.setTimestamp(8, Timestamp.valueOf(row.timestamp()));
+    }
+
+    private void bindUpdate(PreparedStatement ps, ProgressRow row) throws SQLException {
+        Timestamp now = Timestamp.valueOf(row.timestamp());
+        ps.setBoolean(1, row.completed());
+        ps.setInt(2, row.completionPercentage());
+        ps.setBoolean(3, row.completed());
+        ps.setTimestamp(4, now);
+        ps.setTimestamp(5, now);
+        ps.setLong(6, row.moduleId());
+        ps.setLong(7, row.courseId());
+        ps.setString(8, row.userId());
+        ps.setLong(9, row.lessonId());
+        ps.setTimestamp(10, now);
+    }
+
+    private void bindInsert(PreparedStatement ps, NumberedRow numbered) throws SQLException {
+        ProgressRow row = numbered.row();
+        Timestamp now = Timestamp.valueOf(row.timestamp());
+        ps.setLong(1, numbered.id());
+        ps.setString(2, row.userId());
+        ps.setLong(3, row.lessonId());
+        ps.setLong(4, row.moduleId());
+        ps.setLong(5, row.courseId());
+        ps.setBoolean(6, row.completed());
+        ps.setInt(7, row.completionPercentage());
+        ps.setTimestamp(8, now);
+        if (row.completed()) {
+            ps.setTimestamp(9, now);
+        } else {
+            ps.setNull(9, Types.TIMESTAMP);
+        }
+        ps.setTimestamp(10, now);
+        ps.setTimestamp(11, now);
+    }
+
+    /**
+     * Row to insert with the ID reserved for it
+     */
+    private record NumberedRow(long id, ProgressRow row) {
+    }
+
+    /**
+     * Resolved progress state for a single (userId, lessonId) pair, with the lesson's module and course
+     */
+    public record ProgressRow(String userId, Long lessonId, Long moduleId, Long courseId, boolean completed,
+                              int completionPercentage, LocalDateTime timestamp) {
+    }
+
+    /**
+     * Stored completion state of a user's progress on a lesson and its last update
+     */
+    public record ProgressState(String userId, Long lessonId, boolean completed, LocalDateTime updatedAt) {
+    }
+
+    /**
+     * Per-module aggregate of a user's progress over a course
+     */
+    public record ModuleProgressRow(String courseTitle, Long moduleId, String moduleTitle, int totalLessons,
+                                    int startedLessons, int completedLessons, LocalDateTime lastUpdated) {
+    }
+
+    /**
+     * Filter of a progress export: optional course, module and updated_at range [updatedFrom, updatedTo),
+     * and the (updated_at, id) watermark of the last row already received, if resuming
+     */
+    public record ExportFilter(Long courseId, Long moduleId, LocalDateTime updatedFrom, LocalDateTime updatedTo,
+                               LocalDateTime afterUpdatedAt, Long afterId) {
+    }
+
+    /**
+     * Lesson progress row as exported
+     */
+    public record ExportRow(long id, String userId, long lessonId, long moduleId, long courseId, boolean completed,
+                            Integer completionPercentage, LocalDateTime startedAt, LocalDateTime completedAt,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+}
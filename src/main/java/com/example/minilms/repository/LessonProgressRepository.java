@@ -1,7 +1,9 @@
 package com.example.minilms.repository;
 
+import com.example.minilms.dto.projection.LessonCompletionState;
 import com.example.minilms.entity.LessonProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -30,7 +32,7 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
      */
     @Query("SELECT lp FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.id = :moduleId)")
+            "AND lp.moduleId = :moduleId")
     List<LessonProgress> findByUserIdAndModuleId(@Param("userId") String userId, @Param("moduleId") Long moduleId);
 
     /**
@@ -38,16 +40,26 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
      */
     @Query("SELECT lp FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.course.id = :courseId)")
+            "AND lp.courseId = :courseId")
     List<LessonProgress> findByUserIdAndCourseId(@Param("userId") String userId, @Param("courseId") Long courseId);
 
+    /**
+     * Find the completion state of every lesson a user started within a specific course
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.LessonCompletionState(lp.lessonId, lp.completed, lp.updatedAt) " +
+            "FROM LessonProgress lp " +
+            "WHERE lp.userId = :userId " +
+            "AND lp.courseId = :courseId")
+    List<LessonCompletionState> findCompletionStatesByUserIdAndCourseId(@Param("userId") String userId,
+                                                                        @Param("courseId") Long courseId);
+
     /**
      * Count completed lessons for a user in a specific module
      */
     @Query("SELECT COUNT(lp) FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
             "AND lp.completed = true " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.id = :moduleId)")
+            "AND lp.moduleId = :moduleId")
     Long countCompletedLessonsByUserIdAndModuleId(@Param("userId") String userId, @Param("moduleId") Long moduleId);
 
     /**
@@ -56,7 +68,7 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
     @Query("SELECT COUNT(lp) FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
             "AND lp.completed = true " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.course.id = :courseId)")
+            "AND lp.courseId = :courseId")
     Long countCompletedLessonsByUserIdAndCourseId(@Param("userId") String userId, @Param("courseId") Long courseId);
 
     /**
@@ -68,7 +80,7 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
             "AVG(lp.completionPercentage) as averageProgress) " +
             "FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.id = :moduleId)")
+            "AND lp.moduleId = :moduleId")
     Object[] getProgressStatsByUserIdAndModuleId(@Param("userId") String userId, @Param("moduleId") Long moduleId);
 
     /**
@@ -80,7 +92,7 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
             "AVG(lp.completionPercentage) as averageProgress) " +
             "FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.course.id = :courseId)")
+            "AND lp.courseId = :courseId")
     Object[] getProgressStatsByUserIdAndCourseId(@Param("userId") String userId, @Param("courseId") Long courseId);
 
     /**
@@ -88,6 +100,27 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
      */
     @Query("SELECT COUNT(lp) > 0 FROM LessonProgress lp " +
             "WHERE lp.userId = :userId " +
-            "AND lp.lessonId IN (SELECT l.id FROM Lesson l WHERE l.module.course.id = :courseId)")
+            "AND lp.courseId = :courseId")
     boolean hasUserStartedCourse(@Param("userId") String userId, @Param("courseId") Long courseId);
-}
\ No newline at end of file
+
+    /**
+     * Delete all progress records of a lesson
+     */
+    @Modifying
+    @Query("DELETE FROM LessonProgress lp WHERE lp.lessonId = :lessonId")
+    int deleteByLessonId(@Param("lessonId") Long lessonId);
+
+    /**
+     * Delete all progress records within a module of a course
+     */
+    @Modifying
+    @Query("DELETE FROM LessonProgress lp WHERE lp.courseId = :courseId AND lp.moduleId = :moduleId")
+    int deleteByCourseIdAndModuleId(@Param("courseId") Long courseId, @Param("moduleId") Long moduleId);
+
+    /**
+     * Delete all progress records within a course
+     */
+    @Modifying
+    @Query("DELETE FROM LessonProgress lp WHERE lp.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,13 +1,17 @@
 package com.example.minilms.repository;
 
+import com.example.minilms.dto.projection.LessonLocation;
 import com.example.minilms.entity.Lesson;
 import com.example.minilms.entity.LessonType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Lesson entity operations
@@ -20,6 +24,21 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      */
     List<Lesson> findByModuleIdOrderByOrderIndexAscIdAsc(Long moduleId);
 
+    /**
+     * Keyset page of a module's lessons ordered by (orderIndex, ID), starting after the given position,
+     * optionally restricted to one lesson type
+     */
+    @Query("SELECT l FROM Lesson l " +
+            "WHERE l.module.id = :moduleId " +
+            "AND (:type IS NULL OR l.type = :type) " +
+            "AND (l.orderIndex > :afterOrderIndex OR (l.orderIndex = :afterOrderIndex AND l.id > :afterId)) " +
+            "ORDER BY l.orderIndex ASC, l.id ASC")
+    List<Lesson> findPageByModuleId(@Param("moduleId") Long moduleId,
+                                    @Param("type") LessonType type,
+                                    @Param("afterOrderIndex") Integer afterOrderIndex,
+                                    @Param("afterId") Long afterId,
+                                    Limit limit);
+
     /**
      * Find lessons by module ID and type
      */
@@ -39,6 +58,22 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
             "WHERE l.module.id = :moduleId")
     List<Long> findLessonIdsByModuleId(@Param("moduleId") Long moduleId);
 
+    /**
+     * Find the module and course a lesson belongs to
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.LessonLocation(l.id, m.id, m.course.id) " +
+            "FROM Lesson l JOIN l.module m " +
+            "WHERE l.id = :lessonId")
+    Optional<LessonLocation> findLessonLocation(@Param("lessonId") Long lessonId);
+
+    /**
+     * Find the module and course for each of the given lessons
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.LessonLocation(l.id, m.id, m.course.id) " +
+            "FROM Lesson l JOIN l.module m " +
+            "WHERE l.id IN :ids")
+    List<LessonLocation> findLessonLocations(@Param("ids") Collection<Long> ids);
+
     /**
      * Check if lesson belongs to a specific module
      */
@@ -1,6 +1,10 @@
 package com.example.minilms.repository;
 
+import com.example.minilms.dto.projection.ModuleListItem;
+import com.example.minilms.dto.projection.ModuleOutline;
+import com.example.minilms.dto.projection.ModuleSummary;
 import com.example.minilms.entity.Module;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,9 +20,44 @@ import java.util.Optional;
 public interface ModuleRepository extends JpaRepository<Module, Long> {
 
     /**
-     * Find all modules belonging to a specific course
+     * Keyset page of a course's module summaries ordered by ID, starting after the given ID
      */
-    List<Module> findByCourseIdOrderByIdAsc(Long courseId);
+    @Query("SELECT new com.example.minilms.dto.projection.ModuleSummary(m.id, m.course.id, m.title, m.thumbnailUrl) " +
+            "FROM Module m " +
+            "WHERE m.course.id = :courseId AND m.id > :afterId " +
+            "ORDER BY m.id ASC")
+    List<ModuleSummary> findSummariesByCourseIdAfter(@Param("courseId") Long courseId,
+                                                     @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Keyset page of a course's module list items ordered by ID, starting after the given ID
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.ModuleListItem(m.id, m.course.id, m.title, m.summary, " +
+            "m.thumbnailUrl, m.coverImageUrl, m.createdAt, m.updatedAt, " +
+            "(SELECT COUNT(l) FROM Lesson l WHERE l.module = m)) " +
+            "FROM Module m " +
+            "WHERE m.course.id = :courseId AND m.id > :afterId " +
+            "ORDER BY m.id ASC")
+    List<ModuleListItem> findListItemsByCourseIdAfter(@Param("courseId") Long courseId,
+                                                      @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Find module list items of every course with an ID in the given range, ordered by course and module ID
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.ModuleListItem(m.id, m.course.id, m.title, m.summary, " +
+            "m.thumbnailUrl, m.coverImageUrl, m.createdAt, m.updatedAt, " +
+            "(SELECT COUNT(l) FROM Lesson l WHERE l.module = m)) " +
+            "FROM Module m " +
+            "WHERE m.course.id BETWEEN :firstCourseId AND :lastCourseId " +
+            "ORDER BY m.course.id ASC, m.id ASC")
+    List<ModuleListItem> findListItemsByCourseIdBetween(@Param("firstCourseId") Long firstCourseId,
+                                                        @Param("lastCourseId") Long lastCourseId);
+
+    /**
+     * Find the ID of the course a module belongs to
+     */
+    @Query("SELECT m.course.id FROM Module m WHERE m.id = :id")
+    Optional<Long> findCourseIdById(@Param("id") Long id);
 
     /**
      * Find module by ID with lessons eagerly loaded
@@ -46,6 +85,16 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
             "WHERE m.id = :moduleId")
     Long countLessonsByModuleId(@Param("moduleId") Long moduleId);
 
+    /**
+     * Find outlines (id, title, lesson count) of the modules in a course that contain lessons
+     */
+    @Query("SELECT new com.example.minilms.dto.projection.ModuleOutline(m.id, m.title, COUNT(l)) " +
+            "FROM Module m JOIN m.lessons l " +
+            "WHERE m.course.id = :courseId " +
+            "GROUP BY m.id, m.title " +
+            "ORDER BY m.id ASC")
+    List<ModuleOutline> findNonEmptyOutlinesByCourseId(@Param("courseId") Long courseId);
+
     /**
      * Check if module belongs to a specific course
      */
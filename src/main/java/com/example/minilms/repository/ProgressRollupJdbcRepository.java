@@ -0,0 +1,383 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.entity.UserModuleProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC-based repository for set-based maintenance of the progress rollup tables
+ *
+ * All statements aggregate directly from lesson_progress so that rollups can be
+ * rebuilt or corrected without loading entities into memory. Completion bitsets are
+ * only ever dropped here; they are rebuilt from lesson_progress on the next write.
+ * Progress writes change the counters in place with relative updates, while holding
+ * the lock of the user's course rollup row. When rollups are not maintained (another course
+ * progress engine is configured) that row only serves as the lock, and is marked by a
+ * {@link #LOCK_ONLY_MODULES} module total.
+ */
+@Repository
+public class ProgressRollupJdbcRepository {
+
+    /**
+     * Module total of a course rollup row that only serves as the lock of its user and course
+     */
+    public static final int LOCK_ONLY_MODULES = -1;
+
+    private static final String MODULE_AGGREGATE_SELECT =
+            "SELECT lp.user_id, lp.module_id, lp.course_id, t.total_lessons, " +
+            "COUNT(*), " +
+            "SUM(CASE WHEN lp.completed THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN lp.completed THEN 1 ELSE 0 END) * 100.0 / t.total_lessons, " +
+            "MAX(lp.updated_at) " +
+            "FROM lesson_progress lp " +
+            "JOIN (SELECT l.module_id, COUNT(*) AS total_lessons FROM lessons l " +
+            "JOIN modules m ON m.id = l.module_id WHERE m.course_id = ? GROUP BY l.module_id) t " +
+            "ON t.module_id = lp.module_id " +
+            "WHERE lp.course_id = ? ";
+
+    private static final String MODULE_AGGREGATE_GROUP_BY =
+            "GROUP BY lp.user_id, lp.module_id, lp.course_id, t.total_lessons";
+
+    private static final String INSERT_MODULE_ROLLUPS =
+            "INSERT INTO user_module_progress " +
+            "(user_id, module_id, course_id, total_lessons, started_lessons, completed_lessons, " +
+            "progress_percentage, last_updated) ";
+
+    private static final String INSERT_COURSE_ROLLUPS =
+            "INSERT INTO user_course_progress " +
+            "(user_id, course_id, total_lessons, total_modules, started_lessons, completed_lessons, " +
+            "progress_percentage, last_updated) " +
+            "SELECT user_id, course_id, ?, ?, SUM(started_lessons), SUM(completed_lessons), " +
+            "SUM(progress_percentage) / ?, MAX(last_updated) " +
+            "FROM user_module_progress WHERE course_id = ? ";
+
+    private static final String REFRESH_COURSE_ROLLUPS =
+            "UPDATE user_course_progress c SET " +
+            "total_lessons = ?, " +
+            "total_modules = ?, " +
+            "started_lessons = COALESCE((SELECT SUM(m.started_lessons) FROM user_module_progress m " +
+            "WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0), " +
+            "completed_lessons = COALESCE((SELECT SUM(m.completed_lessons) FROM user_module_progress m " +
+            "WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0), " +
+            "progress_percentage = CASE WHEN ? > 0 THEN COALESCE((SELECT SUM(m.progress_percentage) " +
+            "FROM user_module_progress m WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0) / ? " +
+            "ELSE 0 END " +
+            "WHERE c.course_id = ?";
+
+    private static final String INSERT_EMPTY_COURSE_ROLLUP =
+            "INSERT INTO user_course_progress " +
+            "(user_id, course_id, total_lessons, total_modules, started_lessons, completed_lessons, " +
+            "progress_percentage, last_updated) " +
+            "VALUES (?, ?, 0, ?, 0, 0, 0, ?)";
+
+    private static final String BUILD_COURSE_ROLLUP =
+            "UPDATE user_course_progress c SET " +
+            "total_lessons = ?, " +
+            "total_modules = ?, " +
+            "started_lessons = COALESCE((SELECT SUM(m.started_lessons) FROM user_module_progress m " +
+            "WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0), " +
+            "completed_lessons = COALESCE((SELECT SUM(m.completed_lessons) FROM user_module_progress m " +
+            "WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0), " +
+            "progress_percentage = CASE WHEN ? > 0 THEN COALESCE((SELECT SUM(m.progress_percentage) " +
+            "FROM user_module_progress m WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0) / ? " +
+            "ELSE 0 END, " +
+            "last_updated = COALESCE((SELECT MAX(m.last_updated) FROM user_module_progress m " +
+            "WHERE m.user_id = c.user_id AND m.course_id = c.course_id), c.last_updated) " +
+            "WHERE c.user_id = ? AND c.course_id = ?";
+
+    private static final String ADD_TO_MODULE_ROLLUP =
+            "UPDATE user_module_progress SET " +
+            "started_lessons = started_lessons + ?, " +
+            "completed_lessons = completed_lessons + ?, " +
+            "progress_percentage = CASE WHEN total_lessons > 0 " +
+            "THEN (completed_lessons + ?) * 100.0 / total_lessons ELSE 0 END, " +
+            "last_updated = CASE WHEN last_updated < ? THEN ? ELSE last_updated END " +
+            "WHERE user_id = ? AND module_id = ?";
+
+    private static final String INSERT_MODULE_ROLLUP =
+            INSERT_MODULE_ROLLUPS +
+            "SELECT ?, ?, ?, COUNT(*), ?, ?, CASE WHEN COUNT(*) > 0 THEN ? * 100.0 / COUNT(*) ELSE 0 END, ? " +
+            "FROM lessons WHERE module_id = ?";
+
+    private static final String ADD_TO_COURSE_ROLLUP =
+            "UPDATE user_course_progress c SET " +
+            "started_lessons = started_lessons + ?, " +
+            "completed_lessons = completed_lessons + ?, " +
+            "progress_percentage = CASE WHEN total_modules > 0 THEN COALESCE((SELECT SUM(m.progress_percentage) " +
+            "FROM user_module_progress m WHERE m.user_id = c.user_id AND m.course_id = c.course_id), 0) " +
+            "/ total_modules ELSE 0 END, " +
+            "last_updated = CASE WHEN last_updated < ? THEN ? ELSE last_updated END " +
+            "WHERE c.user_id = ? AND c.course_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertEmptyCourseRollupSql;
+
+    @Autowired
+    public ProgressRollupJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        // A failed statement aborts a PostgreSQL transaction, so the conflict must not be raised there
+        this.insertEmptyCourseRollupSql = "PostgreSQL".equalsIgnoreCase(product)
+                ? INSERT_EMPTY_COURSE_ROLLUP + " ON CONFLICT (course_id, user_id) DO NOTHING"
+                : INSERT_EMPTY_COURSE_ROLLUP;
+    }
+
+    /**
+     * Insert an empty course rollup row for a user unless one exists, waiting for a concurrent insert of
+     * the same row to commit or roll back. The inserted row stays locked until the transaction ends.
+     * Meant for rows just found missing by {@link #lockCourseRollup(String, Long)}: outside PostgreSQL an
+     * existing row is reported by a duplicate key exception, which only that race should raise.
+     *
+     * @param lockOnly mark the row as serving only as a lock, for when rollups are not maintained
+     * @return true if the row was inserted, false if it already existed
+     */
+    public boolean insertEmptyCourseRollup(String userId, Long courseId, LocalDateTime now, boolean lockOnly) {
+        try {
+            return jdbcTemplate.update(insertEmptyCourseRollupSql, userId, courseId,
+                    lockOnly ? LOCK_ONLY_MODULES : 0, Timestamp.valueOf(now)) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lock a user's course rollup row until the end of the transaction
+     */
+    public CourseRollupRow lockCourseRollup(String userId, Long courseId) {
+        List<Integer> totalModules = jdbcTemplate.queryForList(
+                "SELECT total_modules FROM user_course_progress WHERE user_id = ? AND course_id = ? FOR UPDATE",
+                Integer.class, userId, courseId);
+        if (totalModules.isEmpty()) {
+            return CourseRollupRow.MISSING;
+        }
+        return totalModules.get(0) == LOCK_ONLY_MODULES ? CourseRollupRow.LOCK_ONLY : CourseRollupRow.MATERIALIZED;
+    }
+
+    /**
+     * Fill a user's existing course rollup row, and replace their module rollups and completion bitsets
+     * of the course, from lesson_progress
+     */
+    public void buildUserCourse(Long courseId, String userId, int totalLessons, int totalModules) {
+        jdbcTemplate.update("DELETE FROM user_module_progress WHERE course_id = ? AND user_id = ?", courseId, userId);
+        jdbcTemplate.update("DELETE FROM user_course_completion WHERE course_id = ? AND user_id = ?", courseId, userId);
+        if (totalModules > 0) {
+            jdbcTemplate.update(INSERT_MODULE_ROLLUPS + MODULE_AGGREGATE_SELECT + "AND lp.user_id = ? " +
+                    MODULE_AGGREGATE_GROUP_BY, courseId, courseId, userId);
+        }
+        jdbcTemplate.update(BUILD_COURSE_ROLLUP, totalLessons, totalModules, totalModules, (double) totalModules,
+                userId, courseId);
+    }
+
+    /**
+     * Add started and completed lesson counts to module rollups, creating missing ones, and to the
+     * course rollups containing them, which must exist
+     */
+    public void applyDeltas(List<RollupDelta> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Map<List<Object>, RollupDelta> byModule = new LinkedHashMap<>();
+        for (RollupDelta change : changes) {
+            byModule.merge(List.of(change.userId(), change.moduleId()), change, RollupDelta::plus);
+        }
+        List<RollupDelta> deltas = new ArrayList<>(byModule.values());
+
+        int[] updated = jdbcTemplate.batchUpdate(ADD_TO_MODULE_ROLLUP, deltas, deltas.size(), (ps, delta) -> {
+            Timestamp updatedAt = Timestamp.valueOf(delta.updatedAt());
+            ps.setInt(1, delta.startedDelta());
+            ps.setInt(2, delta.completedDelta());
+            ps.setInt(3, delta.completedDelta());
+            ps.setTimestamp(4, updatedAt);
+            ps.setTimestamp(5, updatedAt);
+            ps.setString(6, delta.userId());
+            ps.setLong(7, delta.moduleId());
+        })[0];
+
+        List<RollupDelta> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_MODULE_ROLLUP, missing, missing.size(), (ps, delta) -> {
+                Timestamp updatedAt = Timestamp.valueOf(delta.updatedAt());
+                ps.setString(1, delta.userId());
+                ps.setLong(2, delta.moduleId());
+                ps.setLong(3, delta.courseId());
+                ps.setInt(4, delta.startedDelta());
+                ps.setInt(5, delta.completedDelta());
+                ps.setInt(6, delta.completedDelta());
+                ps.setTimestamp(7, updatedAt);
+                ps.setLong(8, delta.moduleId());
+            });
+        }
+
+        Map<List<Object>, RollupDelta> byCourse = new LinkedHashMap<>();
+        for (RollupDelta delta : deltas) {
+            byCourse.merge(List.of(delta.userId(), delta.courseId()), delta, RollupDelta::plus);
+        }
+        jdbcTemplate.batchUpdate(ADD_TO_COURSE_ROLLUP, new ArrayList<>(byCourse.values()), byCourse.size(),
+                (ps, delta) -> {
+                    Timestamp updatedAt = Timestamp.valueOf(delta.updatedAt());
+                    ps.setInt(1, delta.startedDelta());
+                    ps.setInt(2, delta.completedDelta());
+                    ps.setTimestamp(3, updatedAt);
+                    ps.setTimestamp(4, updatedAt);
+                    ps.setString(5, delta.userId());
+                    ps.setLong(6, delta.courseId());
+                });
+    }
+
+    /**
+     * Compute a user's module rollups for a course from lesson_progress without persisting them
+     */
+    public List<UserModuleProgress> aggregateUserModules(String userId, Long courseId) {
+        return jdbcTemplate.query(MODULE_AGGREGATE_SELECT + "AND lp.user_id = ? " + MODULE_AGGREGATE_GROUP_BY,
+                (rs, rowNum) -> {
+                    UserModuleProgress rollup = new UserModuleProgress(
+                            rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getInt(4));
+                    rollup.setStartedLessons(rs.getInt(5));
+                    rollup.setCompletedLessons(rs.getInt(6));
+                    rollup.setProgressPercentage(rs.getDouble(7));
+                    rollup.setLastUpdated(rs.getTimestamp(8).toLocalDateTime());
+                    return rollup;
+                },
+                courseId, courseId, userId);
+    }
+
+    /**
+     * Rebuild the rollups of one user (or of every user when userId is null) for a course
+     *
+     * @return number of course rollup rows written
+     */
+    public int rebuild(Long courseId, String userId, int totalLessons, int totalModules) {
+        String userFilter = userId != null ? "AND user_id = ? " : "";
+        Object[] deleteArgs = userId != null ? new Object[]{courseId, userId} : new Object[]{courseId};
+
+        jdbcTemplate.update("DELETE FROM user_course_progress WHERE course_id = ? " + userFilter, deleteArgs);
+        jdbcTemplate.update("DELETE FROM user_module_progress WHERE course_id = ? " + userFilter, deleteArgs);
+        jdbcTemplate.update("DELETE FROM user_course_completion WHERE course_id = ? " + userFilter, deleteArgs);
+
+        if (totalModules == 0) {
+            return 0;
+        }
+
+        List<Object> moduleArgs = new ArrayList<>(List.of(courseId, courseId));
+        String moduleUserFilter = "";
+        if (userId != null) {
+            moduleUserFilter = "AND lp.user_id = ? ";
+            moduleArgs.add(userId);
+        }
+        jdbcTemplate.update(INSERT_MODULE_ROLLUPS + MODULE_AGGREGATE_SELECT + moduleUserFilter + MODULE_AGGREGATE_GROUP_BY,
+                moduleArgs.toArray());
+
+        List<Object> courseArgs = new ArrayList<>(List.of(totalLessons, totalModules, (double) totalModules, courseId));
+        if (userId != null) {
+            courseArgs.add(userId);
+        }
+        return jdbcTemplate.update(INSERT_COURSE_ROLLUPS + userFilter + "GROUP BY user_id, course_id",
+                courseArgs.toArray());
+    }
+
+    /**
+     * Remove a deleted lesson's contribution from the module rollups of every user that had progress on it
+     */
+    public void subtractLessonProgress(Long moduleId, Long lessonId) {
+        jdbcTemplate.update("UPDATE user_module_progress SET started_lessons = started_lessons - 1 " +
+                "WHERE module_id = ? AND user_id IN (SELECT user_id FROM lesson_progress WHERE lesson_id = ?)",
+                moduleId, lessonId);
+        jdbcTemplate.update("UPDATE user_module_progress SET completed_lessons = completed_lessons - 1 " +
+                "WHERE module_id = ? AND user_id IN " +
+                "(SELECT user_id FROM lesson_progress WHERE lesson_id = ? AND completed = TRUE)",
+                moduleId, lessonId);
+    }
+
+    /**
+     * Apply a new lesson total to every user's rollup of a module, dropping rollups that became empty
+     */
+    public void refreshModuleTotals(Long moduleId, int totalLessons) {
+        jdbcTemplate.update("UPDATE user_module_progress SET total_lessons = ?, " +
+                "progress_percentage = CASE WHEN ? > 0 THEN completed_lessons * 100.0 / ? ELSE 0 END " +
+                "WHERE module_id = ?",
+                totalLessons, totalLessons, totalLessons, moduleId);
+        jdbcTemplate.update("DELETE FROM user_module_progress " +
+                "WHERE module_id = ? AND (total_lessons = 0 OR started_lessons <= 0)", moduleId);
+    }
+
+    /**
+     * Delete every user's rollup of a module
+     */
+    public void deleteModuleRollups(Long moduleId) {
+        jdbcTemplate.update("DELETE FROM user_module_progress WHERE module_id = ?", moduleId);
+    }
+
+    /**
+     * Recompute every user's course rollup of a course from their module rollups
+     */
+    public void refreshCourseRollups(Long courseId, int totalLessons, int totalModules) {
+        jdbcTemplate.update(REFRESH_COURSE_ROLLUPS,
+                totalLessons, totalModules, totalModules, (double) totalModules, courseId);
+    }
+
+    /**
+     * Delete every user's module rollups and mark every course rollup row as lock only,
+     * for when rollups stop being maintained
+     */
+    public void clearRollups() {
+        jdbcTemplate.update("DELETE FROM user_module_progress");
+        jdbcTemplate.update("UPDATE user_course_progress SET total_lessons = 0, total_modules = ?, " +
+                "started_lessons = 0, completed_lessons = 0, progress_percentage = 0", LOCK_ONLY_MODULES);
+    }
+
+    /**
+     * Delete every user's completion bitsets, for when they stop being maintained
+     */
+    public void clearCompletionBitsets() {
+        jdbcTemplate.update("DELETE FROM user_course_completion");
+    }
+
+    /**
+     * Delete every rollup belonging to a course
+     */
+    public void deleteCourseRollups(Long courseId) {
+        jdbcTemplate.update("DELETE FROM user_course_progress WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM user_module_progress WHERE course_id = ?", courseId);
+        jdbcTemplate.update("DELETE FROM user_course_completion WHERE course_id = ?", courseId);
+    }
+
+    /**
+     * Change of a user's started and completed lesson counts in a module by progress written at updatedAt
+     */
+    public record RollupDelta(String userId, Long courseId, Long moduleId, int startedDelta, int completedDelta,
+                              LocalDateTime updatedAt) {
+
+        RollupDelta plus(RollupDelta other) {
+            return new RollupDelta(userId, courseId, moduleId, startedDelta + other.startedDelta,
+                    completedDelta + other.completedDelta,
+                    updatedAt.isAfter(other.updatedAt) ? updatedAt : other.updatedAt);
+        }
+    }
+
+    /**
+     * State of a user's course rollup row
+     */
+    public enum CourseRollupRow {
+        MISSING,
+        LOCK_ONLY,     // serves only as the lock of its user and course
+        MATERIALIZED   // holds rollups kept current by progress writes
+    }
+}
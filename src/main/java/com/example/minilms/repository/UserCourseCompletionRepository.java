@@ -0,0 +1,12 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.entity.UserCourseCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for UserCourseCompletion index operations
+ */
+@Repository
+public interface UserCourseCompletionRepository extends JpaRepository<UserCourseCompletion, UserCourseCompletion.Key> {
+}
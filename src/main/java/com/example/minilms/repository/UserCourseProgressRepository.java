@@ -0,0 +1,12 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.entity.UserCourseProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for UserCourseProgress rollup operations
+ */
+@Repository
+public interface UserCourseProgressRepository extends JpaRepository<UserCourseProgress, UserCourseProgress.Key> {
+}
@@ -0,0 +1,19 @@
+package com.example.minilms.repository;
+
+import com.example.minilms.entity.UserModuleProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for UserModuleProgress rollup operations
+ */
+@Repository
+public interface UserModuleProgressRepository extends JpaRepository<UserModuleProgress, UserModuleProgress.Key> {
+
+    /**
+     * Find all module rollups for a user within a course
+     */
+    List<UserModuleProgress> findByUserIdAndCourseId(String userId, Long courseId);
+}
@@ -0,0 +1,203 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CompletionLayout;
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.LessonCompletionState;
+import com.example.minilms.entity.UserCourseCompletion;
+import com.example.minilms.repository.LessonProgressRepository;
+import com.example.minilms.repository.ProgressRollupJdbcRepository;
+import com.example.minilms.repository.UserCourseCompletionRepository;
+import com.example.minilms.service.ProgressService.CourseProgressEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service maintaining the per-user, per-course completion bitsets
+ *
+ * Progress writes set the lessons' bits in place, under the lock of the user's course rollup.
+ * Rows written for an outdated lesson layout are ignored, and rows are dropped with the other
+ * rollups by rebuilds; in both cases reads rebuild the bitsets in memory from lesson_progress
+ * until the next write for that user and course persists them again.
+ *
+ * Bitsets are only persisted when the {@link CourseProgressEngine#BITSET} engine reads them. With another
+ * engine writes leave them alone, every read builds them from lesson_progress, and the rows left by an
+ * earlier run are cleared at startup.
+ */
+@Service
+@Transactional
+public class CompletionIndexService {
+
+    private final UserCourseCompletionRepository completionRepository;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final CourseStructureCache courseStructureCache;
+    private final ProgressRollupJdbcRepository rollupJdbcRepository;
+    private final boolean persisted;
+
+    @Autowired
+    public CompletionIndexService(UserCourseCompletionRepository completionRepository,
+                                  LessonProgressRepository lessonProgressRepository,
+                                  CourseStructureCache courseStructureCache,
+                                  ProgressRollupJdbcRepository rollupJdbcRepository,
+                                  @Value("${minilms.progress.course-engine:ROLLUP}") CourseProgressEngine courseProgressEngine) {
+        this.completionRepository = completionRepository;
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.courseStructureCache = courseStructureCache;
+        this.rollupJdbcRepository = rollupJdbcRepository;
+        this.persisted = courseProgressEngine == CourseProgressEngine.BITSET;
+    }
+
+    /**
+     * Clear bitsets left by a run with the bitset engine when another engine is configured,
+     * since writes no longer keep them current
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void clearUnmaintainedBitsets() {
+        if (!persisted) {
+            rollupJdbcRepository.clearCompletionBitsets();
+        }
+    }
+
+    /**
+     * Record a single lesson progress change in the user's completion index.
+     * The lesson progress row must already be flushed.
+     */
+    public void recordProgress(String userId, Long lessonId, boolean completed, LocalDateTime updatedAt) {
+        if (!persisted) {
+            return;
+        }
+        courseStructureCache.findLessonLocation(lessonId).ifPresent(location ->
+                recordProgress(userId, location.courseId(), Map.of(lessonId, completed), updatedAt));
+    }
+
+    /**
+     * Record lesson progress changes of a user within one course in their completion index.
+     * The lesson progress rows must already be written.
+     */
+    public void recordProgress(String userId, Long courseId, Map<Long, Boolean> completedByLesson,
+                               LocalDateTime updatedAt) {
+        if (!persisted) {
+            return;
+        }
+        Optional<CourseStructure> course = courseStructureCache.getCourse(courseId);
+        if (course.isEmpty()) {
+            return;
+        }
+
+        UserCourseCompletion.Key key = new UserCourseCompletion.Key(userId, courseId);
+        CompletionLayout layout = course.get().completionLayout();
+        if (!layout.lessonPositions().keySet().containsAll(completedByLesson.keySet())) {
+            // Structure snapshot predates a lesson; the next read rebuilds from lesson_progress
+            completionRepository.deleteById(key);
+            return;
+        }
+
+        Optional<UserCourseCompletion> existing = completionRepository.findById(key);
+        if (existing.isEmpty() || existing.get().getLayoutFingerprint() != layout.fingerprint()) {
+            CompletionIndex index = buildIndex(userId, course.get());
+            UserCourseCompletion row = existing.orElseGet(() -> new UserCourseCompletion(userId, courseId, 0));
+            row.setLayoutFingerprint(layout.fingerprint());
+            row.setStarted(index.started());
+            row.setCompleted(index.completed());
+            row.setLastUpdated(index.lastUpdated());
+            completionRepository.save(row);
+            return;
+        }
+
+        UserCourseCompletion row = existing.get();
+        BitSet started = row.getStarted();
+        BitSet completedBits = row.getCompleted();
+        completedByLesson.forEach((lessonId, completed) -> {
+            int position = layout.lessonPositions().get(lessonId);
+            started.set(position);
+            completedBits.set(position, completed);
+        });
+        row.setStarted(started);
+        row.setCompleted(completedBits);
+        if (updatedAt != null && (row.getLastUpdated() == null || updatedAt.isAfter(row.getLastUpdated()))) {
+            row.setLastUpdated(updatedAt);
+        }
+        completionRepository.save(row);
+    }
+
+    /**
+     * Get a user's completion index for a course, rebuilding it in memory when it is missing or outdated
+     */
+    @Transactional(readOnly = true)
+    public CompletionIndex getIndex(String userId, CourseStructure course) {
+        if (!persisted) {
+            return buildIndex(userId, course);
+        }
+        CompletionLayout layout = course.completionLayout();
+        Optional<UserCourseCompletion> row = completionRepository.findById(
+                new UserCourseCompletion.Key(userId, course.id()));
+
+        if (row.isPresent() && row.get().getLayoutFingerprint() == layout.fingerprint()) {
+            return new CompletionIndex(layout, row.get().getStarted(), row.get().getCompleted(),
+                    row.get().getLastUpdated());
+        }
+        return buildIndex(userId, course);
+    }
+
+    private CompletionIndex buildIndex(String userId, CourseStructure course) {
+        CompletionLayout layout = course.completionLayout();
+        BitSet started = new BitSet(layout.size());
+        BitSet completed = new BitSet(layout.size());
+        LocalDateTime lastUpdated = null;
+
+        for (LessonCompletionState state : lessonProgressRepository.findCompletionStatesByUserIdAndCourseId(userId, course.id())) {
+            Integer position = layout.lessonPositions().get(state.lessonId());
+            if (position == null) {
+                continue;
+            }
+            started.set(position);
+            if (Boolean.TRUE.equals(state.completed())) {
+                completed.set(position);
+            }
+            if (state.updatedAt() != null && (lastUpdated == null || state.updatedAt().isAfter(lastUpdated))) {
+                lastUpdated = state.updatedAt();
+            }
+        }
+
+        return new CompletionIndex(layout, started, completed, lastUpdated);
+    }
+
+    /**
+     * A user's started and completed bitsets for a course, with counts answered by popcounts
+     */
+    public record CompletionIndex(CompletionLayout layout, BitSet started, BitSet completed, LocalDateTime lastUpdated) {
+
+        public int countStarted() {
+            return started.cardinality();
+        }
+
+        public int countCompleted() {
+            return completed.cardinality();
+        }
+
+        public int countStarted(CompletionLayout.Range range) {
+            return started.get(range.from(), range.to()).cardinality();
+        }
+
+        public int countCompleted(CompletionLayout.Range range) {
+            return completed.get(range.from(), range.to()).cardinality();
+        }
+
+        public boolean isCourseCompleted() {
+            return layout.size() > 0 && countCompleted() == layout.size();
+        }
+
+        public boolean isModuleCompleted(Long moduleId) {
+            CompletionLayout.Range range = layout.moduleRanges().get(moduleId);
+            return range != null && range.size() > 0 && countCompleted(range) == range.size();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.ContentVersion;
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service maintaining the aggregate content version of each course tree
+ *
+ * The version is a counter on the course row, incremented in the same transaction as any change
+ * to the course, its modules or its lessons (including deletions, which leave no updatedAt behind).
+ * Lookups answer from the cached course snapshot when there is one and otherwise read just the
+ * version columns, so conditional requests never load the tree.
+ */
+@Service
+public class ContentVersionService {
+
+    private final CourseRepository courseRepository;
+    private final CourseStructureCache courseStructureCache;
+
+    @Autowired
+    public ContentVersionService(CourseRepository courseRepository, CourseStructureCache courseStructureCache) {
+        this.courseRepository = courseRepository;
+        this.courseStructureCache = courseStructureCache;
+    }
+
+    /**
+     * Bump the content version of a changed course just before the changing transaction commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCourseContentChanged(CourseContentChangedEvent event) {
+        courseRepository.incrementContentVersion(event.courseId(), LocalDateTime.now());
+    }
+
+    /**
+     * Get the content version of a course
+     */
+    public Optional<ContentVersion> getCourseVersion(Long courseId) {
+        Optional<CourseStructure> cached = courseStructureCache.getCachedCourse(courseId);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().contentVersion());
+        }
+        return courseRepository.findContentVersionById(courseId);
+    }
+
+    /**
+     * Get the content version of the course that contains a module
+     */
+    public Optional<ContentVersion> getModuleVersion(Long moduleId) {
+        return courseStructureCache.findCourseIdOfModule(moduleId).flatMap(this::getCourseVersion);
+    }
+
+    /**
+     * Get the content version of the course that contains a lesson
+     */
+    public Optional<ContentVersion> getLessonVersion(Long lessonId) {
+        return courseStructureCache.findLessonLocation(lessonId)
+                .map(LessonLocation::courseId)
+                .flatMap(this::getCourseVersion);
+    }
+}
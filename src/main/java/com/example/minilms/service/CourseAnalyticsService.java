@@ -0,0 +1,185 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.CourseStructure.LessonNode;
+import com.example.minilms.dto.projection.CourseStructure.ModuleNode;
+import com.example.minilms.dto.response.CourseAnalyticsResponse;
+import com.example.minilms.dto.response.LessonAnalytics;
+import com.example.minilms.dto.response.ModuleAnalytics;
+import com.example.minilms.repository.LessonProgressJdbcRepository;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ExportFilter;
+import com.example.minilms.service.LessonProgressWrittenEvent.ProgressWrite;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Service answering course cohort analytics from in-memory {@link CourseCohortAggregate}s
+ *
+ * An aggregate is loaded from lesson_progress on the first read of a course and then kept current
+ * by every committed progress write ({@link LessonProgressWrittenEvent}), so reads only recompute the
+ * figures of lessons and modules written since the previous read. Aggregates are bounded by their total
+ * size and rebuilt when the course's lessons change (a different completion layout).
+ */
+@Service
+public class CourseAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseAnalyticsService.class);
+
+    private final CourseStructureCache courseStructureCache;
+    private final LessonProgressJdbcRepository lessonProgressJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    private final Cache<Long, CourseCohortAggregate> aggregates;
+
+    @Autowired
+    public CourseAnalyticsService(CourseStructureCache courseStructureCache,
+                                  LessonProgressJdbcRepository lessonProgressJdbcRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${minilms.analytics.max-bytes:268435456}") long maxBytes,
+                                  @Value("${minilms.analytics.fetch-size:1000}") int fetchSize) {
+        this.courseStructureCache = courseStructureCache;
+        this.lessonProgressJdbcRepository = lessonProgressJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+
+        this.aggregates = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long courseId, CourseCohortAggregate aggregate) ->
+                        (int) Math.min(Integer.MAX_VALUE, aggregate.sizeInBytes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, aggregates, "courseAnalytics");
+    }
+
+    /**
+     * Get the cohort analytics of a course
+     */
+    public CourseAnalyticsResponse getCourseAnalytics(Long courseId) {
+        CourseStructure course = courseStructureCache.getCourse(courseId)
+                .orElseThrow(() -> {
+                    aggregates.invalidate(courseId);
+                    return new RuntimeException("Course not found with id: " + courseId);
+                });
+
+        CourseCohortAggregate.Snapshot snapshot = getAggregate(course).snapshot();
+
+        CourseAnalyticsResponse response = new CourseAnalyticsResponse(course.id(), course.title());
+        response.setLearners(snapshot.learners());
+        List<ModuleAnalytics> modules = new ArrayList<>(course.modules().size());
+        for (ModuleNode module : course.modules()) {
+            ModuleAnalytics moduleAnalytics = new ModuleAnalytics(module.id(), module.title());
+            moduleAnalytics.setTotalLessons(module.lessons().size());
+            CourseCohortAggregate.Stats moduleStats = snapshot.modules().get(module.id());
+            if (moduleStats != null) {
+                moduleAnalytics.setLearnersStarted(moduleStats.started());
+                moduleAnalytics.setLearnersCompleted(moduleStats.completed());
+                moduleAnalytics.setAverageCompletionPercentage(moduleStats.averageCompletionPercentage());
+                moduleAnalytics.setMedianSecondsToComplete(moduleStats.medianSecondsToComplete());
+            }
+
+            List<LessonAnalytics> lessons = new ArrayList<>(module.lessons().size());
+            for (LessonNode lesson : module.lessons()) {
+                LessonAnalytics lessonAnalytics = new LessonAnalytics(lesson.id(), lesson.title());
+                CourseCohortAggregate.Stats lessonStats = snapshot.lessons().get(lesson.id());
+                if (lessonStats != null) {
+                    lessonAnalytics.setLearnersStarted(lessonStats.started());
+                    lessonAnalytics.setLearnersCompleted(lessonStats.completed());
+                    lessonAnalytics.setAverageCompletionPercentage(lessonStats.averageCompletionPercentage());
+                    lessonAnalytics.setMedianSecondsToComplete(lessonStats.medianSecondsToComplete());
+                }
+                lessons.add(lessonAnalytics);
+            }
+            moduleAnalytics.setLessons(lessons);
+            modules.add(moduleAnalytics);
+        }
+        response.setModules(modules);
+        return response;
+    }
+
+    /**
+     * Apply committed progress writes to the loaded aggregates of their courses
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLessonProgressWritten(LessonProgressWrittenEvent event) {
+        for (ProgressWrite write : event.writes()) {
+            CourseCohortAggregate aggregate = aggregates.getIfPresent(write.courseId());
+            if (aggregate == null) {
+                continue;
+            }
+            long size = aggregate.sizeInBytes();
+            if (!aggregate.apply(write)) {
+                // Written for a lesson the aggregate does not know; rebuilt on the next read
+                aggregates.asMap().remove(write.courseId(), aggregate);
+            } else if (aggregate.sizeInBytes() != size) {
+                // A new learner grew the columns; weigh the aggregate again so the size bound holds
+                aggregates.asMap().replace(write.courseId(), aggregate, aggregate);
+            }
+        }
+    }
+
+    /**
+     * Get the loaded aggregate of a course, loading it on the calling thread on a miss or when the
+     * course's lessons have changed, while other readers of the course wait for that load
+     */
+    private CourseCohortAggregate getAggregate(CourseStructure course) {
+        while (true) {
+            CourseCohortAggregate fresh = new CourseCohortAggregate(course.id(), course.completionLayout());
+            CourseCohortAggregate aggregate = aggregates.asMap().putIfAbsent(course.id(), fresh);
+            if (aggregate == null) {
+                load(fresh);
+                return fresh;
+            }
+            if (aggregate.layout().fingerprint() != course.completionLayout().fingerprint()) {
+                aggregates.asMap().remove(course.id(), aggregate);
+                continue;
+            }
+            try {
+                aggregate.awaitLoaded();
+                return aggregate;
+            } catch (CompletionException e) {
+                // The load failed and its aggregate was dropped; load again
+            }
+        }
+    }
+
+    private void load(CourseCohortAggregate aggregate) {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> lessonProgressJdbcRepository.forEachForExport(
+                    new ExportFilter(aggregate.courseId(), null, null, null, null, null), fetchSize, row -> {
+                        aggregate.load(new ProgressWrite(row.userId(), row.lessonId(), row.courseId(),
+                                row.completed(), row.completionPercentage() != null ? row.completionPercentage() : 0,
+                                row.startedAt(), row.completedAt(), row.updatedAt()));
+                        rows[0]++;
+                    }));
+        } catch (RuntimeException | Error e) {
+            aggregates.asMap().remove(aggregate.courseId(), aggregate);
+            aggregate.failLoad(e);
+            throw e;
+        }
+        aggregate.finishLoad();
+        // Weigh the aggregate again now that its columns are sized
+        aggregates.asMap().replace(aggregate.courseId(), aggregate, aggregate);
+        log.info("Loaded cohort analytics of course {} from {} progress rows in {} ms",
+                aggregate.courseId(), rows[0], (System.nanoTime() - start) / 1_000_000);
+    }
+}
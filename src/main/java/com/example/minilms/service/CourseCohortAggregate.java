@@ -0,0 +1,416 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CompletionLayout;
+import com.example.minilms.service.LessonProgressWrittenEvent.ProgressWrite;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented in-memory copy of the lesson progress of a course's learners
+ *
+ * Learners are numbered densely as they appear, and every lesson (at its {@link CompletionLayout} position)
+ * owns four parallel columns indexed by learner: a state byte (not started, or percentage plus a completed
+ * flag), the start and completion times in seconds and the cell's update time in microseconds. A write
+ * overwrites one cell and adjusts the lesson's started, completed and percentage totals, so those are always
+ * current; medians and module figures are recomputed by scanning the columns only for the lessons and
+ * modules written since they were last read.
+ *
+ * Writes set the new state of a cell rather than applying a difference, so a write seen both by the
+ * loading scan and as an event is harmless, and a write older than the cell's update time is ignored, so
+ * events delivered out of commit order cannot bring back an earlier state. Writes arriving while the
+ * aggregate loads are replayed after it.
+ *
+ * Writes hold the write lock; reads hold the read lock, so the scans recomputing figures run concurrently
+ * with other reads. The figures cached by a read are the same whichever reader computes them.
+ */
+final class CourseCohortAggregate {
+
+    private static final byte NOT_STARTED = 0;
+    private static final int COMPLETED_FLAG = 0x80;
+    private static final int NO_TIME = 0;
+    private static final long TIME_BASE = LocalDateTime.of(2000, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Bytes held per learner and lesson: state, start time, completion time and update time
+     */
+    static final int BYTES_PER_CELL = 1 + 4 + 4 + 8;
+
+    private final long courseId;
+    private final CompletionLayout layout;
+    private final Long[] moduleIdByPosition;
+    private final LessonColumn[] columns;
+    private final Map<String, Integer> learnerIndexes = new HashMap<>();
+    private final Map<Long, Stats> moduleStats = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+    private List<ProgressWrite> writesDuringLoad = new ArrayList<>();
+    private volatile int capacity = INITIAL_CAPACITY;
+
+    CourseCohortAggregate(long courseId, CompletionLayout layout) {
+        this.courseId = courseId;
+        this.layout = layout;
+        this.moduleIdByPosition = new Long[layout.size()];
+        layout.moduleRanges().forEach((moduleId, range) ->
+                Arrays.fill(moduleIdByPosition, range.from(), range.to(), moduleId));
+        this.columns = new LessonColumn[layout.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new LessonColumn(capacity);
+        }
+    }
+
+    long courseId() {
+        return courseId;
+    }
+
+    CompletionLayout layout() {
+        return layout;
+    }
+
+    /**
+     * Load a row read from lesson_progress; only called by the loading thread before {@link #finishLoad()}
+     */
+    void load(ProgressWrite write) {
+        lock.writeLock().lock();
+        try {
+            set(write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replay the writes received during the load and release the readers waiting for it
+     */
+    void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            for (ProgressWrite write : writesDuringLoad) {
+                set(write);
+            }
+            writesDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loaded.complete(null);
+    }
+
+    void failLoad(Throwable failure) {
+        loaded.completeExceptionally(failure);
+    }
+
+    /**
+     * Wait until the aggregate has been loaded, rethrowing the failure of the load
+     */
+    void awaitLoaded() {
+        loaded.join();
+    }
+
+    /**
+     * Record a committed write
+     *
+     * @return false if the lesson is not part of this aggregate's layout, which is then outdated
+     */
+    boolean apply(ProgressWrite write) {
+        if (!layout.lessonPositions().containsKey(write.lessonId())) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (writesDuringLoad != null) {
+                writesDuringLoad.add(write);
+            } else {
+                set(write);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate memory held by the columns, in bytes
+     */
+    long sizeInBytes() {
+        return (long) capacity * columns.length * BYTES_PER_CELL;
+    }
+
+    /**
+     * Figures of every lesson and module, recomputing those written since the last call
+     */
+    Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            Map<Long, Stats> lessons = new HashMap<>();
+            layout.lessonPositions().forEach((lessonId, position) ->
+                    lessons.put(lessonId, lessonStats(columns[position])));
+            Map<Long, Stats> modules = new HashMap<>();
+            layout.moduleRanges().forEach((moduleId, range) -> {
+                Stats stats = moduleStats.get(moduleId);
+                if (stats == null) {
+                    stats = computeModuleStats(range);
+                    moduleStats.put(moduleId, stats);
+                }
+                modules.put(moduleId, stats);
+            });
+            return new Snapshot(learnerIndexes.size(), lessons, modules);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void set(ProgressWrite write) {
+        Integer position = layout.lessonPositions().get(write.lessonId());
+        if (position == null) {
+            return;
+        }
+        int learner = learnerIndex(write.userId());
+        LessonColumn column = columns[position];
+
+        byte previous = column.states[learner];
+        long updatedAt = toMicros(write.updatedAt());
+        if (previous != NOT_STARTED && updatedAt < column.updatedAt[learner]) {
+            return;
+        }
+        if (previous != NOT_STARTED) {
+            column.started--;
+            column.percentageSum -= percentage(previous);
+            if (isCompleted(previous)) {
+                column.completed--;
+            }
+        }
+
+        int startedAt;
+        if (write.startedAt() != null) {
+            startedAt = toTime(write.startedAt());
+        } else {
+            startedAt = previous != NOT_STARTED ? column.startedAt[learner] : toTime(write.updatedAt());
+        }
+        int completedAt = NO_TIME;
+        if (write.completed()) {
+            if (write.completedAt() != null) {
+                completedAt = toTime(write.completedAt());
+            } else {
+                completedAt = isCompleted(previous) ? column.completedAt[learner] : toTime(write.updatedAt());
+            }
+        }
+        int percentage = Math.max(0, Math.min(100, write.completionPercentage()));
+
+        column.states[learner] = (byte) ((percentage + 1) | (write.completed() ? COMPLETED_FLAG : 0));
+        column.startedAt[learner] = startedAt;
+        column.completedAt[learner] = completedAt;
+        column.updatedAt[learner] = updatedAt;
+        column.started++;
+        column.percentageSum += percentage;
+        if (write.completed()) {
+            column.completed++;
+        }
+        column.stats = null;
+        moduleStats.remove(moduleIdByPosition[position]);
+    }
+
+    private int learnerIndex(String userId) {
+        Integer index = learnerIndexes.get(userId);
+        if (index != null) {
+            return index;
+        }
+        int learner = learnerIndexes.size();
+        if (learner == capacity) {
+            capacity *= 2;
+            for (LessonColumn column : columns) {
+                column.grow(capacity);
+            }
+        }
+        learnerIndexes.put(userId, learner);
+        return learner;
+    }
+
+    private Stats lessonStats(LessonColumn column) {
+        if (column.stats == null) {
+            int[] durations = new int[column.completed];
+            int count = 0;
+            int learners = learnerIndexes.size();
+            for (int learner = 0; learner < learners && count < durations.length; learner++) {
+                if (isCompleted(column.states[learner])) {
+                    durations[count++] = Math.max(0, column.completedAt[learner] - column.startedAt[learner]);
+                }
+            }
+            column.stats = new Stats(column.started, column.completed,
+                    column.started > 0 ? (double) column.percentageSum / column.started : 0.0,
+                    median(durations, count));
+        }
+        return column.stats;
+    }
+
+    /**
+     * Module figures over its learners: a learner started the module with any lesson and completed it with all,
+     * its percentage is the mean over the module's lessons (0 for lessons not started), and its time to complete
+     * runs from the earliest lesson start to the latest lesson completion
+     */
+    private Stats computeModuleStats(CompletionLayout.Range range) {
+        int learners = learnerIndexes.size();
+        int[] startedLessons = new int[learners];
+        int[] completedLessons = new int[learners];
+        int[] percentageSums = new int[learners];
+        int[] firstStart = new int[learners];
+        int[] lastCompletion = new int[learners];
+        Arrays.fill(firstStart, Integer.MAX_VALUE);
+
+        for (int position = range.from(); position < range.to(); position++) {
+            LessonColumn column = columns[position];
+            for (int learner = 0; learner < learners; learner++) {
+                byte state = column.states[learner];
+                if (state == NOT_STARTED) {
+                    continue;
+                }
+                startedLessons[learner]++;
+                percentageSums[learner] += percentage(state);
+                firstStart[learner] = Math.min(firstStart[learner], column.startedAt[learner]);
+                if (isCompleted(state)) {
+                    completedLessons[learner]++;
+                    lastCompletion[learner] = Math.max(lastCompletion[learner], column.completedAt[learner]);
+                }
+            }
+        }
+
+        int started = 0;
+        int completed = 0;
+        double percentageTotal = 0.0;
+        int[] durations = new int[learners];
+        for (int learner = 0; learner < learners; learner++) {
+            if (startedLessons[learner] == 0) {
+                continue;
+            }
+            started++;
+            percentageTotal += (double) percentageSums[learner] / range.size();
+            if (completedLessons[learner] == range.size()) {
+                durations[completed++] = Math.max(0, lastCompletion[learner] - firstStart[learner]);
+            }
+        }
+        return new Stats(started, completed, started > 0 ? percentageTotal / started : 0.0,
+                median(durations, completed));
+    }
+
+    /**
+     * Median of the first count values, reordering them; null when there are none
+     */
+    static Long median(int[] values, int count) {
+        if (count == 0) {
+            return null;
+        }
+        int middle = count / 2;
+        long upper = select(values, count, middle);
+        if (count % 2 == 1) {
+            return upper;
+        }
+        // After selection every value left of the middle is at most the middle value
+        long lower = values[0];
+        for (int i = 1; i < middle; i++) {
+            lower = Math.max(lower, values[i]);
+        }
+        return (lower + upper) / 2;
+    }
+
+    /**
+     * Quickselect: the k-th smallest of the first count values, leaving smaller values before k
+     */
+    private static int select(int[] values, int count, int k) {
+        int from = 0;
+        int to = count - 1;
+        while (from < to) {
+            int pivot = values[(from + to) >>> 1];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = values[i];
+                    values[i++] = values[j];
+                    values[j--] = swap;
+                }
+            }
+            if (k <= j) {
+                to = j;
+            } else if (k >= i) {
+                from = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+
+    private static boolean isCompleted(byte state) {
+        return (state & COMPLETED_FLAG) != 0;
+    }
+
+    private static int percentage(byte state) {
+        return (state & 0x7f) - 1;
+    }
+
+    private static int toTime(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC) - TIME_BASE;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, seconds));
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * Columns of one lesson, indexed by learner, with the lesson's running totals
+     */
+    private static final class LessonColumn {
+
+        private byte[] states;
+        private int[] startedAt;
+        private int[] completedAt;
+        private long[] updatedAt;
+        private int started;
+        private int completed;
+        private long percentageSum;
+        private volatile Stats stats;
+
+        LessonColumn(int capacity) {
+            this.states = new byte[capacity];
+            this.startedAt = new int[capacity];
+            this.completedAt = new int[capacity];
+            this.updatedAt = new long[capacity];
+        }
+
+        void grow(int capacity) {
+            states = Arrays.copyOf(states, capacity);
+            startedAt = Arrays.copyOf(startedAt, capacity);
+            completedAt = Arrays.copyOf(completedAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+        }
+    }
+
+    /**
+     * Learners who started and completed a lesson or module, their average completion percentage
+     * and the median seconds from start to completion
+     */
+    record Stats(int started, int completed, double averageCompletionPercentage, Long medianSecondsToComplete) {
+    }
+
+    /**
+     * Figures of all lessons and modules by ID, with the number of learners with any progress in the course
+     */
+    record Snapshot(int learners, Map<Long, Stats> lessons, Map<Long, Stats> modules) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.minilms.service;
+
+/**
+ * Event published when the structure or content of a course changes
+ * (course details, modules, lessons or lesson order)
+ */
+public record CourseContentChangedEvent(Long courseId) {
+}
@@ -0,0 +1,303 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.request.CourseImportItem;
+import com.example.minilms.dto.request.LessonCreateRequest;
+import com.example.minilms.dto.request.ModuleImportItem;
+import com.example.minilms.dto.response.CourseImportError;
+import com.example.minilms.dto.response.CourseImportResponse;
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonContent;
+import com.example.minilms.entity.LessonType;
+import com.example.minilms.repository.CatalogJdbcRepository;
+import com.example.minilms.repository.CatalogJdbcRepository.CourseRow;
+import com.example.minilms.repository.CatalogJdbcRepository.LessonRow;
+import com.example.minilms.repository.CatalogJdbcRepository.ModuleRow;
+import com.example.minilms.repository.IdBlocks;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for bulk imports of whole course trees
+ *
+ * The document is a JSON array of courses or newline-delimited JSON with one course per line, each
+ * course holding its modules and their lessons. It is read with the streaming parser one course at a
+ * time, so only the current course and the pending batch are held in memory. Each course is validated
+ * like the single-item create endpoints and imported whole or rejected with its errors. Valid courses
+ * get IDs from reserved sequence blocks and are written in JDBC batches, one transaction per batch.
+ */
+@Service
+public class CourseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseImportService.class);
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final LessonService lessonService;
+    private final LessonContentStore lessonContentStore;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    private final Counter importedCounter;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public CourseImportService(CatalogJdbcRepository catalogJdbcRepository,
+                               LessonService lessonService,
+                               LessonContentStore lessonContentStore,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${minilms.import.batch-size:2000}") int batchSize,
+                               @Value("${minilms.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.lessonService = lessonService;
+        this.lessonContentStore = lessonContentStore;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+
+        this.importedCounter = Counter.builder("minilms.import.courses")
+                .description("Number of courses processed by bulk imports")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("minilms.import.courses")
+                .description("Number of courses processed by bulk imports")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Import the courses of a JSON array or NDJSON document
+     */
+    public CourseImportResponse importCourses(InputStream input) throws IOException {
+        CourseImportResponse response = new CourseImportResponse();
+        ImportBatch batch = new ImportBatch();
+        long index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected a course object but found " + token);
+                }
+                JsonNode node = parser.readValueAsTree();
+                importRecord(node, index++, batch, response);
+                if (batch.rows >= batchSize) {
+                    flush(batch, response);
+                }
+                token = parser.nextToken();
+            }
+            flush(batch, response);
+            response.setCompleted(true);
+        } catch (JsonProcessingException e) {
+            // Courses read completely before the malformed part are still imported
+            flush(batch, response);
+            JsonLocation location = e.getLocation();
+            response.setFailure("Malformed document" +
+                    (location != null ? " at line " + location.getLineNr() + ", column " + location.getColumnNr() : "") +
+                    ": " + e.getOriginalMessage());
+        }
+        log.info("Course import {}: {} courses, {} modules and {} lessons imported, {} courses rejected",
+                response.isCompleted() ? "finished" : "aborted", response.getCoursesImported(),
+                response.getModulesImported(), response.getLessonsImported(), response.getCoursesRejected());
+        return response;
+    }
+
+    /**
+     * Validate one course record and add it to the batch, or reject it
+     */
+    private void importRecord(JsonNode node, long index, ImportBatch batch, CourseImportResponse response) {
+        String title = node.path("title").isTextual() ? node.path("title").asText() : null;
+        CourseImportItem item;
+        try {
+            item = objectMapper.treeToValue(node, CourseImportItem.class);
+        } catch (JsonProcessingException e) {
+            reject(response, index, title, List.of(describe(e)));
+            return;
+        }
+        List<String> messages = validate(item);
+        if (!messages.isEmpty()) {
+            reject(response, index, title, messages);
+            return;
+        }
+        batch.add(index, item);
+    }
+
+    /**
+     * Collect the constraint violations and invalid lesson contents of a course
+     */
+    private List<String> validate(CourseImportItem item) {
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<CourseImportItem> violation : validator.validate(item)) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        List<ModuleImportItem> modules = item.getModules() != null ? item.getModules() : List.of();
+        for (int m = 0; m < modules.size(); m++) {
+            ModuleImportItem module = modules.get(m);
+            if (module == null) {
+                messages.add("modules[" + m + "]: Module is required");
+                continue;
+            }
+            List<LessonCreateRequest> lessons = module.getLessons() != null ? module.getLessons() : List.of();
+            for (int l = 0; l < lessons.size(); l++) {
+                LessonCreateRequest lesson = lessons.get(l);
+                if (lesson == null) {
+                    messages.add("modules[" + m + "].lessons[" + l + "]: Lesson is required");
+                } else if (lesson.getType() != null
+                        && !lessonService.isContentValidForType(lesson.getContent(), lesson.getType())) {
+                    messages.add("modules[" + m + "].lessons[" + l + "].content: Invalid content for lesson type: " +
+                            lesson.getType());
+                }
+            }
+        }
+        messages.sort(null);
+        return messages;
+    }
+
+    /**
+     * Message of a mapping error, prefixed with the path of the offending property
+     */
+    private static String describe(JsonProcessingException e) {
+        if (!(e instanceof JsonMappingException mapping) || mapping.getPath().isEmpty()) {
+            return e.getOriginalMessage();
+        }
+        StringBuilder path = new StringBuilder();
+        for (JsonMappingException.Reference reference : mapping.getPath()) {
+            if (reference.getFieldName() != null) {
+                path.append(path.isEmpty() ? "" : ".").append(reference.getFieldName());
+            } else {
+                path.append('[').append(reference.getIndex()).append(']');
+            }
+        }
+        return path + ": " + e.getOriginalMessage();
+    }
+
+    /**
+     * Encode a lesson body as the create endpoint stores it, compressed when that is enabled
+     */
+    private LessonContent encodeContent(LessonRow row) {
+        return lessonContentStore.encode(LessonType.valueOf(row.type()), row.content());
+    }
+
+    private void reject(CourseImportResponse response, long index, String title, List<String> messages) {
+        response.setCoursesRejected(response.getCoursesRejected() + 1);
+        rejectedCounter.increment();
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new CourseImportError(index, title, messages));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * Write the pending courses in one transaction and announce them, or reject them all if the write fails
+     */
+    private void flush(ImportBatch batch, CourseImportResponse response) {
+        if (batch.courses.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                catalogJdbcRepository.batchInsertCourses(batch.courses);
+                catalogJdbcRepository.batchInsertModules(batch.modules);
+                catalogJdbcRepository.batchInsertLessons(batch.lessons, this::encodeContent);
+                eventPublisher.publishEvent(new CoursesImportedEvent(
+                        batch.courses.stream().map(CourseRow::id).toList()));
+            });
+            response.setCoursesImported(response.getCoursesImported() + batch.courses.size());
+            response.setModulesImported(response.getModulesImported() + batch.modules.size());
+            response.setLessonsImported(response.getLessonsImported() + batch.lessons.size());
+            importedCounter.increment(batch.courses.size());
+            log.info("Imported {} courses so far", response.getCoursesImported());
+        } catch (DataAccessException e) {
+            log.warn("Failed to write a batch of {} imported courses", batch.courses.size(), e);
+            for (int i = 0; i < batch.courses.size(); i++) {
+                reject(response, batch.indexes.get(i), batch.courses.get(i).title(),
+                        List.of("Failed to write course: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Rows of the validated courses waiting to be written, with IDs from reserved blocks
+     */
+    private final class ImportBatch {
+
+        private final IdBlocks courseIds = new IdBlocks(catalogJdbcRepository, "courses");
+        private final IdBlocks moduleIds = new IdBlocks(catalogJdbcRepository, "modules");
+        private final IdBlocks lessonIds = new IdBlocks(catalogJdbcRepository, "lessons");
+
+        private final List<Long> indexes = new ArrayList<>();
+        private final List<CourseRow> courses = new ArrayList<>();
+        private final List<ModuleRow> modules = new ArrayList<>();
+        private final List<LessonRow> lessons = new ArrayList<>();
+        private int rows;
+
+        void add(long index, CourseImportItem item) {
+            LocalDateTime now = LocalDateTime.now();
+            long courseId = courseIds.next();
+            indexes.add(index);
+            courses.add(new CourseRow(courseId, item.getTitle(), item.getDescription(), item.getThumbnailUrl(),
+                    item.getCoverImageUrl(), now));
+            for (ModuleImportItem module : item.getModules() != null ? item.getModules() : List.<ModuleImportItem>of()) {
+                long moduleId = moduleIds.next();
+                modules.add(new ModuleRow(moduleId, module.getTitle(), module.getSummary(), module.getThumbnailUrl(),
+                        module.getCoverImageUrl(), courseId, now));
+                List<LessonCreateRequest> moduleLessons = module.getLessons() != null ? module.getLessons() : List.of();
+                for (int l = 0; l < moduleLessons.size(); l++) {
+                    LessonCreateRequest lesson = moduleLessons.get(l);
+                    int orderIndex = lesson.getOrderIndex() != null
+                            ? lesson.getOrderIndex()
+                            : (l + 1) * Lesson.ORDER_INDEX_GAP;
+                    lessons.add(new LessonRow(lessonIds.next(), lesson.getTitle(), lesson.getType().name(),
+                            lesson.getContent(), orderIndex, moduleId, now));
+                }
+            }
+            rows = courses.size() + modules.size() + lessons.size();
+        }
+
+        void clear() {
+            indexes.clear();
+            courses.clear();
+            modules.clear();
+            lessons.clear();
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.ContentVersion;
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.metrics.RequestTimings;
+import com.example.minilms.metrics.RequestTimings.Stage;
+import com.example.minilms.metrics.RequestTimings.StageScope;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Cache of course detail payloads serialized to JSON bytes, optionally also deflated for gzip responses
+ *
+ * Entries are built from the {@link CourseStructureCache} snapshot and are only served while that
+ * snapshot is the current one, so a payload never outlives the tree it was serialized from; they are
+ * also dropped after any transaction that changes the course. The per-response envelope (message and
+ * timestamp) is serialized on each request and written around the cached bytes; for gzip responses the
+ * envelope is deflated separately and spliced around the cached deflate blocks, which end on a sync
+ * flush so the three parts form one valid stream. The gzip trailer CRC is likewise combined from the
+ * envelope CRCs and the payload CRC stored with the entry, so a hit never rescans the payload.
+ */
+@Component
+public class CourseResponseCache {
+
+    private static final String DATA_PLACEHOLDER = "__course_payload__";
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int CRC32_POLYNOMIAL = 0xedb88320;
+    /**
+     * x^(2^k) modulo the CRC-32 polynomial, in reflected bit order
+     */
+    private static final int[] X2N = new int[32];
+
+    static {
+        X2N[0] = 1 << 30;
+        for (int k = 1; k < X2N.length; k++) {
+            X2N[k] = multiplyModP(X2N[k - 1], X2N[k - 1]);
+        }
+    }
+
+    private final CourseStructureCache courseStructureCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean gzipEnabled;
+
+    private final Cache<Long, SerializedCourse> responses;
+
+    @Autowired
+    public CourseResponseCache(CourseStructureCache courseStructureCache,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${minilms.cache.course-response.enabled:true}") boolean enabled,
+                               @Value("${minilms.cache.course-response.gzip:true}") boolean gzipEnabled,
+                               @Value("${minilms.cache.course-response.max-bytes:67108864}") long maxBytes) {
+        this.courseStructureCache = courseStructureCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipEnabled = gzipEnabled;
+
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long courseId, SerializedCourse course) -> course.size())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "courseResponse");
+    }
+
+    /**
+     * Check if pre-gzipped payloads are kept and gzip responses can be served
+     */
+    public boolean isGzipEnabled() {
+        return gzipEnabled;
+    }
+
+    /**
+     * Get the serialized payload of a course, serializing its current snapshot when needed
+     */
+    public Optional<SerializedCourse> getCourse(Long courseId) {
+        Optional<CourseStructure> structure = courseStructureCache.getCourse(courseId);
+        if (structure.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!enabled) {
+            return Optional.of(serialize(structure.get()));
+        }
+        SerializedCourse cached = responses.getIfPresent(courseId);
+        if (cached != null && cached.structureVersion() == structure.get().version()) {
+            return Optional.of(cached);
+        }
+        SerializedCourse serialized = serialize(structure.get());
+        responses.put(courseId, serialized);
+        return Optional.of(serialized);
+    }
+
+    /**
+     * Drop the serialized payload of a course once the transaction that changed it has completed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCourseContentChanged(CourseContentChangedEvent event) {
+        responses.invalidate(event.courseId());
+    }
+
+    /**
+     * Write a successful {@link ApiResponse} carrying the course as its data straight to the response,
+     * gzip-encoded when requested and available
+     */
+    public void write(SerializedCourse course, String message, boolean gzip, HttpServletResponse response)
+            throws IOException {
+        try (StageScope scope = RequestTimings.start(Stage.SERIALIZATION)) {
+            String envelope = objectMapper.writeValueAsString(ApiResponse.success(message, DATA_PLACEHOLDER));
+            int placeholderAt = envelope.indexOf('"' + DATA_PLACEHOLDER + '"');
+            byte[] head = envelope.substring(0, placeholderAt).getBytes(StandardCharsets.UTF_8);
+            byte[] tail = envelope.substring(placeholderAt + DATA_PLACEHOLDER.length() + 2).getBytes(StandardCharsets.UTF_8);
+
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            OutputStream out = response.getOutputStream();
+            if (gzip && course.deflated() != null) {
+                byte[] gzipHead;
+                byte[] gzipTail;
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+                try {
+                    gzipHead = deflate(deflater, head, false);
+                    deflater.reset();
+                    gzipTail = deflate(deflater, tail, true);
+                } finally {
+                    deflater.end();
+                }
+                long crc = crc32Combine(crc32Combine(crc32(head), course.jsonCrc(), course.json().length),
+                        crc32(tail), tail.length);
+                byte[] trailer = littleEndian(crc, head.length + course.json().length + tail.length);
+
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.setContentLength(GZIP_HEADER.length + gzipHead.length + course.deflated().length
+                        + gzipTail.length + trailer.length);
+                out.write(GZIP_HEADER);
+                out.write(gzipHead);
+                out.write(course.deflated());
+                out.write(gzipTail);
+                out.write(trailer);
+            } else {
+                response.setContentLength(head.length + course.json().length + tail.length);
+                out.write(head);
+                out.write(course.json());
+                out.write(tail);
+            }
+            out.flush();
+        }
+    }
+
+    private SerializedCourse serialize(CourseStructure structure) {
+        try (StageScope scope = RequestTimings.start(Stage.SERIALIZATION)) {
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(structure);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException("Failed to serialize course " + structure.id(), e);
+            }
+            byte[] deflated = null;
+            long jsonCrc = 0;
+            if (gzipEnabled) {
+                Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+                try {
+                    deflated = deflate(deflater, json, false);
+                } finally {
+                    deflater.end();
+                }
+                jsonCrc = crc32(json);
+            }
+            return new SerializedCourse(structure.version(), structure.contentVersion(), json, deflated, jsonCrc);
+        }
+    }
+
+    /**
+     * Deflate input as raw deflate blocks, ending the stream when {@code finish} is set and
+     * otherwise on a byte-aligned sync flush so more blocks can follow
+     */
+    private static byte[] deflate(Deflater deflater, byte[] input, boolean finish) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        deflater.setInput(input);
+        if (finish) {
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } else {
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, written);
+            } while (written == buffer.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static long crc32(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * CRC-32 of two concatenated byte sequences from the CRC of each and the length of the second,
+     * a port of zlib's {@code crc32_combine}: the first CRC is shifted past {@code length2} zero bytes
+     * by multiplying it with x^(8 * length2) modulo the polynomial
+     */
+    static long crc32Combine(long crc1, long crc2, long length2) {
+        return (multiplyModP(x2nModP(length2, 3), (int) crc1) ^ (int) crc2) & 0xffffffffL;
+    }
+
+    /**
+     * x^(n * 2^k) modulo the CRC-32 polynomial
+     */
+    private static int x2nModP(long n, int k) {
+        int p = 1 << 31;
+        while (n != 0) {
+            if ((n & 1) != 0) {
+                p = multiplyModP(X2N[k & 31], p);
+            }
+            n >>>= 1;
+            k++;
+        }
+        return p;
+    }
+
+    /**
+     * Product of two polynomials modulo the CRC-32 polynomial; {@code a} must not be zero
+     */
+    private static int multiplyModP(int a, int b) {
+        int m = 1 << 31;
+        int p = 0;
+        while (true) {
+            if ((a & m) != 0) {
+                p ^= b;
+                if ((a & (m - 1)) == 0) {
+                    break;
+                }
+            }
+            m >>>= 1;
+            b = (b & 1) != 0 ? (b >>> 1) ^ CRC32_POLYNOMIAL : b >>> 1;
+        }
+        return p;
+    }
+
+    private static byte[] littleEndian(long crc, long size) {
+        byte[] trailer = new byte[8];
+        for (int i = 0; i < 4; i++) {
+            trailer[i] = (byte) (crc >>> (8 * i));
+            trailer[4 + i] = (byte) (size >>> (8 * i));
+        }
+        return trailer;
+    }
+
+    /**
+     * Course detail payload serialized from one structure snapshot, with the CRC-32 of the JSON when it
+     * is also kept deflated
+     */
+    public record SerializedCourse(long structureVersion, ContentVersion contentVersion, byte[] json, byte[] deflated,
+                                   long jsonCrc) {
+
+        int size() {
+            return json.length + (deflated != null ? deflated.length : 0);
+        }
+    }
+}
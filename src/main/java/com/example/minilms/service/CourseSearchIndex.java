@@ -0,0 +1,741 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.response.CourseSearchHit;
+import com.example.minilms.dto.response.CourseSearchResponse;
+import com.example.minilms.entity.LessonType;
+import com.example.minilms.repository.CatalogJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index for ranked course search
+ *
+ * Each course is one document built from its title, description, module titles and summaries,
+ * lesson titles and TEXT lesson content, with per-field weights. Queries match every token
+ * (AND), the last token also as a prefix (search as you type), and tokens missing from the
+ * dictionary against terms within a small edit distance found through a bigram index.
+ * Results are ranked by a weighted tf-idf score.
+ *
+ * The index is built from bulk table scans when the application is ready. Afterwards every
+ * committed course change (see {@link CourseContentChangedEvent} and {@link CoursesImportedEvent})
+ * queues the course, and queued courses are re-indexed from the structure cache and their TEXT
+ * lesson bodies by the periodic refresh. Searches never refresh: they serve the current index, so
+ * a change becomes searchable within {@code minilms.search.refresh-interval-ms}.
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    private static final float COURSE_TITLE_WEIGHT = 5.0f;
+    private static final float COURSE_DESCRIPTION_WEIGHT = 2.0f;
+    private static final float MODULE_TITLE_WEIGHT = 3.0f;
+    private static final float MODULE_SUMMARY_WEIGHT = 1.5f;
+    private static final float LESSON_TITLE_WEIGHT = 2.0f;
+    private static final float LESSON_TEXT_WEIGHT = 1.0f;
+
+    private static final float PREFIX_MATCH_FACTOR = 0.6f;
+    private static final float FUZZY_MATCH_FACTOR = 0.4f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_TERM_EXPANSIONS = 50;
+    private static final int MAX_QUERY_TOKENS = 16;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private final CourseStructureCache courseStructureCache;
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Not a monitor: refreshes read from the database, which would pin a virtual thread's carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Set<Long> pendingCourseIds = ConcurrentHashMap.newKeySet();
+    // Pooled rather than thread-local: with virtual threads every request runs on a new thread
+    private final BlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+    private InvertedIndex index = new InvertedIndex();
+    private boolean rebuilding;
+
+    @Autowired
+    public CourseSearchIndex(CourseStructureCache courseStructureCache,
+                             CatalogJdbcRepository catalogJdbcRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.courseStructureCache = courseStructureCache;
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Search courses, returning one page of results ranked by relevance
+     */
+    public CourseSearchResponse search(String query, int page, int size) {
+        List<String> tokens = tokenize(query).stream().distinct().limit(MAX_QUERY_TOKENS).toList();
+        if (tokens.isEmpty() || size <= 0 || (long) page * size + size > Integer.MAX_VALUE) {
+            return new CourseSearchResponse(query, 0, page, size, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            Scratch scratch = scratchPool.poll();
+            if (scratch == null) {
+                scratch = new Scratch();
+            }
+            try {
+                return index.search(query, tokens, page, size, scratch);
+            } finally {
+                scratchPool.offer(scratch);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Build the index from the catalog tables once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the whole index from bulk table scans; changes committed meanwhile are applied afterwards
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        refreshLock.lock();
+        try {
+            rebuilding = true;
+        } finally {
+            refreshLock.unlock();
+        }
+        try {
+            InvertedIndex fresh = new InvertedIndex();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                Iterator<CourseDocument> loaded = loadDocuments().values().iterator();
+                while (loaded.hasNext()) {
+                    fresh.put(loaded.next());
+                    loaded.remove();
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Indexed {} courses ({} terms) for search in {} ms", fresh.liveDocuments,
+                    fresh.postings.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            refreshLock.lock();
+            try {
+                rebuilding = false;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        refreshPending();
+    }
+
+    /**
+     * Queue a course for re-indexing once the transaction that changed it has completed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCourseContentChanged(CourseContentChangedEvent event) {
+        pendingCourseIds.add(event.courseId());
+    }
+
+    /**
+     * Queue a batch of imported courses for indexing once the import transaction has completed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCoursesImported(CoursesImportedEvent event) {
+        pendingCourseIds.addAll(event.courseIds());
+    }
+
+    /**
+     * Re-index queued courses from the structure cache
+     */
+    @Scheduled(fixedDelayString = "${minilms.search.refresh-interval-ms:1000}")
+    public void refreshPending() {
+        if (pendingCourseIds.isEmpty()) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            if (rebuilding) {
+                return;
+            }
+            Iterator<Long> pending = pendingCourseIds.iterator();
+            while (pending.hasNext()) {
+                Long courseId = pending.next();
+                pending.remove();
+                Optional<CourseStructure> course = courseStructureCache.getCourse(courseId);
+                Map<Long, String> lessonTexts = course.isPresent() ?
+                        catalogJdbcRepository.findLessonBodiesByCourseId(courseId, LessonType.TEXT.name()) : Map.of();
+                lock.writeLock().lock();
+                try {
+                    if (course.isPresent()) {
+                        index.put(document(course.get(), lessonTexts));
+                    } else {
+                        index.remove(courseId);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Add or replace a course in the index, given the bodies of its TEXT lessons by lesson ID
+     */
+    public void indexCourse(CourseStructure course, Map<Long, String> lessonTexts) {
+        lock.writeLock().lock();
+        try {
+            index.put(document(course, lessonTexts));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, CourseDocument> loadDocuments() {
+        Map<Long, CourseDocument> documents = new HashMap<>();
+        Map<Long, CourseDocument> documentsByModuleId = new HashMap<>();
+
+        catalogJdbcRepository.forEachCourse(row -> {
+            CourseDocument document = new CourseDocument(row.id(), row.title(), row.description(), row.thumbnailUrl());
+            document.addField(row.title(), COURSE_TITLE_WEIGHT);
+            document.addField(row.description(), COURSE_DESCRIPTION_WEIGHT);
+            documents.put(row.id(), document);
+        });
+        catalogJdbcRepository.forEachModule(row -> {
+            CourseDocument document = documents.get(row.courseId());
+            if (document != null) {
+                document.addField(row.title(), MODULE_TITLE_WEIGHT);
+                document.addField(row.summary(), MODULE_SUMMARY_WEIGHT);
+                documentsByModuleId.put(row.id(), document);
+            }
+        });
+        catalogJdbcRepository.forEachLesson(LessonType.TEXT.name(), row -> {
+            CourseDocument document = documentsByModuleId.get(row.moduleId());
+            if (document != null) {
+                document.addField(row.title(), LESSON_TITLE_WEIGHT);
+                if (LessonType.TEXT.name().equals(row.type())) {
+                    document.addField(row.content(), LESSON_TEXT_WEIGHT);
+                }
+            }
+        });
+        return documents;
+    }
+
+    private CourseDocument document(CourseStructure course, Map<Long, String> lessonTexts) {
+        CourseDocument document = new CourseDocument(course.id(), course.title(), course.description(),
+                course.thumbnailUrl());
+        document.addField(course.title(), COURSE_TITLE_WEIGHT);
+        document.addField(course.description(), COURSE_DESCRIPTION_WEIGHT);
+        for (CourseStructure.ModuleNode module : course.modules()) {
+            document.addField(module.title(), MODULE_TITLE_WEIGHT);
+            document.addField(module.summary(), MODULE_SUMMARY_WEIGHT);
+            for (CourseStructure.LessonNode lesson : module.lessons()) {
+                document.addField(lesson.title(), LESSON_TITLE_WEIGHT);
+                if (lesson.type() == LessonType.TEXT) {
+                    document.addField(lessonTexts.get(lesson.id()), LESSON_TEXT_WEIGHT);
+                }
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Lower-case, accent-folded word tokens of a text, without stop words and single characters
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Optimal string alignment distance between two terms, or {@code maxDistance + 1} once it exceeds the bound
+     */
+    static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static List<String> bigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> bigrams = new ArrayList<>(padded.length() - 1);
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            bigrams.add(padded.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    /**
+     * Searchable text of one course with its weighted term scores
+     */
+    private static final class CourseDocument {
+
+        private final Long id;
+        private final String title;
+        private final String description;
+        private final String thumbnailUrl;
+        private final Map<String, Float> termScores = new HashMap<>();
+
+        private CourseDocument(Long id, String title, String description, String thumbnailUrl) {
+            this.id = id;
+            this.title = title;
+            this.description = description;
+            this.thumbnailUrl = thumbnailUrl;
+        }
+
+        /**
+         * Add a field's terms; repeated terms within a field are dampened logarithmically
+         */
+        private void addField(String text, float weight) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String token : tokenize(text)) {
+                counts.merge(token, 1, Integer::sum);
+            }
+            counts.forEach((term, count) ->
+                    termScores.merge(term, weight * (1.0f + (float) Math.log(count)), Float::sum));
+        }
+    }
+
+    /**
+     * Course fields returned with search hits
+     */
+    private record IndexedCourse(Long id, String title, String description, String thumbnailUrl) {
+    }
+
+    /**
+     * Documents of one term as parallel arrays of document ordinals and scores, in ordinal order
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private float[] scores = new float[4];
+        private int size;
+
+        private void add(int ordinal, float score) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            ordinals[size] = ordinal;
+            scores[size] = score;
+            size++;
+        }
+    }
+
+    /**
+     * A dictionary term matched by a query token, with its match quality factor
+     */
+    private record TermMatch(Postings postings, float factor) {
+    }
+
+    /**
+     * Score accumulators indexed by document ordinal, reused across queries
+     */
+    private static final class Scratch {
+
+        private float[] totals = new float[0];
+        private float[] tokenScores = new float[0];
+        private byte[] matchedTokens = new byte[0];
+        private boolean[] touched = new boolean[0];
+        private int[] candidates = new int[0];
+        private int[] tokenCandidates = new int[0];
+
+        private void ensureCapacity(int documents) {
+            if (totals.length < documents) {
+                int capacity = Math.max(documents, totals.length * 2);
+                totals = new float[capacity];
+                tokenScores = new float[capacity];
+                matchedTokens = new byte[capacity];
+                touched = new boolean[capacity];
+                candidates = new int[capacity];
+                tokenCandidates = new int[capacity];
+            }
+        }
+    }
+
+    /**
+     * Term dictionary with postings, bigram index over the terms and the indexed documents.
+     *
+     * Documents get increasing ordinals, so postings stay sorted by appending. Replaced and
+     * removed documents leave tombstones that queries skip; the postings are compacted once
+     * tombstones make up a quarter of the ordinals. Not thread-safe; guarded by the enclosing lock.
+     */
+    private static final class InvertedIndex {
+
+        private final NavigableMap<String, Postings> postings = new TreeMap<>();
+        private final Map<String, Set<String>> termsByBigram = new HashMap<>();
+        private final Map<Long, Integer> ordinalByCourseId = new HashMap<>();
+        private IndexedCourse[] documents = new IndexedCourse[1024];
+        private int ordinals;
+        private int liveDocuments;
+
+        private void put(CourseDocument document) {
+            remove(document.id);
+            if (ordinals == documents.length) {
+                documents = Arrays.copyOf(documents, ordinals * 2);
+            }
+            int ordinal = ordinals++;
+            documents[ordinal] = new IndexedCourse(document.id, document.title, document.description,
+                    document.thumbnailUrl);
+            ordinalByCourseId.put(document.id, ordinal);
+            liveDocuments++;
+
+            document.termScores.forEach((term, score) -> {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    termPostings = new Postings();
+                    postings.put(term, termPostings);
+                    for (String bigram : bigrams(term)) {
+                        termsByBigram.computeIfAbsent(bigram, key -> new HashSet<>()).add(term);
+                    }
+                }
+                termPostings.add(ordinal, score);
+            });
+        }
+
+        private void remove(Long courseId) {
+            Integer ordinal = ordinalByCourseId.remove(courseId);
+            if (ordinal == null) {
+                return;
+            }
+            documents[ordinal] = null;
+            liveDocuments--;
+            if (ordinals - liveDocuments > Math.max(1024, ordinals / 4)) {
+                compact();
+            }
+        }
+
+        /**
+         * Renumber live documents densely and drop tombstones and terms without live documents
+         */
+        private void compact() {
+            int[] remapped = new int[ordinals];
+            IndexedCourse[] live = new IndexedCourse[Math.max(1024, liveDocuments * 2)];
+            int next = 0;
+            for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                if (documents[ordinal] != null) {
+                    remapped[ordinal] = next;
+                    live[next] = documents[ordinal];
+                    ordinalByCourseId.put(documents[ordinal].id(), next);
+                    next++;
+                } else {
+                    remapped[ordinal] = -1;
+                }
+            }
+
+            Iterator<Map.Entry<String, Postings>> terms = postings.entrySet().iterator();
+            while (terms.hasNext()) {
+                Map.Entry<String, Postings> term = terms.next();
+                Postings termPostings = term.getValue();
+                int kept = 0;
+                for (int i = 0; i < termPostings.size; i++) {
+                    int ordinal = remapped[termPostings.ordinals[i]];
+                    if (ordinal >= 0) {
+                        termPostings.ordinals[kept] = ordinal;
+                        termPostings.scores[kept] = termPostings.scores[i];
+                        kept++;
+                    }
+                }
+                termPostings.size = kept;
+                if (kept == 0) {
+                    terms.remove();
+                    for (String bigram : bigrams(term.getKey())) {
+                        Set<String> bigramTerms = termsByBigram.get(bigram);
+                        bigramTerms.remove(term.getKey());
+                        if (bigramTerms.isEmpty()) {
+                            termsByBigram.remove(bigram);
+                        }
+                    }
+                }
+            }
+
+            documents = live;
+            ordinals = next;
+        }
+
+        private CourseSearchResponse search(String query, List<String> tokens, int page, int size, Scratch scratch) {
+            List<List<TermMatch>> tokenMatches = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                List<TermMatch> matches = match(tokens.get(i), i == tokens.size() - 1);
+                if (matches.isEmpty()) {
+                    return new CourseSearchResponse(query, 0, page, size, List.of());
+                }
+                tokenMatches.add(matches);
+            }
+            // Start from the most selective token; later tokens only keep documents matched so far
+            tokenMatches.sort(Comparator.comparingInt(matches ->
+                    matches.stream().mapToInt(match -> match.postings().size).sum()));
+
+            scratch.ensureCapacity(ordinals);
+            float[] totals = scratch.totals;
+            byte[] matchedTokens = scratch.matchedTokens;
+            int candidateCount = 0;
+            int[] candidates = scratch.candidates;
+            try {
+                for (int t = 0; t < tokenMatches.size(); t++) {
+                    int tokenCandidateCount = scoreToken(tokenMatches.get(t), t, scratch);
+                    if (t == 0) {
+                        System.arraycopy(scratch.tokenCandidates, 0, candidates, 0, tokenCandidateCount);
+                        candidateCount = tokenCandidateCount;
+                    }
+                    if (tokenCandidateCount == 0) {
+                        return new CourseSearchResponse(query, 0, page, size, List.of());
+                    }
+                }
+
+                int wanted = page * size + size;
+                int required = tokenMatches.size();
+                int totalHits = 0;
+                int[] top = new int[Math.min(wanted, candidateCount)];
+                int topSize = 0;
+                for (int i = 0; i < candidateCount; i++) {
+                    int ordinal = candidates[i];
+                    if (matchedTokens[ordinal] != required) {
+                        continue;
+                    }
+                    totalHits++;
+                    if (topSize < top.length) {
+                        top[topSize] = ordinal;
+                        siftUp(top, topSize++, totals);
+                    } else if (ranksAbove(ordinal, top[0], totals)) {
+                        top[0] = ordinal;
+                        siftDown(top, topSize, totals);
+                    }
+                }
+
+                // Drain the min-heap from the lowest ranked hit upwards
+                int[] ranked = new int[topSize];
+                for (int i = topSize - 1; i >= 0; i--) {
+                    ranked[i] = top[0];
+                    top[0] = top[--topSize];
+                    siftDown(top, topSize, totals);
+                }
+                List<CourseSearchHit> hits = new ArrayList<>(size);
+                for (int i = page * size; i < ranked.length; i++) {
+                    IndexedCourse course = documents[ranked[i]];
+                    hits.add(new CourseSearchHit(course.id(), course.title(), course.description(),
+                            course.thumbnailUrl(), totals[ranked[i]]));
+                }
+                return new CourseSearchResponse(query, totalHits, page, size, hits);
+            } finally {
+                for (int i = 0; i < candidateCount; i++) {
+                    totals[candidates[i]] = 0;
+                    matchedTokens[candidates[i]] = 0;
+                }
+            }
+        }
+
+        /**
+         * Whether a document ranks above another: higher score first, then lower course ID
+         */
+        private boolean ranksAbove(int ordinal, int other, float[] totals) {
+            return totals[ordinal] > totals[other]
+                    || (totals[ordinal] == totals[other] && documents[ordinal].id() < documents[other].id());
+        }
+
+        private void siftUp(int[] heap, int index, float[] totals) {
+            int ordinal = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksAbove(heap[parent], ordinal, totals)) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = ordinal;
+        }
+
+        private void siftDown(int[] heap, int size, float[] totals) {
+            if (size == 0) {
+                return;
+            }
+            int ordinal = heap[0];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && ranksAbove(heap[child], heap[child + 1], totals)) {
+                    child++;
+                }
+                if (!ranksAbove(ordinal, heap[child], totals)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = ordinal;
+        }
+
+        /**
+         * Add the best score of one query token to every document that matched all previous tokens
+         *
+         * @return number of documents that matched this token, listed in the scratch token candidates
+         */
+        private int scoreToken(List<TermMatch> matches, int tokenIndex, Scratch scratch) {
+            float[] tokenScores = scratch.tokenScores;
+            byte[] matchedTokens = scratch.matchedTokens;
+            boolean[] touched = scratch.touched;
+            int[] tokenCandidates = scratch.tokenCandidates;
+            int count = 0;
+
+            for (TermMatch match : matches) {
+                Postings termPostings = match.postings();
+                float weight = match.factor() * (float) Math.log(1.0 + (double) liveDocuments / termPostings.size);
+                for (int i = 0; i < termPostings.size; i++) {
+                    int ordinal = termPostings.ordinals[i];
+                    if (documents[ordinal] == null || matchedTokens[ordinal] != tokenIndex) {
+                        continue;
+                    }
+                    float score = termPostings.scores[i] * weight;
+                    if (!touched[ordinal]) {
+                        touched[ordinal] = true;
+                        tokenScores[ordinal] = score;
+                        tokenCandidates[count++] = ordinal;
+                    } else if (score > tokenScores[ordinal]) {
+                        tokenScores[ordinal] = score;
+                    }
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                int ordinal = tokenCandidates[i];
+                touched[ordinal] = false;
+                matchedTokens[ordinal]++;
+                scratch.totals[ordinal] += tokenScores[ordinal];
+            }
+            return count;
+        }
+
+        /**
+         * Dictionary terms matching a query token exactly, by prefix or within a small edit distance
+         */
+        private List<TermMatch> match(String token, boolean allowPrefix) {
+            Map<String, Float> matchedTerms = new HashMap<>();
+
+            boolean exact = postings.containsKey(token);
+            if (exact) {
+                matchedTerms.put(token, 1.0f);
+            }
+            if (allowPrefix && token.length() >= MIN_PREFIX_LENGTH) {
+                int expansions = 0;
+                for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+                    if (expansions++ >= MAX_TERM_EXPANSIONS) {
+                        break;
+                    }
+                    matchedTerms.putIfAbsent(term, PREFIX_MATCH_FACTOR);
+                }
+            }
+            if (!exact && token.length() >= MIN_FUZZY_LENGTH) {
+                int maxDistance = token.length() <= 7 ? 1 : 2;
+                for (String term : fuzzyCandidates(token, maxDistance)) {
+                    matchedTerms.putIfAbsent(term, FUZZY_MATCH_FACTOR);
+                }
+            }
+
+            List<TermMatch> matches = new ArrayList<>(matchedTerms.size());
+            matchedTerms.forEach((term, factor) -> matches.add(new TermMatch(postings.get(term), factor)));
+            return matches;
+        }
+
+        private List<String> fuzzyCandidates(String token, int maxDistance) {
+            Map<String, Integer> sharedBigrams = new HashMap<>();
+            for (String bigram : bigrams(token)) {
+                for (String term : termsByBigram.getOrDefault(bigram, Set.of())) {
+                    if (Math.abs(term.length() - token.length()) <= maxDistance) {
+                        sharedBigrams.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+
+            // A term has one padded bigram more than characters, and each edit (including a transposition)
+            // destroys at most three of them
+            int minShared = Math.max(1, token.length() + 1 - 3 * maxDistance);
+            List<String> candidates = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : sharedBigrams.entrySet()) {
+                if (entry.getValue() >= minShared && editDistance(token, entry.getKey(), maxDistance) <= maxDistance) {
+                    candidates.add(entry.getKey());
+                    if (candidates.size() >= MAX_TERM_EXPANSIONS) {
+                        break;
+                    }
+                }
+            }
+            return candidates;
+        }
+    }
+}
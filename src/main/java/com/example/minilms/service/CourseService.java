@@ -1,16 +1,28 @@
 package com.example.minilms.service;
 
+import com.example.minilms.dto.projection.CourseDetail;
+import com.example.minilms.dto.projection.CourseListItem;
+import com.example.minilms.dto.projection.ModuleListItem;
+import com.example.minilms.dto.projection.ResponseView;
 import com.example.minilms.dto.request.CourseCreateRequest;
+import com.example.minilms.dto.response.CourseSearchResponse;
+import com.example.minilms.dto.response.CursorPage;
 import com.example.minilms.entity.Course;
 import com.example.minilms.repository.CourseRepository;
+import com.example.minilms.repository.ModuleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service for handling course-related operations
@@ -20,10 +32,20 @@ import java.util.Optional;
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final ProgressRollupService progressRollupService;
+    private final CourseSearchIndex courseSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, ModuleRepository moduleRepository,
+                         ProgressRollupService progressRollupService, CourseSearchIndex courseSearchIndex,
+                         ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.progressRollupService = progressRollupService;
+        this.courseSearchIndex = courseSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -36,47 +58,80 @@ public class CourseService {
         course.setThumbnailUrl(request.getThumbnailUrl());
         course.setCoverImageUrl(request.getCoverImageUrl());
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(saved.getId()));
+        return saved;
     }
 
     /**
-     * Get all courses
+     * Get all courses ordered by ID in the given view
      */
     @Transactional(readOnly = true)
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public List<?> getAllCourses(ResponseView view) {
+        return switch (view) {
+            case SUMMARY -> courseRepository.findSummariesAfter(0L, Limit.unlimited());
+            case LIST -> courseRepository.findListItemsAfter(0L, Limit.unlimited());
+            case DETAIL -> withModules(courseRepository.findListItemsAfter(0L, Limit.unlimited()));
+        };
     }
 
     /**
-     * Get all courses with modules
+     * Get an offset page of courses ordered by ID in the given view
      */
     @Transactional(readOnly = true)
-    public List<Course> getAllCoursesWithModules() {
-        return courseRepository.findAllWithModules();
+    public Page<?> getAllCourses(Pageable pageable, ResponseView view) {
+        return switch (view) {
+            case SUMMARY -> courseRepository.findSummaries(pageable);
+            case LIST -> courseRepository.findListItems(pageable);
+            case DETAIL -> {
+                Page<CourseListItem> courses = courseRepository.findListItems(pageable);
+                yield new PageImpl<>(withModules(courses.getContent()), pageable, courses.getTotalElements());
+            }
+        };
     }
 
     /**
-     * Get courses with pagination
+     * Get a keyset page of courses ordered by ID in the given view
      */
     @Transactional(readOnly = true)
-    public Page<Course> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable);
+    public CursorPage<?> getCoursesPage(String after, int limit, ResponseView view) {
+        long afterId = after != null ? CursorPage.decodeCursor(after, 1)[0] : 0L;
+        Limit fetch = Limit.of(limit + 1);
+        return switch (view) {
+            case SUMMARY -> CursorPage.of(courseRepository.findSummariesAfter(afterId, fetch), limit,
+                    course -> CursorPage.encodeCursor(course.id()));
+            case LIST -> CursorPage.of(courseRepository.findListItemsAfter(afterId, fetch), limit,
+                    course -> CursorPage.encodeCursor(course.id()));
+            case DETAIL -> {
+                CursorPage<CourseListItem> courses = CursorPage.of(courseRepository.findListItemsAfter(afterId, fetch),
+                        limit, course -> CursorPage.encodeCursor(course.id()));
+                yield new CursorPage<>(withModules(courses.getItems()), limit, courses.isHasMore(),
+                        courses.getNextCursor());
+            }
+        };
     }
 
     /**
-     * Get course by ID
+     * Attach module list items to courses ordered by ID, loading the modules of the whole ID range in one query
      */
-    @Transactional(readOnly = true)
-    public Optional<Course> getCourseById(Long id) {
-        return courseRepository.findById(id);
+    private List<CourseDetail> withModules(List<CourseListItem> courses) {
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ModuleListItem>> modulesByCourseId = moduleRepository.findListItemsByCourseIdBetween(
+                        courses.get(0).id(), courses.get(courses.size() - 1).id()).stream()
+                .collect(Collectors.groupingBy(ModuleListItem::courseId));
+        return courses.stream()
+                .map(course -> CourseDetail.of(course, modulesByCourseId.getOrDefault(course.id(), List.of())))
+                .toList();
     }
 
     /**
-     * Get course by ID with modules and lessons
+     * Get course by ID
      */
     @Transactional(readOnly = true)
-    public Optional<Course> getCourseWithDetails(Long id) {
-        return courseRepository.findByIdWithModulesAndLessons(id);
+    public Optional<Course> getCourseById(Long id) {
+        return courseRepository.findById(id);
     }
 
     /**
@@ -91,7 +146,9 @@ public class CourseService {
         course.setThumbnailUrl(request.getThumbnailUrl());
         course.setCoverImageUrl(request.getCoverImageUrl());
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -102,14 +159,16 @@ public class CourseService {
             throw new RuntimeException("Course not found with id: " + id);
         }
         courseRepository.deleteById(id);
+        progressRollupService.onCourseRemoved(id);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(id));
     }
 
     /**
-     * Search courses by title
+     * Search courses by their text, modules and lessons, ranked by relevance
      */
     @Transactional(readOnly = true)
-    public List<Course> searchCoursesByTitle(String title) {
-        return courseRepository.findByTitleContainingIgnoreCase(title);
+    public CourseSearchResponse searchCourses(String query, int page, int size) {
+        return courseSearchIndex.search(query, page, size);
     }
 
     /**
@@ -0,0 +1,228 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.entity.Course;
+import com.example.minilms.entity.Module;
+import com.example.minilms.repository.CourseRepository;
+import com.example.minilms.repository.LessonRepository;
+import com.example.minilms.repository.ModuleRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of immutable course structure snapshots
+ *
+ * Snapshots are loaded lazily on first access, bounded by size, and evicted per course
+ * after any transaction that changes the course completes (see {@link CourseContentChangedEvent}).
+ * Modules and lessons never move to another course, so the module and lesson to course
+ * mappings are kept in separate bounded indexes. Module entries outlive course changes, as
+ * module lookups are checked against the course snapshot. A lesson's location changes when
+ * the lesson is deleted or moves to another module, so the lesson IDs cached per course are
+ * tracked and their locations dropped together with the course snapshot.
+ *
+ * Misses are loaded on the calling thread, inside its transaction, while concurrent callers for
+ * the same key wait for that load. No lock is held while loading (unlike a synchronous Caffeine
+ * loader, which runs inside a map bin lock), so a virtual thread waiting on the database does
+ * not pin its carrier thread.
+ */
+@Component
+public class CourseStructureCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseStructureCache.class);
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final LessonRepository lessonRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AsyncCache<Long, Optional<CourseStructure>> structures;
+    private final AsyncCache<Long, Long> courseIdByModuleId;
+    private final AsyncCache<Long, LessonLocation> lessonLocations;
+    private final Map<Long, Set<Long>> cachedLessonIdsByCourseId = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    @Autowired
+    public CourseStructureCache(CourseRepository courseRepository,
+                                ModuleRepository moduleRepository,
+                                LessonRepository lessonRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${minilms.cache.course-structure.max-size:1000}") long maxSize,
+                                @Value("${minilms.cache.course-structure.index-max-size:100000}") long indexMaxSize) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.lessonRepository = lessonRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.structures = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        this.courseIdByModuleId = Caffeine.newBuilder()
+                .maximumSize(indexMaxSize)
+                .recordStats()
+                .buildAsync();
+        this.lessonLocations = Caffeine.newBuilder()
+                .maximumSize(indexMaxSize)
+                .recordStats()
+                .<Long, LessonLocation>removalListener((lessonId, location, cause) -> {
+                    if (cause == RemovalCause.SIZE && location != null) {
+                        untrackLesson(location);
+                    }
+                })
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, structures, "courseStructure");
+        CaffeineCacheMetrics.monitor(meterRegistry, courseIdByModuleId, "moduleCourseIndex");
+        CaffeineCacheMetrics.monitor(meterRegistry, lessonLocations, "lessonLocationIndex");
+    }
+
+    /**
+     * Get the structure snapshot of a course, loading it on a miss
+     */
+    public Optional<CourseStructure> getCourse(Long courseId) {
+        return getOrLoad(structures, courseId, this::loadCourse);
+    }
+
+    /**
+     * Get the structure snapshot of a course if it is cached, without loading it
+     */
+    public Optional<CourseStructure> getCachedCourse(Long courseId) {
+        CompletableFuture<Optional<CourseStructure>> course = structures.getIfPresent(courseId);
+        return course != null && course.isDone() && !course.isCompletedExceptionally()
+                ? course.join() : Optional.empty();
+    }
+
+    /**
+     * Get the structure snapshot of the course that contains a module
+     */
+    public Optional<CourseStructure> getCourseOfModule(Long moduleId) {
+        return findCourseIdOfModule(moduleId)
+                .flatMap(this::getCourse)
+                .filter(course -> course.findModule(moduleId).isPresent());
+    }
+
+    /**
+     * Find the ID of the course that contains a module
+     */
+    public Optional<Long> findCourseIdOfModule(Long moduleId) {
+        return Optional.ofNullable(getOrLoad(courseIdByModuleId, moduleId,
+                id -> moduleRepository.findCourseIdById(id).orElse(null)));
+    }
+
+    /**
+     * Find the module and course of a lesson
+     */
+    public Optional<LessonLocation> findLessonLocation(Long lessonId) {
+        return Optional.ofNullable(getOrLoad(lessonLocations, lessonId,
+                id -> lessonRepository.findLessonLocation(id).map(this::trackLesson).orElse(null)));
+    }
+
+    /**
+     * Drop the cached snapshot of a course once the transaction that changed it has completed.
+     * Also runs on rollback, since a snapshot may have been loaded inside that transaction.
+     * Runs before other listeners of the event so that they reload a fresh snapshot.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onCourseContentChanged(CourseContentChangedEvent event) {
+        invalidate(event.courseId());
+    }
+
+    /**
+     * Drop the cached snapshot and lesson locations of a course
+     */
+    public void invalidate(Long courseId) {
+        structures.synchronous().invalidate(courseId);
+        Set<Long> lessonIds = cachedLessonIdsByCourseId.remove(courseId);
+        if (lessonIds != null) {
+            lessonLocations.synchronous().invalidateAll(lessonIds);
+        }
+        log.debug("Invalidated structure cache for course {}", courseId);
+    }
+
+    private LessonLocation trackLesson(LessonLocation location) {
+        cachedLessonIdsByCourseId.compute(location.courseId(), (courseId, lessonIds) -> {
+            Set<Long> tracked = lessonIds != null ? lessonIds : ConcurrentHashMap.newKeySet();
+            tracked.add(location.lessonId());
+            return tracked;
+        });
+        return location;
+    }
+
+    /**
+     * Stop tracking an evicted lesson, unless it was loaded again meanwhile; runs under the
+     * course's map entry so that a concurrent load tracks it again afterwards
+     */
+    private void untrackLesson(LessonLocation location) {
+        cachedLessonIdsByCourseId.computeIfPresent(location.courseId(), (courseId, lessonIds) -> {
+            if (lessonLocations.getIfPresent(location.lessonId()) == null) {
+                lessonIds.remove(location.lessonId());
+            }
+            return lessonIds.isEmpty() ? null : lessonIds;
+        });
+    }
+
+    /**
+     * Get a cached value, or load it on the calling thread while other callers for the key wait on
+     * the same future. A null or failed load is not cached, and an entry invalidated during its load
+     * is not kept.
+     */
+    private static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(key));
+            } catch (RuntimeException | Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<CourseStructure> loadCourse(Long courseId) {
+        return readOnlyTransaction.execute(status -> {
+            Optional<Course> course = courseRepository.findById(courseId);
+            if (course.isEmpty()) {
+                return Optional.empty();
+            }
+            List<Module> modules = moduleRepository.findByCourseIdWithLessons(courseId);
+            return Optional.of(CourseStructure.of(course.get(), modules, versions.incrementAndGet()));
+        });
+    }
+}
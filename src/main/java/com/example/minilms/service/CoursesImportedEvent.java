@@ -0,0 +1,10 @@
+package com.example.minilms.service;
+
+import java.util.List;
+
+/**
+ * Event published once per batch of courses written by a bulk import, in place of a
+ * {@link CourseContentChangedEvent} per course
+ */
+public record CoursesImportedEvent(List<Long> courseIds) {
+}
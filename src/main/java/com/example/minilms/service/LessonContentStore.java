@@ -0,0 +1,209 @@
+package com.example.minilms.service;
+
+import com.example.minilms.entity.ContentEncoding;
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonContent;
+import com.example.minilms.entity.LessonType;
+import com.example.minilms.repository.LessonContentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service storing lesson bodies, gzip-compressing TEXT bodies when compressed storage is enabled
+ *
+ * Compression is opt-in and only applies to TEXT lessons whose UTF-8 body reaches the configured
+ * minimum size (media URLs and short texts do not shrink). Every row records its encoding, so plain
+ * rows written before compression was enabled, or while it is disabled, remain readable. Existing
+ * plain rows can be compressed by {@link #compressExisting()}, which runs in keyset batches of one
+ * transaction each and optionally on startup.
+ */
+@Service
+public class LessonContentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LessonContentStore.class);
+
+    private final LessonContentRepository lessonContentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean compressionEnabled;
+    private final int minSize;
+    private final int batchSize;
+    private final boolean migrateOnStartup;
+
+    private final Counter writtenCompressedCounter;
+    private final Counter writtenSavedBytesCounter;
+    private final Counter migratedCompressedCounter;
+    private final Counter migratedSavedBytesCounter;
+
+    @Autowired
+    public LessonContentStore(LessonContentRepository lessonContentRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${minilms.content.compression.enabled:false}") boolean compressionEnabled,
+                              @Value("${minilms.content.compression.min-size:512}") int minSize,
+                              @Value("${minilms.content.compression.batch-size:500}") int batchSize,
+                              @Value("${minilms.content.compression.migrate-on-startup:false}") boolean migrateOnStartup) {
+        this.lessonContentRepository = lessonContentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.compressionEnabled = compressionEnabled;
+        this.minSize = minSize;
+        this.batchSize = batchSize;
+        this.migrateOnStartup = migrateOnStartup;
+
+        this.writtenCompressedCounter = meterRegistry.counter("minilms.lesson.content.compressed", "source", "write");
+        this.migratedCompressedCounter = meterRegistry.counter("minilms.lesson.content.compressed", "source", "migration");
+        this.writtenSavedBytesCounter = Counter.builder("minilms.lesson.content.bytes.saved")
+                .description("UTF-8 bytes saved by storing lesson bodies compressed")
+                .baseUnit("bytes")
+                .tag("source", "write")
+                .register(meterRegistry);
+        this.migratedSavedBytesCounter = Counter.builder("minilms.lesson.content.bytes.saved")
+                .description("UTF-8 bytes saved by storing lesson bodies compressed")
+                .baseUnit("bytes")
+                .tag("source", "migration")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check if new TEXT bodies are stored compressed
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Store the body of a newly created lesson
+     */
+    @Transactional
+    public void create(Lesson lesson, String text) {
+        LessonContent content = new LessonContent(lesson, null);
+        encode(content, lesson.getType(), text);
+        lessonContentRepository.save(content);
+    }
+
+    /**
+     * Replace the body of an existing lesson, creating its row if it has none
+     */
+    @Transactional
+    public void replace(Lesson lesson, String text) {
+        LessonContent content = new LessonContent(lesson, null);
+        encode(content, lesson.getType(), text);
+        if (lessonContentRepository.updateContent(lesson.getId(), content.getEncoding(), content.getBody(),
+                content.getCompressedBody()) == 0) {
+            lessonContentRepository.save(content);
+        }
+    }
+
+    /**
+     * Encode a body for a bulk insert as {@link #create} would store it, without saving it
+     */
+    public LessonContent encode(LessonType type, String text) {
+        LessonContent content = new LessonContent();
+        encode(content, type, text);
+        return content;
+    }
+
+    /**
+     * Find the stored body of a lesson; it is only decompressed when its text is read
+     */
+    @Transactional(readOnly = true)
+    public Optional<LessonContent> find(Long lessonId) {
+        return lessonContentRepository.findById(lessonId);
+    }
+
+    /**
+     * Compress the TEXT bodies still stored as plain text, in batches, and return how many were compressed
+     */
+    public int compressExisting() {
+        long startTime = System.currentTimeMillis();
+        long afterId = 0L;
+        int compressed = 0;
+        long savedBytes = 0L;
+        while (true) {
+            long from = afterId;
+            BatchResult batch = transactionTemplate.execute(status -> compressBatch(from));
+            if (batch == null || batch.lastId() == null) {
+                break;
+            }
+            afterId = batch.lastId();
+            compressed += batch.compressed();
+            savedBytes += batch.savedBytes();
+        }
+        log.info("Compressed {} existing TEXT lesson bodies, saving {} bytes, in {} ms",
+                compressed, savedBytes, System.currentTimeMillis() - startTime);
+        return compressed;
+    }
+
+    /**
+     * Run the compression migration once the application is ready, when configured to
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (compressionEnabled && migrateOnStartup) {
+            compressExisting();
+        }
+    }
+
+    private BatchResult compressBatch(long afterId) {
+        // Locked so a concurrent edit of a lesson in the batch waits instead of being overwritten
+        List<LessonContent> batch = lessonContentRepository.findBatchByEncodingAndLessonType(
+                ContentEncoding.IDENTITY, LessonType.TEXT, afterId, Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return new BatchResult(null, 0, 0L);
+        }
+        int compressed = 0;
+        long savedBytes = 0L;
+        for (LessonContent content : batch) {
+            String text = content.getBody();
+            int originalSize = text.getBytes(StandardCharsets.UTF_8).length;
+            if (originalSize < minSize) {
+                continue;
+            }
+            byte[] gzipped = LessonContent.gzip(text);
+            if (gzipped.length >= originalSize) {
+                continue;
+            }
+            content.store(gzipped);
+            compressed++;
+            savedBytes += originalSize - gzipped.length;
+        }
+        migratedCompressedCounter.increment(compressed);
+        migratedSavedBytesCounter.increment(savedBytes);
+        return new BatchResult(batch.get(batch.size() - 1).getLessonId(), compressed, savedBytes);
+    }
+
+    /**
+     * Set a body on a content row, compressing it when enabled and worthwhile
+     */
+    private void encode(LessonContent content, LessonType type, String text) {
+        if (compressionEnabled && type == LessonType.TEXT) {
+            int originalSize = text.getBytes(StandardCharsets.UTF_8).length;
+            if (originalSize >= minSize) {
+                byte[] gzipped = LessonContent.gzip(text);
+                if (gzipped.length < originalSize) {
+                    content.store(gzipped);
+                    writtenCompressedCounter.increment();
+                    writtenSavedBytesCounter.increment(originalSize - gzipped.length);
+                    return;
+                }
+            }
+        }
+        content.store(text, false);
+    }
+
+    private record BatchResult(Long lastId, int compressed, long savedBytes) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.LessonOrderEntry;
+import com.example.minilms.entity.Lesson;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes sparse lesson order indexes that change as few rows as possible
+ *
+ * Lessons are spaced {@link Lesson#ORDER_INDEX_GAP} apart, so a lesson can usually be placed between
+ * two others by giving it an index in the gap. For a full reorder, the longest run of lessons whose
+ * current indexes already increase in the requested order keeps its indexes and only the others are
+ * placed in the gaps around them; when a gap is too narrow the whole module is respaced.
+ */
+final class LessonOrderPlanner {
+
+    private LessonOrderPlanner() {
+    }
+
+    /**
+     * Plan the index changes that put lessons in the given order
+     *
+     * @param ordered lessons with their current indexes, in the requested order
+     * @return the lessons whose index changes, with their new index
+     */
+    static List<LessonOrderEntry> planReorder(List<LessonOrderEntry> ordered) {
+        int size = ordered.size();
+        boolean[] kept = longestIncreasingRun(ordered);
+        long[] planned = new long[size];
+        int segmentStart = 0;
+        for (int i = 0; i <= size; i++) {
+            if (i < size && !kept[i]) {
+                continue;
+            }
+            Long lower = segmentStart > 0 ? (long) ordered.get(segmentStart - 1).orderIndex() : null;
+            Long upper = i < size ? (long) ordered.get(i).orderIndex() : null;
+            if (!fill(planned, segmentStart, i, lower, upper)) {
+                return respace(ordered);
+            }
+            if (i < size) {
+                planned[i] = ordered.get(i).orderIndex();
+            }
+            segmentStart = i + 1;
+        }
+        return changes(ordered, planned);
+    }
+
+    /**
+     * Plan the index changes that respace lessons evenly in the given order
+     */
+    static List<LessonOrderEntry> respace(List<LessonOrderEntry> ordered) {
+        long[] planned = new long[ordered.size()];
+        for (int i = 0; i < planned.length; i++) {
+            planned[i] = (long) (i + 1) * Lesson.ORDER_INDEX_GAP;
+        }
+        return changes(ordered, planned);
+    }
+
+    /**
+     * Index for a lesson placed between two neighbours, either of which may be absent
+     *
+     * @return the index, or null when there is no free index between the neighbours
+     */
+    static Integer between(Integer lower, Integer upper) {
+        long[] planned = new long[1];
+        return fill(planned, 0, 1, lower != null ? (long) lower : null, upper != null ? (long) upper : null)
+                ? (int) planned[0] : null;
+    }
+
+    /**
+     * Assign evenly spaced indexes strictly between lower and upper to positions [from, to)
+     */
+    private static boolean fill(long[] planned, int from, int to, Long lower, Long upper) {
+        int count = to - from;
+        if (count == 0) {
+            return true;
+        }
+        long first;
+        long step;
+        if (lower != null && upper != null) {
+            step = (upper - lower) / (count + 1);
+            first = lower + step;
+        } else if (lower != null) {
+            step = Lesson.ORDER_INDEX_GAP;
+            first = lower + step;
+        } else if (upper != null) {
+            step = Lesson.ORDER_INDEX_GAP;
+            first = upper - step * count;
+        } else {
+            step = Lesson.ORDER_INDEX_GAP;
+            first = step;
+        }
+        long last = first + step * (count - 1);
+        if (step < 1 || first < Integer.MIN_VALUE || last > Integer.MAX_VALUE) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            planned[from + i] = first + step * i;
+        }
+        return true;
+    }
+
+    /**
+     * Mark a longest subsequence of lessons whose current indexes strictly increase
+     */
+    private static boolean[] longestIncreasingRun(List<LessonOrderEntry> ordered) {
+        int size = ordered.size();
+        int[] tails = new int[size];
+        int[] previous = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            Integer index = ordered.get(i).orderIndex();
+            previous[i] = -1;
+            if (index == null) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ordered.get(tails[mid]).orderIndex() < index) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] kept = new boolean[size];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+
+    private static List<LessonOrderEntry> changes(List<LessonOrderEntry> ordered, long[] planned) {
+        List<LessonOrderEntry> changes = new ArrayList<>();
+        for (int i = 0; i < planned.length; i++) {
+            LessonOrderEntry entry = ordered.get(i);
+            if (entry.orderIndex() == null || entry.orderIndex() != planned[i]) {
+                changes.add(new LessonOrderEntry(entry.lessonId(), (int) planned[i]));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.minilms.service;
+
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.repository.LessonOrderJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job restoring the spacing of lesson order indexes
+ *
+ * Repeated moves into the same gap halve it each time. Modules where two consecutive lessons
+ * have come closer than the configured minimum gap (or a lesson has no order index) are respaced
+ * {@link Lesson#ORDER_INDEX_GAP} apart, one module per transaction, so that later moves keep
+ * writing a single row.
+ */
+@Component
+public class LessonOrderRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(LessonOrderRebalancer.class);
+
+    private final LessonOrderJdbcRepository lessonOrderJdbcRepository;
+    private final LessonService lessonService;
+    private final boolean enabled;
+    private final int minGap;
+    private final int batchSize;
+
+    private final Counter rebalancedModulesCounter;
+    private final Counter rebalancedLessonsCounter;
+
+    @Autowired
+    public LessonOrderRebalancer(LessonOrderJdbcRepository lessonOrderJdbcRepository,
+                                 LessonService lessonService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${minilms.lessons.rebalance.enabled:true}") boolean enabled,
+                                 @Value("${minilms.lessons.rebalance.min-gap:16}") int minGap,
+                                 @Value("${minilms.lessons.rebalance.batch-size:100}") int batchSize) {
+        this.lessonOrderJdbcRepository = lessonOrderJdbcRepository;
+        this.lessonService = lessonService;
+        this.enabled = enabled;
+        this.minGap = minGap;
+        this.batchSize = batchSize;
+
+        this.rebalancedModulesCounter = Counter.builder("minilms.lessons.rebalance.modules")
+                .description("Number of modules whose lesson order indexes were respaced")
+                .register(meterRegistry);
+        this.rebalancedLessonsCounter = Counter.builder("minilms.lessons.rebalance.lessons")
+                .description("Number of lesson order indexes rewritten by rebalancing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Periodically respace crowded modules
+     */
+    @Scheduled(fixedDelayString = "${minilms.lessons.rebalance.interval-ms:60000}")
+    public void scheduledRebalance() {
+        if (enabled) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Respace up to one batch of crowded modules
+     *
+     * @return number of modules respaced
+     */
+    public int rebalance() {
+        List<Long> moduleIds = lessonOrderJdbcRepository.findCrowdedModuleIds(minGap, batchSize);
+        int lessons = 0;
+        for (Long moduleId : moduleIds) {
+            lessons += lessonService.rebalanceModule(moduleId);
+        }
+        if (!moduleIds.isEmpty()) {
+            rebalancedModulesCounter.increment(moduleIds.size());
+            rebalancedLessonsCounter.increment(lessons);
+            log.info("Respaced lesson order indexes of {} modules ({} lessons)", moduleIds.size(), lessons);
+        }
+        return moduleIds.size();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.minilms.service;
+
+import com.example.minilms.repository.LessonProgressJdbcRepository.ProgressRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Event published when lesson progress rows are written, by single updates as well as bulk upserts
+ */
+public record LessonProgressWrittenEvent(List<ProgressWrite> writes) {
+
+    /**
+     * Event for rows written by a bulk upsert, whose start and completion times follow from the upsert rules
+     */
+    public static LessonProgressWrittenEvent of(List<ProgressRow> rows) {
+        return new LessonProgressWrittenEvent(rows.stream()
+                .map(row -> new ProgressWrite(row.userId(), row.lessonId(), row.courseId(), row.completed(),
+                        row.completionPercentage(), null, null, row.timestamp()))
+                .toList());
+    }
+
+    /**
+     * New state of a user's progress on a lesson. The start and completion times are null when the
+     * writer did not read them back: a row is started at its first write and completed at the first
+     * write that completes it.
+     */
+    public record ProgressWrite(String userId, Long lessonId, Long courseId, boolean completed,
+                                int completionPercentage, LocalDateTime startedAt, LocalDateTime completedAt,
+                                LocalDateTime updatedAt) {
+    }
+}
@@ -1,17 +1,32 @@
 package com.example.minilms.service;
 
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.dto.projection.LessonOrderEntry;
 import com.example.minilms.dto.request.LessonCreateRequest;
+import com.example.minilms.dto.request.LessonPositionRequest;
+import com.example.minilms.dto.response.CursorPage;
 import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonContent;
 import com.example.minilms.entity.LessonType;
 import com.example.minilms.entity.Module;
+import com.example.minilms.repository.LessonOrderJdbcRepository;
 import com.example.minilms.repository.LessonRepository;
 import com.example.minilms.repository.ModuleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Service for handling lesson-related operations
@@ -21,12 +36,22 @@ import java.util.Optional;
 public class LessonService {
 
     private final LessonRepository lessonRepository;
+    private final LessonContentStore lessonContentStore;
     private final ModuleRepository moduleRepository;
+    private final LessonOrderJdbcRepository lessonOrderJdbcRepository;
+    private final ProgressRollupService progressRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public LessonService(LessonRepository lessonRepository, ModuleRepository moduleRepository) {
+    public LessonService(LessonRepository lessonRepository, LessonContentStore lessonContentStore,
+                         ModuleRepository moduleRepository, LessonOrderJdbcRepository lessonOrderJdbcRepository,
+                         ProgressRollupService progressRollupService, ApplicationEventPublisher eventPublisher) {
         this.lessonRepository = lessonRepository;
+        this.lessonContentStore = lessonContentStore;
         this.moduleRepository = moduleRepository;
+        this.lessonOrderJdbcRepository = lessonOrderJdbcRepository;
+        this.progressRollupService = progressRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -44,18 +69,28 @@ public class LessonService {
         Lesson lesson = new Lesson();
         lesson.setTitle(request.getTitle());
         lesson.setType(request.getType());
-        lesson.setContent(request.getContent());
+        lesson.describeContent(request.getContent());
         lesson.setModule(module);
 
-        // Set order index if not provided
+        // Append after the last lesson if no order index is provided, respacing a module that reached the
+        // largest index
         if (request.getOrderIndex() == null) {
-            Integer maxOrderIndex = lessonRepository.findMaxOrderIndexByModuleId(moduleId);
-            lesson.setOrderIndex(maxOrderIndex + 1);
+            Integer orderIndex = LessonOrderPlanner.between(lessonRepository.findMaxOrderIndexByModuleId(moduleId), null);
+            if (orderIndex == null) {
+                rebalanceModule(moduleId);
+                orderIndex = LessonOrderPlanner.between(lessonRepository.findMaxOrderIndexByModuleId(moduleId), null);
+            }
+            lesson.setOrderIndex(orderIndex);
         } else {
             lesson.setOrderIndex(request.getOrderIndex());
         }
 
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        lessonContentStore.create(saved, request.getContent());
+        Long courseId = module.getCourse().getId();
+        progressRollupService.onLessonAdded(courseId, moduleId);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(courseId));
+        return saved;
     }
 
     /**
@@ -80,6 +115,30 @@ public class LessonService {
         return lessonRepository.findByModuleIdAndType(moduleId, type);
     }
 
+    /**
+     * Get a keyset page of a module's lessons ordered by (orderIndex, ID), optionally filtered by type
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Lesson> getLessonsPageByModuleId(Long moduleId, LessonType type, String after, int limit) {
+        if (!moduleRepository.existsById(moduleId)) {
+            throw new RuntimeException("Module not found with id: " + moduleId);
+        }
+        int afterOrderIndex = Integer.MIN_VALUE;
+        long afterId = 0L;
+        if (after != null) {
+            long[] keys = CursorPage.decodeCursor(after, 2);
+            if (keys[0] < Integer.MIN_VALUE || keys[0] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid cursor: " + after);
+            }
+            afterOrderIndex = (int) keys[0];
+            afterId = keys[1];
+        }
+        List<Lesson> lessons = lessonRepository.findPageByModuleId(moduleId, type, afterOrderIndex, afterId,
+                Limit.of(limit + 1));
+        return CursorPage.of(lessons, limit,
+                lesson -> CursorPage.encodeCursor(lesson.getOrderIndex(), lesson.getId()));
+    }
+
     /**
      * Get lesson by ID
      */
@@ -88,6 +147,14 @@ public class LessonService {
         return lessonRepository.findById(id);
     }
 
+    /**
+     * Get the stored body of a lesson, compressed or not
+     */
+    @Transactional(readOnly = true)
+    public Optional<LessonContent> getLessonContent(Long id) {
+        return lessonContentStore.find(id);
+    }
+
     /**
      * Update an existing lesson
      */
@@ -102,23 +169,29 @@ public class LessonService {
 
         lesson.setTitle(request.getTitle());
         lesson.setType(request.getType());
-        lesson.setContent(request.getContent());
+        lesson.describeContent(request.getContent());
 
         if (request.getOrderIndex() != null) {
             lesson.setOrderIndex(request.getOrderIndex());
         }
 
-        return lessonRepository.save(lesson);
+        Lesson saved = lessonRepository.save(lesson);
+        lessonContentStore.replace(saved, request.getContent());
+        eventPublisher.publishEvent(new CourseContentChangedEvent(lesson.getModule().getCourse().getId()));
+        return saved;
     }
 
     /**
      * Delete a lesson
      */
     public void deleteLesson(Long id) {
-        if (!lessonRepository.existsById(id)) {
-            throw new RuntimeException("Lesson not found with id: " + id);
-        }
+        LessonLocation location = lessonRepository.findLessonLocation(id)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + id));
+
         lessonRepository.deleteById(id);
+        lessonRepository.flush();
+        progressRollupService.onLessonRemoved(location.courseId(), location.moduleId(), id);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(location.courseId()));
     }
 
     /**
@@ -156,7 +229,7 @@ public class LessonService {
     /**
      * Validate content based on lesson type
      */
-    private boolean isContentValidForType(String content, LessonType type) {
+    boolean isContentValidForType(String content, LessonType type) {
         if (content == null || content.trim().isEmpty()) {
             return false;
         }
@@ -188,23 +261,132 @@ public class LessonService {
 
     /**
      * Reorder lessons within a module
+     *
+     * The list must name every lesson of the module once. Only lessons whose order index has to change
+     * are written, in a single batch.
      */
     public void reorderLessons(Long moduleId, List<Long> lessonIds) {
-        if (!moduleRepository.existsById(moduleId)) {
-            throw new RuntimeException("Module not found with id: " + moduleId);
+        Long courseId = lessonOrderJdbcRepository.lockModule(moduleId)
+                .orElseThrow(() -> new RuntimeException("Module not found with id: " + moduleId));
+
+        Map<Long, LessonOrderEntry> unlisted = new HashMap<>();
+        for (LessonOrderEntry entry : lessonOrderJdbcRepository.findByModuleId(moduleId)) {
+            unlisted.put(entry.lessonId(), entry);
+        }
+        Set<Long> listed = new HashSet<>();
+        List<LessonOrderEntry> ordered = new ArrayList<>(lessonIds.size());
+        for (Long lessonId : lessonIds) {
+            LessonOrderEntry entry = unlisted.remove(lessonId);
+            if (entry == null) {
+                throw new RuntimeException(listed.contains(lessonId)
+                        ? "Lesson " + lessonId + " is listed more than once"
+                        : "Lesson " + lessonId + " does not belong to module " + moduleId);
+            }
+            listed.add(lessonId);
+            ordered.add(entry);
+        }
+        if (!unlisted.isEmpty()) {
+            throw new RuntimeException("Lessons " + new TreeSet<>(unlisted.keySet()) +
+                    " of module " + moduleId + " are missing from the new order");
+        }
+
+        writeOrderIndexes(courseId, LessonOrderPlanner.planReorder(ordered));
+    }
+
+    /**
+     * Move a lesson right after and/or right before other lessons of its module
+     *
+     * Normally only the moved lesson's row is written; the module is respaced when there is no free
+     * order index between its new neighbours.
+     */
+    public Lesson moveLesson(Long id, LessonPositionRequest request) {
+        Long afterId = request.getAfterLessonId();
+        Long beforeId = request.getBeforeLessonId();
+        if (afterId == null && beforeId == null) {
+            throw new IllegalArgumentException("afterLessonId or beforeLessonId is required");
+        }
+        if (id.equals(afterId) || id.equals(beforeId)) {
+            throw new IllegalArgumentException("A lesson cannot be positioned relative to itself");
+        }
+        LessonLocation location = lessonRepository.findLessonLocation(id)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + id));
+        Long moduleId = location.moduleId();
+        lessonOrderJdbcRepository.lockModule(moduleId);
+
+        List<LessonOrderEntry> others = new ArrayList<>();
+        LessonOrderEntry moved = null;
+        for (LessonOrderEntry entry : lessonOrderJdbcRepository.findByModuleId(moduleId)) {
+            if (entry.lessonId() == id) {
+                moved = entry;
+            } else {
+                others.add(entry);
+            }
+        }
+        if (moved == null) {
+            throw new RuntimeException("Lesson not found with id: " + id);
+        }
+        int position = afterId != null
+                ? positionOf(others, afterId, moduleId) + 1
+                : positionOf(others, beforeId, moduleId);
+        if (afterId != null && beforeId != null && positionOf(others, beforeId, moduleId) != position) {
+            throw new IllegalArgumentException("Lessons " + afterId + " and " + beforeId + " are not adjacent");
+        }
+
+        Integer lower = position > 0 ? others.get(position - 1).orderIndex() : null;
+        Integer upper = position < others.size() ? others.get(position).orderIndex() : null;
+        Integer current = moved.orderIndex();
+        boolean inPlace = current != null
+                && (position == 0 || lower != null && current > lower)
+                && (position == others.size() || upper != null && current < upper);
+        if (!inPlace) {
+            boolean neighboursIndexed = (position == 0 || lower != null) && (position == others.size() || upper != null);
+            Integer orderIndex = neighboursIndexed ? LessonOrderPlanner.between(lower, upper) : null;
+            if (orderIndex != null) {
+                writeOrderIndexes(location.courseId(), List.of(new LessonOrderEntry(id, orderIndex)));
+            } else {
+                others.add(position, moved);
+                writeOrderIndexes(location.courseId(), LessonOrderPlanner.planReorder(others));
+            }
         }
+        return lessonRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + id));
+    }
 
-        for (int i = 0; i < lessonIds.size(); i++) {
-            Long lessonId = lessonIds.get(i);
-            Lesson lesson = lessonRepository.findById(lessonId)
-                    .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
+    /**
+     * Respace the order indexes of a module's lessons evenly, keeping their order
+     *
+     * @return number of lessons whose order index changed
+     */
+    public int rebalanceModule(Long moduleId) {
+        Optional<Long> courseId = lessonOrderJdbcRepository.lockModule(moduleId);
+        if (courseId.isEmpty()) {
+            return 0;
+        }
+        List<LessonOrderEntry> changes = LessonOrderPlanner.respace(lessonOrderJdbcRepository.findByModuleId(moduleId));
+        writeOrderIndexes(courseId.get(), changes);
+        return changes.size();
+    }
 
-            if (!lesson.getModule().getId().equals(moduleId)) {
-                throw new RuntimeException("Lesson " + lessonId + " does not belong to module " + moduleId);
+    /**
+     * Position of a lesson among the other lessons of a module
+     */
+    private static int positionOf(List<LessonOrderEntry> entries, Long lessonId, Long moduleId) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).lessonId() == lessonId) {
+                return i;
             }
+        }
+        throw new RuntimeException("Lesson " + lessonId + " does not belong to module " + moduleId);
+    }
 
-            lesson.setOrderIndex(i + 1);
-            lessonRepository.save(lesson);
+    /**
+     * Write changed order indexes in one batch and announce the course change
+     */
+    private void writeOrderIndexes(Long courseId, List<LessonOrderEntry> changes) {
+        if (changes.isEmpty()) {
+            return;
         }
+        lessonOrderJdbcRepository.batchUpdateOrderIndexes(changes, LocalDateTime.now());
+        eventPublisher.publishEvent(new CourseContentChangedEvent(courseId));
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package com.example.minilms.service;
 
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.ResponseView;
 import com.example.minilms.dto.request.ModuleCreateRequest;
+import com.example.minilms.dto.response.CursorPage;
 import com.example.minilms.entity.Course;
 import com.example.minilms.entity.Module;
 import com.example.minilms.repository.CourseRepository;
 import com.example.minilms.repository.ModuleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,11 +26,19 @@ public class ModuleService {
 
     private final ModuleRepository moduleRepository;
     private final CourseRepository courseRepository;
+    private final ProgressRollupService progressRollupService;
+    private final CourseStructureCache courseStructureCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ModuleService(ModuleRepository moduleRepository, CourseRepository courseRepository) {
+    public ModuleService(ModuleRepository moduleRepository, CourseRepository courseRepository,
+                         ProgressRollupService progressRollupService, CourseStructureCache courseStructureCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.moduleRepository = moduleRepository;
         this.courseRepository = courseRepository;
+        this.progressRollupService = progressRollupService;
+        this.courseStructureCache = courseStructureCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -42,29 +55,69 @@ public class ModuleService {
         module.setCoverImageUrl(request.getCoverImageUrl());
         module.setCourse(course);
 
-        return moduleRepository.save(module);
+        Module saved = moduleRepository.save(module);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(courseId));
+        return saved;
     }
 
     /**
-     * Get all modules for a course
+     * Get all modules for a course ordered by ID in the given view
      */
     @Transactional(readOnly = true)
-    public List<Module> getModulesByCourseId(Long courseId) {
+    public List<?> getModulesByCourseId(Long courseId, ResponseView view) {
+        if (view == ResponseView.DETAIL) {
+            return getModulesWithLessonsByCourseId(courseId);
+        }
         if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Course not found with id: " + courseId);
         }
-        return moduleRepository.findByCourseIdOrderByIdAsc(courseId);
+        return view == ResponseView.SUMMARY ?
+                moduleRepository.findSummariesByCourseIdAfter(courseId, 0L, Limit.unlimited()) :
+                moduleRepository.findListItemsByCourseIdAfter(courseId, 0L, Limit.unlimited());
+    }
+
+    /**
+     * Get modules with lessons for a course, served from the structure cache
+     */
+    @Transactional(readOnly = true)
+    public List<CourseStructure.ModuleNode> getModulesWithLessonsByCourseId(Long courseId) {
+        return courseStructureCache.getCourse(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId))
+                .modules();
     }
 
     /**
-     * Get modules with lessons for a course
+     * Get a keyset page of a course's modules ordered by ID in the given view
      */
     @Transactional(readOnly = true)
-    public List<Module> getModulesWithLessonsByCourseId(Long courseId) {
+    public CursorPage<?> getModulesPageByCourseId(Long courseId, String after, int limit, ResponseView view) {
+        if (view == ResponseView.DETAIL) {
+            return getModulesWithLessonsPageByCourseId(courseId, after, limit);
+        }
         if (!courseRepository.existsById(courseId)) {
             throw new RuntimeException("Course not found with id: " + courseId);
         }
-        return moduleRepository.findByCourseIdWithLessons(courseId);
+        long afterId = after != null ? CursorPage.decodeCursor(after, 1)[0] : 0L;
+        Limit fetch = Limit.of(limit + 1);
+        return view == ResponseView.SUMMARY ?
+                CursorPage.of(moduleRepository.findSummariesByCourseIdAfter(courseId, afterId, fetch), limit,
+                        module -> CursorPage.encodeCursor(module.id())) :
+                CursorPage.of(moduleRepository.findListItemsByCourseIdAfter(courseId, afterId, fetch), limit,
+                        module -> CursorPage.encodeCursor(module.id()));
+    }
+
+    /**
+     * Get a keyset page of a course's modules with lessons, sliced from the structure cache
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CourseStructure.ModuleNode> getModulesWithLessonsPageByCourseId(Long courseId, String after,
+                                                                                      int limit) {
+        long afterId = after != null ? CursorPage.decodeCursor(after, 1)[0] : 0L;
+        List<CourseStructure.ModuleNode> modules = getModulesWithLessonsByCourseId(courseId).stream()
+                .filter(module -> module.id() > afterId)
+                .limit(limit + 1L)
+                .toList();
+        return CursorPage.of(modules, limit, module -> CursorPage.encodeCursor(module.id()));
     }
 
     /**
@@ -95,17 +148,23 @@ public class ModuleService {
         module.setThumbnailUrl(request.getThumbnailUrl());
         module.setCoverImageUrl(request.getCoverImageUrl());
 
-        return moduleRepository.save(module);
+        Module saved = moduleRepository.save(module);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(module.getCourse().getId()));
+        return saved;
     }
 
     /**
      * Delete a module
      */
     public void deleteModule(Long id) {
-        if (!moduleRepository.existsById(id)) {
-            throw new RuntimeException("Module not found with id: " + id);
-        }
-        moduleRepository.deleteById(id);
+        Module module = moduleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Module not found with id: " + id));
+        Long courseId = module.getCourse().getId();
+
+        moduleRepository.delete(module);
+        moduleRepository.flush();
+        progressRollupService.onModuleRemoved(courseId, id);
+        eventPublisher.publishEvent(new CourseContentChangedEvent(courseId));
     }
 
     /**
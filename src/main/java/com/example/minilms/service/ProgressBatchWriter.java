@@ -0,0 +1,138 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.repository.LessonProgressJdbcRepository;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ProgressRow;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ProgressState;
+import com.example.minilms.repository.LessonRepository;
+import com.example.minilms.repository.ProgressRollupJdbcRepository.RollupDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Writer of lesson progress rows in bulk, for batch uploads and the write-behind flush
+ *
+ * Locks the course rollups of every (user, course) pair in the rows in a fixed order, so concurrent
+ * bulk and single writes neither deadlock nor interleave, then reads the stored state of the rows.
+ * Rows of lessons that no longer exist are dropped, since lesson_progress has no foreign key to lessons and
+ * their rows were already removed with the lesson. Rows older than the stored progress of their user and
+ * lesson are skipped; the others are upserted and their changes applied to the rollups or completion
+ * bitsets of the configured course progress engine in the same transaction.
+ */
+@Service
+@Transactional
+public class ProgressBatchWriter {
+
+    private static final Comparator<ProgressRow> USER_COURSE_ORDER =
+            Comparator.comparing(ProgressRow::userId).thenComparing(ProgressRow::courseId);
+
+    private final LessonProgressJdbcRepository lessonProgressJdbcRepository;
+    private final LessonRepository lessonRepository;
+    private final ProgressRollupService progressRollupService;
+    private final CompletionIndexService completionIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public ProgressBatchWriter(LessonProgressJdbcRepository lessonProgressJdbcRepository,
+                               LessonRepository lessonRepository,
+                               ProgressRollupService progressRollupService,
+                               CompletionIndexService completionIndexService,
+                               ApplicationEventPublisher eventPublisher) {
+        this.lessonProgressJdbcRepository = lessonProgressJdbcRepository;
+        this.lessonRepository = lessonRepository;
+        this.progressRollupService = progressRollupService;
+        this.completionIndexService = completionIndexService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Write progress rows, at most one per user and lesson
+     *
+     * @return the rows that were not written, because their lesson is gone or their user and lesson
+     * have later progress
+     */
+    public WriteResult write(List<ProgressRow> input) {
+        if (input.isEmpty()) {
+            return new WriteResult(List.of(), List.of());
+        }
+
+        Set<Long> lessonIds = input.stream().map(ProgressRow::lessonId).collect(Collectors.toSet());
+        Set<Long> existing = lessonRepository.findLessonLocations(lessonIds).stream()
+                .map(LessonLocation::lessonId)
+                .collect(Collectors.toSet());
+        List<ProgressRow> rows = new ArrayList<>(input.size());
+        List<ProgressRow> orphaned = new ArrayList<>();
+        for (ProgressRow row : input) {
+            if (existing.contains(row.lessonId())) {
+                rows.add(row);
+            } else {
+                orphaned.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return new WriteResult(List.of(), orphaned);
+        }
+
+        TreeSet<ProgressRow> userCourses = new TreeSet<>(USER_COURSE_ORDER);
+        userCourses.addAll(rows);
+        for (ProgressRow userCourse : userCourses) {
+            progressRollupService.lockUserCourse(userCourse.userId(), userCourse.courseId());
+        }
+
+        Map<List<Object>, ProgressState> stored = new HashMap<>();
+        for (ProgressState state : lessonProgressJdbcRepository.findStates(rows)) {
+            stored.put(List.of(state.userId(), state.lessonId()), state);
+        }
+
+        List<ProgressRow> applied = new ArrayList<>(rows.size());
+        List<ProgressRow> skipped = new ArrayList<>();
+        List<RollupDelta> deltas = new ArrayList<>(rows.size());
+        Map<List<Object>, Map<Long, Boolean>> completedByUserCourse = new LinkedHashMap<>();
+        Map<List<Object>, LocalDateTime> updatedByUserCourse = new HashMap<>();
+        for (ProgressRow row : rows) {
+            ProgressState previous = stored.get(List.of(row.userId(), row.lessonId()));
+            if (previous != null && previous.updatedAt().isAfter(row.timestamp())) {
+                skipped.add(row);
+                continue;
+            }
+            applied.add(row);
+
+            int startedDelta = previous == null ? 1 : 0;
+            int completedDelta = (row.completed() ? 1 : 0) - (previous != null && previous.completed() ? 1 : 0);
+            deltas.add(new RollupDelta(row.userId(), row.courseId(), row.moduleId(), startedDelta, completedDelta,
+                    row.timestamp()));
+
+            List<Object> userCourse = List.of(row.userId(), row.courseId());
+            completedByUserCourse.computeIfAbsent(userCourse, key -> new HashMap<>())
+                    .put(row.lessonId(), row.completed());
+            updatedByUserCourse.merge(userCourse, row.timestamp(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        lessonProgressJdbcRepository.batchUpsert(applied);
+        progressRollupService.applyProgressChanges(deltas);
+        completedByUserCourse.forEach((userCourse, completedByLesson) ->
+                completionIndexService.recordProgress((String) userCourse.get(0), (Long) userCourse.get(1),
+                        completedByLesson, updatedByUserCourse.get(userCourse)));
+        eventPublisher.publishEvent(LessonProgressWrittenEvent.of(applied));
+        return new WriteResult(skipped, orphaned);
+    }
+
+    /**
+     * Rows left unwritten: overtaken by later progress of their user and lesson, or of a deleted lesson
+     */
+    public record WriteResult(List<ProgressRow> skipped, List<ProgressRow> orphaned) {
+    }
+}
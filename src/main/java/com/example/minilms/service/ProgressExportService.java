@@ -0,0 +1,296 @@
+package com.example.minilms.service;
+
+import com.example.minilms.repository.LessonProgressJdbcRepository;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ExportFilter;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service for streaming exports of lesson progress rows
+ *
+ * Rows are read with a forward-only cursor and written to the response as they arrive, so memory use
+ * does not depend on the number of rows exported. The export runs in one read-only transaction and
+ * is ordered by (updatedAt, id): a client that lost the connection, or wants only the changes since
+ * its last export, passes the updatedAt and id of the last row it received as the watermark.
+ *
+ * updatedAt is set when a row is written, not when it commits, so a row can become visible after rows
+ * with a later updatedAt have already been exported: by up to the longest progress transaction, and with
+ * write-behind buffering also the flush interval ({@code minilms.progress.write-behind.flush-interval-ms}).
+ * Resuming at the watermark returns the rest of what the interrupted export would have sent; to also see
+ * rows committed since, as an incremental export must, start a safety lag earlier, at
+ * {@code updatedFrom = watermark - flushInterval - maxTxDuration}, and drop rows already received by id
+ * and updatedAt. Offline batch uploads keep the client's timestamp as updatedAt, so rows they
+ * write can fall behind any lag; consumers that need them re-export the affected course.
+ */
+@Service
+public class ProgressExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressExportService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "id,user_id,lesson_id,module_id,course_id,completed," +
+            "completion_percentage,started_at,completed_at,created_at,updated_at";
+
+    /**
+     * Export formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parse a format name, ignoring case
+         */
+        public static Format fromName(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + name);
+            }
+        }
+    }
+
+    private final LessonProgressJdbcRepository lessonProgressJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int fetchSize;
+
+    private final Map<Format, Counter> rowCounters = new EnumMap<>(Format.class);
+
+    @Autowired
+    public ProgressExportService(LessonProgressJdbcRepository lessonProgressJdbcRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${minilms.export.fetch-size:1000}") int fetchSize) {
+        this.lessonProgressJdbcRepository = lessonProgressJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+
+        for (Format format : Format.values()) {
+            rowCounters.put(format, Counter.builder("minilms.export.progress.rows")
+                    .description("Number of lesson progress rows written by exports")
+                    .tag("format", format.getExtension())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Check a filter before the response is committed
+     */
+    public void validate(ExportFilter filter) {
+        if ((filter.afterUpdatedAt() == null) != (filter.afterId() == null)) {
+            throw new IllegalArgumentException("afterUpdatedAt and afterId must be given together");
+        }
+        if (filter.updatedFrom() != null && filter.updatedTo() != null
+                && !filter.updatedFrom().isBefore(filter.updatedTo())) {
+            throw new IllegalArgumentException("updatedFrom must be before updatedTo");
+        }
+    }
+
+    /**
+     * Write the progress rows matching a filter to the output in the given format
+     *
+     * @return number of rows written
+     */
+    public long export(ExportFilter filter, Format format, OutputStream output) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(output) : new NdjsonRowWriter(output);
+        long[] rows = new long[1];
+        try {
+            writer.begin();
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                    lessonProgressJdbcRepository.forEachForExport(filter, fetchSize, row -> {
+                        try {
+                            writer.write(row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    }));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the rows it received tell it where to resume
+            log.info("Progress export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            rowCounters.get(format).increment(rows[0]);
+        }
+        log.info("Exported {} progress rows as {}", rows[0], format);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+
+        void begin() throws IOException;
+
+        void write(ExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header line and ISO-8601 timestamps; null values are empty fields
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer out;
+
+        CsvRowWriter(OutputStream output) {
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        public void begin() throws IOException {
+            out.write(CSV_HEADER);
+            out.write("\r\n");
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            out.write(Long.toString(row.id()));
+            out.write(',');
+            writeText(row.userId());
+            out.write(',');
+            out.write(Long.toString(row.lessonId()));
+            out.write(',');
+            out.write(Long.toString(row.moduleId()));
+            out.write(',');
+            out.write(Long.toString(row.courseId()));
+            out.write(',');
+            out.write(Boolean.toString(row.completed()));
+            out.write(',');
+            if (row.completionPercentage() != null) {
+                out.write(row.completionPercentage().toString());
+            }
+            out.write(',');
+            writeTimestamp(row.startedAt());
+            out.write(',');
+            writeTimestamp(row.completedAt());
+            out.write(',');
+            writeTimestamp(row.createdAt());
+            out.write(',');
+            writeTimestamp(row.updatedAt());
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        private void writeTimestamp(LocalDateTime value) throws IOException {
+            if (value != null) {
+                out.write(value.toString());
+            }
+        }
+    }
+
+    /**
+     * One JSON object per line, with the field names of the progress API responses
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final OutputStream output;
+        private JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream output) {
+            this.output = output;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(output);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.id());
+            generator.writeStringField("userId", row.userId());
+            generator.writeNumberField("lessonId", row.lessonId());
+            generator.writeNumberField("moduleId", row.moduleId());
+            generator.writeNumberField("courseId", row.courseId());
+            generator.writeBooleanField("completed", row.completed());
+            if (row.completionPercentage() != null) {
+                generator.writeNumberField("completionPercentage", row.completionPercentage());
+            } else {
+                generator.writeNullField("completionPercentage");
+            }
+            writeTimestamp("startedAt", row.startedAt());
+            writeTimestamp("completedAt", row.completedAt());
+            writeTimestamp("createdAt", row.createdAt());
+            writeTimestamp("updatedAt", row.updatedAt());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private void writeTimestamp(String field, LocalDateTime value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(field, value.toString());
+            } else {
+                generator.writeNullField(field);
+            }
+        }
+    }
+}
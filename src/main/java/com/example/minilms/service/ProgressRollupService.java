@@ -0,0 +1,223 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.dto.projection.ModuleOutline;
+import com.example.minilms.entity.UserCourseProgress;
+import com.example.minilms.entity.UserModuleProgress;
+import com.example.minilms.repository.*;
+import com.example.minilms.repository.ProgressRollupJdbcRepository.CourseRollupRow;
+import com.example.minilms.service.ProgressService.CourseProgressEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Service maintaining the per-user module and course progress rollups
+ *
+ * Lesson progress writes, single or bulk, are applied as deltas while the user's course rollup
+ * row is locked, so that concurrent writes for the same user and course cannot lose an update.
+ * Rollups are materialized from lesson_progress by the first write of a user in a course;
+ * until then reads aggregate directly from lesson_progress.
+ *
+ * Rollups are only maintained when the {@link CourseProgressEngine#ROLLUP} engine reads them. With
+ * another engine writes still lock the user's course rollup row, which then only serves as the lock,
+ * and the rollups left by an earlier run are cleared at startup; they are materialized again by the
+ * first write of each user in a course once the engine is switched back.
+ */
+@Service
+@Transactional
+public class ProgressRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressRollupService.class);
+
+    private final UserModuleProgressRepository userModuleProgressRepository;
+    private final UserCourseProgressRepository userCourseProgressRepository;
+    private final ProgressRollupJdbcRepository rollupJdbcRepository;
+    private final ModuleRepository moduleRepository;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final boolean maintained;
+
+    @Autowired
+    public ProgressRollupService(UserModuleProgressRepository userModuleProgressRepository,
+                                 UserCourseProgressRepository userCourseProgressRepository,
+                                 ProgressRollupJdbcRepository rollupJdbcRepository,
+                                 ModuleRepository moduleRepository,
+                                 LessonProgressRepository lessonProgressRepository,
+                                 @Value("${minilms.progress.course-engine:ROLLUP}") CourseProgressEngine courseProgressEngine) {
+        this.userModuleProgressRepository = userModuleProgressRepository;
+        this.userCourseProgressRepository = userCourseProgressRepository;
+        this.rollupJdbcRepository = rollupJdbcRepository;
+        this.moduleRepository = moduleRepository;
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.maintained = courseProgressEngine == CourseProgressEngine.ROLLUP;
+    }
+
+    /**
+     * Clear rollups left by a run with the rollup engine when another engine is configured,
+     * since writes no longer keep them current
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void clearUnmaintainedRollups() {
+        if (!maintained) {
+            rollupJdbcRepository.clearRollups();
+        }
+    }
+
+    /**
+     * Lock a user's rollups of a course for a progress write, materializing them from lesson_progress
+     * first when they are missing. Must be called before the lesson progress rows being written are read,
+     * so that concurrent writes for the same user and course are applied one after the other.
+     */
+    public void lockUserCourse(String userId, Long courseId) {
+        while (true) {
+            // Every write after a user's first in the course finds the row here
+            CourseRollupRow row = rollupJdbcRepository.lockCourseRollup(userId, courseId);
+            if (row == CourseRollupRow.MATERIALIZED || (row == CourseRollupRow.LOCK_ONLY && !maintained)) {
+                return;
+            }
+            if (row == CourseRollupRow.LOCK_ONLY
+                    || rollupJdbcRepository.insertEmptyCourseRollup(userId, courseId, LocalDateTime.now(), !maintained)) {
+                // First progress in this course, rollups dropped by a course rebuild or left unmaintained
+                if (maintained) {
+                    CourseTotals totals = courseTotals(courseId);
+                    rollupJdbcRepository.buildUserCourse(courseId, userId, totals.lessons(), totals.modules());
+                }
+                return;
+            }
+            // Inserted by a concurrent first write since the lock found no row
+        }
+    }
+
+    /**
+     * Apply a single lesson progress change to the user's rollups.
+     * The lesson progress row must already be flushed, under {@link #lockUserCourse(String, Long)}.
+     */
+    public void applyProgressChange(String userId, LessonLocation location, boolean wasStarted, boolean wasCompleted,
+                                    boolean completed, LocalDateTime updatedAt) {
+        int startedDelta = wasStarted ? 0 : 1;
+        int completedDelta = (completed ? 1 : 0) - (wasCompleted ? 1 : 0);
+        applyProgressChanges(List.of(new ProgressRollupJdbcRepository.RollupDelta(userId, location.courseId(),
+                location.moduleId(), startedDelta, completedDelta, updatedAt)));
+    }
+
+    /**
+     * Apply lesson progress changes to the rollups of their users, whose course rollups must be locked
+     */
+    public void applyProgressChanges(List<ProgressRollupJdbcRepository.RollupDelta> deltas) {
+        if (maintained) {
+            rollupJdbcRepository.applyDeltas(deltas);
+        }
+    }
+
+    /**
+     * Get a user's module rollups for a course, aggregating from lesson_progress when they are not materialized
+     */
+    @Transactional(readOnly = true)
+    public CourseRollup getCourseRollup(String userId, Long courseId) {
+        Optional<UserCourseProgress> course = userCourseProgressRepository.findById(
+                new UserCourseProgress.Key(userId, courseId));
+        if (course.isPresent() && course.get().getTotalModules() != ProgressRollupJdbcRepository.LOCK_ONLY_MODULES) {
+            return new CourseRollup(course.get().getLastUpdated(),
+                    userModuleProgressRepository.findByUserIdAndCourseId(userId, courseId));
+        }
+
+        List<UserModuleProgress> modules = rollupJdbcRepository.aggregateUserModules(userId, courseId);
+        LocalDateTime lastUpdated = modules.stream()
+                .map(UserModuleProgress::getLastUpdated)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new CourseRollup(lastUpdated, modules);
+    }
+
+    /**
+     * Repair job: rebuild every user's rollups for a course from lesson_progress
+     *
+     * @return number of users with rebuilt course rollups
+     */
+    public int rebuildCourse(Long courseId) {
+        if (!maintained) {
+            log.info("Progress rollups are not maintained by the configured engine; not rebuilding course {}", courseId);
+            return 0;
+        }
+        CourseTotals totals = courseTotals(courseId);
+        int rebuilt = rollupJdbcRepository.rebuild(courseId, null, totals.lessons(), totals.modules());
+        log.info("Rebuilt progress rollups for course {} ({} users)", courseId, rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Update rollups after a lesson was added to a module
+     */
+    public void onLessonAdded(Long courseId, Long moduleId) {
+        refreshModule(courseId, moduleId);
+    }
+
+    /**
+     * Update rollups after a lesson was removed from a module, then delete the lesson's progress rows.
+     * Must be called while the lesson's progress rows still exist.
+     */
+    public void onLessonRemoved(Long courseId, Long moduleId, Long lessonId) {
+        if (maintained) {
+            rollupJdbcRepository.subtractLessonProgress(moduleId, lessonId);
+        }
+        lessonProgressRepository.deleteByLessonId(lessonId);
+        refreshModule(courseId, moduleId);
+    }
+
+    /**
+     * Delete the rollups and progress rows of a deleted module
+     */
+    public void onModuleRemoved(Long courseId, Long moduleId) {
+        lessonProgressRepository.deleteByCourseIdAndModuleId(courseId, moduleId);
+        if (maintained) {
+            rollupJdbcRepository.deleteModuleRollups(moduleId);
+            CourseTotals totals = courseTotals(courseId);
+            rollupJdbcRepository.refreshCourseRollups(courseId, totals.lessons(), totals.modules());
+        }
+    }
+
+    /**
+     * Delete all rollups and progress rows of a deleted course
+     */
+    public void onCourseRemoved(Long courseId) {
+        rollupJdbcRepository.deleteCourseRollups(courseId);
+        lessonProgressRepository.deleteByCourseId(courseId);
+    }
+
+    private void refreshModule(Long courseId, Long moduleId) {
+        if (!maintained) {
+            return;
+        }
+        int moduleLessons = moduleRepository.countLessonsByModuleId(moduleId).intValue();
+        rollupJdbcRepository.refreshModuleTotals(moduleId, moduleLessons);
+
+        CourseTotals totals = courseTotals(courseId);
+        rollupJdbcRepository.refreshCourseRollups(courseId, totals.lessons(), totals.modules());
+    }
+
+    private CourseTotals courseTotals(Long courseId) {
+        List<ModuleOutline> modules = moduleRepository.findNonEmptyOutlinesByCourseId(courseId);
+        int lessons = modules.stream().mapToInt(module -> (int) module.lessonCount()).sum();
+        return new CourseTotals(lessons, modules.size());
+    }
+
+    /**
+     * Lesson and non-empty module counts of a course
+     */
+    private record CourseTotals(int lessons, int modules) {
+    }
+
+    /**
+     * A user's module rollups for a course and the latest progress timestamp across them
+     */
+    public record CourseRollup(LocalDateTime lastUpdated, List<UserModuleProgress> modules) {
+    }
+}
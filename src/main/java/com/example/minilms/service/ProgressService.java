@@ -1,12 +1,24 @@
 package com.example.minilms.service;
 
+import com.example.minilms.dto.projection.CompletionLayout;
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.CourseStructure.LessonNode;
+import com.example.minilms.dto.projection.CourseStructure.ModuleNode;
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.dto.request.ProgressBatchItem;
 import com.example.minilms.dto.response.LessonProgressInfo;
 import com.example.minilms.dto.response.ModuleProgressInfo;
+import com.example.minilms.dto.response.ProgressBatchItemResult;
+import com.example.minilms.dto.response.ProgressBatchResponse;
 import com.example.minilms.dto.response.ProgressResponse;
 import com.example.minilms.entity.*;
-import com.example.minilms.entity.Module;
+import com.example.minilms.metrics.RequestTimings;
+import com.example.minilms.metrics.RequestTimings.Stage;
+import com.example.minilms.metrics.RequestTimings.StageScope;
 import com.example.minilms.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,35 +37,93 @@ public class ProgressService {
     private final CourseRepository courseRepository;
     private final ModuleRepository moduleRepository;
     private final LessonRepository lessonRepository;
+    private final LessonProgressJdbcRepository lessonProgressJdbcRepository;
+    private final ProgressWriteBehindBuffer writeBehindBuffer;
+    private final ProgressRollupService progressRollupService;
+    private final ProgressBatchWriter progressBatchWriter;
+    private final CourseStructureCache courseStructureCache;
+    private final CompletionIndexService completionIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseProgressEngine courseProgressEngine;
 
     @Autowired
     public ProgressService(LessonProgressRepository lessonProgressRepository,
                            CourseRepository courseRepository,
                            ModuleRepository moduleRepository,
-                           LessonRepository lessonRepository) {
+                           LessonRepository lessonRepository,
+                           LessonProgressJdbcRepository lessonProgressJdbcRepository,
+                           ProgressWriteBehindBuffer writeBehindBuffer,
+                           ProgressRollupService progressRollupService,
+                           ProgressBatchWriter progressBatchWriter,
+                           CourseStructureCache courseStructureCache,
+                           CompletionIndexService completionIndexService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${minilms.progress.course-engine:ROLLUP}") CourseProgressEngine courseProgressEngine) {
         this.lessonProgressRepository = lessonProgressRepository;
+        this.lessonProgressJdbcRepository = lessonProgressJdbcRepository;
         this.courseRepository = courseRepository;
         this.moduleRepository = moduleRepository;
         this.lessonRepository = lessonRepository;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.progressRollupService = progressRollupService;
+        this.progressBatchWriter = progressBatchWriter;
+        this.courseStructureCache = courseStructureCache;
+        this.completionIndexService = completionIndexService;
+        this.eventPublisher = eventPublisher;
+        this.courseProgressEngine = courseProgressEngine;
+    }
+
+    /**
+     * Check if progress updates are buffered and written behind
+     */
+    public boolean isWriteBehindEnabled() {
+        return writeBehindBuffer.isEnabled();
+    }
+
+    /**
+     * Buffer a lesson progress update for asynchronous batched persistence.
+     * Only validates that the lesson exists; the returned progress is not yet persisted.
+     */
+    @Transactional(readOnly = true)
+    public LessonProgress enqueueLessonProgress(String userId, Long lessonId, Boolean completed, Integer completionPercentage) {
+        LessonLocation location = courseStructureCache.findLessonLocation(lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
+
+        LessonProgress resolved = resolveProgress(userId, lessonId, completed, completionPercentage);
+        ProgressWriteBehindBuffer.PendingProgress pending = writeBehindBuffer.submit(
+                userId, location, resolved.getCompleted(), resolved.getCompletionPercentage());
+
+        LessonProgress progress = new LessonProgress(userId, lessonId, pending.completed());
+        progress.setModuleId(pending.moduleId());
+        progress.setCourseId(pending.courseId());
+        progress.setCompletionPercentage(pending.completionPercentage());
+        progress.setUpdatedAt(pending.updatedAt());
+        return progress;
     }
 
     /**
      * Mark lesson as completed or update progress
      */
     public LessonProgress updateLessonProgress(String userId, Long lessonId, Boolean completed, Integer completionPercentage) {
-        // Validate lesson exists
-        if (!lessonRepository.existsById(lessonId)) {
-            throw new RuntimeException("Lesson not found with id: " + lessonId);
-        }
+        // Validate lesson exists and resolve where it lives
+        LessonLocation location = courseStructureCache.findLessonLocation(lessonId)
+                .orElseThrow(() -> new RuntimeException("Lesson not found with id: " + lessonId));
 
+        // Serializes writes of this user in the course, so the previous state read below stays current
+        progressRollupService.lockUserCourse(userId, location.courseId());
         Optional<LessonProgress> existingProgress = lessonProgressRepository.findByUserIdAndLessonId(userId, lessonId);
 
         LessonProgress progress;
+        boolean wasStarted = existingProgress.isPresent();
+        boolean wasCompleted = false;
         if (existingProgress.isPresent()) {
             progress = existingProgress.get();
+            wasCompleted = progress.getCompleted();
         } else {
             progress = new LessonProgress(userId, lessonId);
         }
+        progress.setModuleId(location.moduleId());
+        progress.setCourseId(location.courseId());
 
         // Update progress based on parameters
         if (completed != null) {
@@ -66,7 +136,121 @@ public class ProgressService {
             progress.updateProgress(completionPercentage);
         }
 
-        return lessonProgressRepository.save(progress);
+        LessonProgress saved = lessonProgressRepository.saveAndFlush(progress);
+        progressRollupService.applyProgressChange(userId, location, wasStarted, wasCompleted,
+                saved.getCompleted(), saved.getUpdatedAt());
+        completionIndexService.recordProgress(userId, lessonId, saved.getCompleted(), saved.getUpdatedAt());
+        eventPublisher.publishEvent(new LessonProgressWrittenEvent(List.of(new LessonProgressWrittenEvent.ProgressWrite(
+                userId, lessonId, location.courseId(), saved.getCompleted(), saved.getCompletionPercentage(),
+                saved.getStartedAt(), saved.getCompletedAt(), saved.getUpdatedAt()))));
+        return saved;
+    }
+
+    /**
+     * Apply a batch of progress events in one transaction using the native upsert path.
+     * Events for the same user and lesson are coalesced so that the one with the latest
+     * client timestamp (or the last one in the batch) wins, and an event is skipped when
+     * the stored progress of its user and lesson was updated after its client timestamp.
+     */
+    public ProgressBatchResponse applyProgressBatch(List<ProgressBatchItem> items) {
+        ProgressBatchItemResult[] results = new ProgressBatchItemResult[items.size()];
+
+        Set<Long> lessonIds = items.stream()
+                .map(ProgressBatchItem::getLessonId)
+                .collect(Collectors.toSet());
+        Map<Long, LessonLocation> locations = lessonRepository.findLessonLocations(lessonIds).stream()
+                .collect(Collectors.toMap(LessonLocation::lessonId, location -> location));
+
+        // Latest event index per (userId, lessonId)
+        Map<ProgressWriteBehindBuffer.ProgressKey, Integer> latestByKey = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            ProgressBatchItem item = items.get(i);
+            if (!locations.containsKey(item.getLessonId())) {
+                results[i] = batchResult(i, item, ProgressBatchItemResult.Status.REJECTED,
+                        "Lesson not found with id: " + item.getLessonId());
+                continue;
+            }
+            if (item.getCompleted() == null && item.getCompletionPercentage() == null) {
+                results[i] = batchResult(i, item, ProgressBatchItemResult.Status.REJECTED,
+                        "Either completed or completionPercentage is required");
+                continue;
+            }
+
+            ProgressWriteBehindBuffer.ProgressKey key =
+                    new ProgressWriteBehindBuffer.ProgressKey(item.getUserId(), item.getLessonId());
+            Integer previous = latestByKey.get(key);
+            if (previous == null || !isBefore(item, items.get(previous))) {
+                latestByKey.put(key, i);
+                if (previous != null) {
+                    results[previous] = batchResult(previous, items.get(previous),
+                            ProgressBatchItemResult.Status.SUPERSEDED, null);
+                }
+            } else {
+                results[i] = batchResult(i, item, ProgressBatchItemResult.Status.SUPERSEDED, null);
+            }
+        }
+
+        // Client timestamps order events against stored progress, but may not lie in the future
+        LocalDateTime now = LocalDateTime.now();
+        List<LessonProgressJdbcRepository.ProgressRow> rows = new ArrayList<>(latestByKey.size());
+        for (int index : latestByKey.values()) {
+            ProgressBatchItem item = items.get(index);
+            LessonProgress resolved = resolveProgress(item.getUserId(), item.getLessonId(),
+                    item.getCompleted(), item.getCompletionPercentage());
+            LessonLocation location = locations.get(item.getLessonId());
+            LocalDateTime timestamp = item.getClientTimestamp() != null && item.getClientTimestamp().isBefore(now)
+                    ? item.getClientTimestamp() : now;
+            rows.add(new LessonProgressJdbcRepository.ProgressRow(item.getUserId(), item.getLessonId(),
+                    location.moduleId(), location.courseId(),
+                    resolved.getCompleted(), resolved.getCompletionPercentage(), timestamp));
+            results[index] = batchResult(index, item, ProgressBatchItemResult.Status.APPLIED, null);
+        }
+
+        ProgressBatchWriter.WriteResult written = progressBatchWriter.write(rows);
+        for (LessonProgressJdbcRepository.ProgressRow row : written.skipped()) {
+            int index = latestByKey.get(new ProgressWriteBehindBuffer.ProgressKey(row.userId(), row.lessonId()));
+            results[index] = batchResult(index, items.get(index), ProgressBatchItemResult.Status.SKIPPED,
+                    "Progress of this user and lesson was updated after " + row.timestamp());
+        }
+        for (LessonProgressJdbcRepository.ProgressRow row : written.orphaned()) {
+            // Deleted since the lessons were looked up above
+            int index = latestByKey.get(new ProgressWriteBehindBuffer.ProgressKey(row.userId(), row.lessonId()));
+            results[index] = batchResult(index, items.get(index), ProgressBatchItemResult.Status.REJECTED,
+                    "Lesson not found with id: " + row.lessonId());
+        }
+
+        return new ProgressBatchResponse(Arrays.asList(results));
+    }
+
+    /**
+     * Check if a batch event happened strictly before another one according to client timestamps
+     */
+    private boolean isBefore(ProgressBatchItem item, ProgressBatchItem other) {
+        return item.getClientTimestamp() != null && other.getClientTimestamp() != null
+                && item.getClientTimestamp().isBefore(other.getClientTimestamp());
+    }
+
+    private ProgressBatchItemResult batchResult(int index, ProgressBatchItem item,
+                                                ProgressBatchItemResult.Status status, String message) {
+        return new ProgressBatchItemResult(index, item.getUserId(), item.getLessonId(), status, message);
+    }
+
+    /**
+     * Resolve a requested progress change into its final completed flag and percentage,
+     * following the same rules as the synchronous update path
+     */
+    private LessonProgress resolveProgress(String userId, Long lessonId, Boolean completed, Integer completionPercentage) {
+        LessonProgress resolved = new LessonProgress(userId, lessonId);
+        if (completed != null) {
+            if (completed) {
+                resolved.markAsCompleted();
+            } else {
+                resolved.markAsIncomplete();
+            }
+        } else if (completionPercentage != null) {
+            resolved.updateProgress(completionPercentage);
+        }
+        return resolved;
     }
 
     /**
@@ -74,18 +258,129 @@ public class ProgressService {
      */
     @Transactional(readOnly = true)
     public ProgressResponse getCourseProgress(String userId, Long courseId) {
-        Course course = courseRepository.findByIdWithModulesAndLessons(courseId)
+        try (StageScope scope = RequestTimings.start(Stage.PROGRESS_AGGREGATION)) {
+            return switch (courseProgressEngine) {
+                case ROLLUP -> getCourseProgressFromRollups(userId, courseId);
+                case BITSET -> getCourseProgressFromCompletionIndex(userId, courseId);
+                case ENTITY -> getCourseProgressFromEntities(userId, courseId);
+                case SQL -> getCourseProgressFromSql(userId, courseId);
+            };
+        }
+    }
+
+    /**
+     * Build course progress from the persisted per-user rollups
+     */
+    private ProgressResponse getCourseProgressFromRollups(String userId, Long courseId) {
+        CourseStructure course = courseStructureCache.getCourse(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
 
-        ProgressResponse response = new ProgressResponse(userId, courseId, "course", course.getTitle());
+        ProgressResponse response = new ProgressResponse(userId, courseId, "course", course.title());
 
-        // Get all lesson IDs in the course
-        List<Long> allLessonIds = course.getModules().stream()
-                .flatMap(module -> module.getLessons().stream())
-                .map(Lesson::getId)
-                .collect(Collectors.toList());
+        List<ModuleNode> modules = course.getNonEmptyModules();
+        if (modules.isEmpty()) {
+            response.setProgressPercentage(0.0);
+            response.setTotalLessons(0);
+            response.setCompletedLessons(0);
+            response.setStartedLessons(0);
+            return response;
+        }
+
+        ProgressRollupService.CourseRollup rollup = progressRollupService.getCourseRollup(userId, courseId);
+        Map<Long, UserModuleProgress> rollupByModule = rollup.modules().stream()
+                .collect(Collectors.toMap(UserModuleProgress::getModuleId, m -> m));
+
+        List<ModuleProgressInfo> moduleProgresses = new ArrayList<>();
+        double totalModuleProgress = 0.0;
+        int totalLessons = 0;
+        int completedLessons = 0;
+        int startedLessons = 0;
+
+        for (ModuleNode module : modules) {
+            ModuleProgressInfo moduleProgress = new ModuleProgressInfo(module.id(), module.title());
+            moduleProgress.setTotalLessons(module.lessons().size());
+
+            UserModuleProgress moduleRollup = rollupByModule.get(module.id());
+            if (moduleRollup != null) {
+                moduleProgress.setStartedLessons(moduleRollup.getStartedLessons());
+                moduleProgress.setCompletedLessons(moduleRollup.getCompletedLessons());
+                moduleProgress.setProgressPercentage(moduleRollup.getProgressPercentage());
+            }
+
+            moduleProgresses.add(moduleProgress);
+            totalModuleProgress += moduleProgress.getProgressPercentage();
+            totalLessons += moduleProgress.getTotalLessons();
+            completedLessons += moduleProgress.getCompletedLessons();
+            startedLessons += moduleProgress.getStartedLessons();
+        }
+
+        response.setTotalLessons(totalLessons);
+        response.setCompletedLessons(completedLessons);
+        response.setStartedLessons(startedLessons);
+        response.setProgressPercentage(totalModuleProgress / modules.size());
+        response.setModuleProgresses(moduleProgresses);
+        response.setLastUpdated(rollup.lastUpdated() != null ? rollup.lastUpdated() : LocalDateTime.now());
+
+        return response;
+    }
+
+    /**
+     * Build course progress from popcounts over the user's completion bitsets
+     */
+    private ProgressResponse getCourseProgressFromCompletionIndex(String userId, Long courseId) {
+        CourseStructure course = courseStructureCache.getCourse(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
 
-        if (allLessonIds.isEmpty()) {
+        ProgressResponse response = new ProgressResponse(userId, courseId, "course", course.title());
+
+        List<ModuleNode> modules = course.getNonEmptyModules();
+        if (modules.isEmpty()) {
+            response.setProgressPercentage(0.0);
+            response.setTotalLessons(0);
+            response.setCompletedLessons(0);
+            response.setStartedLessons(0);
+            return response;
+        }
+
+        CompletionIndexService.CompletionIndex index = completionIndexService.getIndex(userId, course);
+
+        List<ModuleProgressInfo> moduleProgresses = new ArrayList<>();
+        double totalModuleProgress = 0.0;
+
+        for (ModuleNode module : modules) {
+            CompletionLayout.Range range = index.layout().moduleRanges().get(module.id());
+            int completedLessons = index.countCompleted(range);
+
+            ModuleProgressInfo moduleProgress = new ModuleProgressInfo(module.id(), module.title());
+            moduleProgress.setTotalLessons(range.size());
+            moduleProgress.setCompletedLessons(completedLessons);
+            moduleProgress.setStartedLessons(index.countStarted(range));
+            moduleProgress.setProgressPercentage((double) completedLessons / range.size() * 100);
+
+            moduleProgresses.add(moduleProgress);
+            totalModuleProgress += moduleProgress.getProgressPercentage();
+        }
+
+        response.setTotalLessons(course.getTotalLessons());
+        response.setCompletedLessons(index.countCompleted());
+        response.setStartedLessons(index.countStarted());
+        response.setProgressPercentage(totalModuleProgress / modules.size());
+        response.setModuleProgresses(moduleProgresses);
+        response.setLastUpdated(index.lastUpdated() != null ? index.lastUpdated() : LocalDateTime.now());
+
+        return response;
+    }
+
+    /**
+     * Build course progress from the course structure and every lesson progress row of the user
+     */
+    private ProgressResponse getCourseProgressFromEntities(String userId, Long courseId) {
+        CourseStructure course = courseStructureCache.getCourse(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with id: " + courseId));
+
+        ProgressResponse response = new ProgressResponse(userId, courseId, "course", course.title());
+
+        if (course.getTotalLessons() == 0) {
             response.setProgressPercentage(0.0);
             response.setTotalLessons(0);
             response.setCompletedLessons(0);
@@ -103,17 +398,15 @@ public class ProgressService {
         double totalModuleProgress = 0.0;
         int modulesWithLessons = 0;
 
-        for (Module module : course.getModules()) {
-            if (!module.getLessons().isEmpty()) {
-                ModuleProgressInfo moduleProgress = calculateModuleProgress(userId, module, progressMap);
-                moduleProgresses.add(moduleProgress);
-                totalModuleProgress += moduleProgress.getProgressPercentage();
-                modulesWithLessons++;
-            }
+        for (ModuleNode module : course.getNonEmptyModules()) {
+            ModuleProgressInfo moduleProgress = calculateModuleProgress(module, progressMap);
+            moduleProgresses.add(moduleProgress);
+            totalModuleProgress += moduleProgress.getProgressPercentage();
+            modulesWithLessons++;
         }
 
         // Set course-level statistics
-        response.setTotalLessons(allLessonIds.size());
+        response.setTotalLessons(course.getTotalLessons());
         response.setCompletedLessons((int) userProgress.stream().filter(LessonProgress::getCompleted).count());
         response.setStartedLessons(userProgress.size());
         response.setProgressPercentage(modulesWithLessons > 0 ? totalModuleProgress / modulesWithLessons : 0.0);
@@ -128,17 +421,81 @@ public class ProgressService {
         return response;
     }
 
+    /**
+     * Build course progress from per-module counts aggregated in a single SQL query
+     */
+    private ProgressResponse getCourseProgressFromSql(String userId, Long courseId) {
+        List<LessonProgressJdbcRepository.ModuleProgressRow> rows =
+                lessonProgressJdbcRepository.findCourseProgressByModule(userId, courseId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+
+        ProgressResponse response = new ProgressResponse(userId, courseId, "course", rows.get(0).courseTitle());
+
+        List<ModuleProgressInfo> moduleProgresses = new ArrayList<>();
+        double totalModuleProgress = 0.0;
+        int totalLessons = 0;
+        int completedLessons = 0;
+        int startedLessons = 0;
+        LocalDateTime lastUpdated = null;
+
+        for (LessonProgressJdbcRepository.ModuleProgressRow row : rows) {
+            if (row.totalLessons() == 0) {
+                continue;
+            }
+            ModuleProgressInfo moduleProgress = new ModuleProgressInfo(row.moduleId(), row.moduleTitle());
+            moduleProgress.setTotalLessons(row.totalLessons());
+            moduleProgress.setStartedLessons(row.startedLessons());
+            moduleProgress.setCompletedLessons(row.completedLessons());
+            moduleProgress.setProgressPercentage((double) row.completedLessons() / row.totalLessons() * 100);
+
+            moduleProgresses.add(moduleProgress);
+            totalModuleProgress += moduleProgress.getProgressPercentage();
+            totalLessons += row.totalLessons();
+            completedLessons += row.completedLessons();
+            startedLessons += row.startedLessons();
+            if (row.lastUpdated() != null && (lastUpdated == null || row.lastUpdated().isAfter(lastUpdated))) {
+                lastUpdated = row.lastUpdated();
+            }
+        }
+
+        if (moduleProgresses.isEmpty()) {
+            response.setProgressPercentage(0.0);
+            response.setTotalLessons(0);
+            response.setCompletedLessons(0);
+            response.setStartedLessons(0);
+            return response;
+        }
+
+        response.setTotalLessons(totalLessons);
+        response.setCompletedLessons(completedLessons);
+        response.setStartedLessons(startedLessons);
+        response.setProgressPercentage(totalModuleProgress / moduleProgresses.size());
+        response.setModuleProgresses(moduleProgresses);
+        response.setLastUpdated(lastUpdated != null ? lastUpdated : LocalDateTime.now());
+
+        return response;
+    }
+
     /**
      * Get module-level progress for a user
      */
     @Transactional(readOnly = true)
     public ProgressResponse getModuleProgress(String userId, Long moduleId) {
-        Module module = moduleRepository.findByIdWithLessons(moduleId)
+        try (StageScope scope = RequestTimings.start(Stage.PROGRESS_AGGREGATION)) {
+            return buildModuleProgress(userId, moduleId);
+        }
+    }
+
+    private ProgressResponse buildModuleProgress(String userId, Long moduleId) {
+        ModuleNode module = courseStructureCache.getCourseOfModule(moduleId)
+                .flatMap(course -> course.findModule(moduleId))
                 .orElseThrow(() -> new RuntimeException("Module not found with id: " + moduleId));
 
-        ProgressResponse response = new ProgressResponse(userId, moduleId, "module", module.getTitle());
+        ProgressResponse response = new ProgressResponse(userId, moduleId, "module", module.title());
 
-        if (module.getLessons().isEmpty()) {
+        if (module.lessons().isEmpty()) {
             response.setProgressPercentage(0.0);
             response.setTotalLessons(0);
             response.setCompletedLessons(0);
@@ -152,12 +509,12 @@ public class ProgressService {
                 .collect(Collectors.toMap(LessonProgress::getLessonId, p -> p));
 
         // Calculate lesson progresses
-        List<LessonProgressInfo> lessonProgresses = module.getLessons().stream()
-                .map(lesson -> createLessonProgressInfo(lesson, progressMap.get(lesson.getId())))
+        List<LessonProgressInfo> lessonProgresses = module.lessons().stream()
+                .map(lesson -> createLessonProgressInfo(lesson, progressMap.get(lesson.id())))
                 .collect(Collectors.toList());
 
         // Calculate module statistics
-        int totalLessons = module.getLessons().size();
+        int totalLessons = module.lessons().size();
         int completedLessons = (int) userProgress.stream().filter(LessonProgress::getCompleted).count();
         int startedLessons = userProgress.size();
         double progressPercentage = totalLessons > 0 ? (double) completedLessons / totalLessons * 100 : 0.0;
@@ -180,10 +537,10 @@ public class ProgressService {
     /**
      * Calculate progress for a single module
      */
-    private ModuleProgressInfo calculateModuleProgress(String userId, Module module, Map<Long, LessonProgress> progressMap) {
-        ModuleProgressInfo moduleProgress = new ModuleProgressInfo(module.getId(), module.getTitle());
+    static ModuleProgressInfo calculateModuleProgress(ModuleNode module, Map<Long, LessonProgress> progressMap) {
+        ModuleProgressInfo moduleProgress = new ModuleProgressInfo(module.id(), module.title());
 
-        int totalLessons = module.getLessons().size();
+        int totalLessons = module.lessons().size();
         if (totalLessons == 0) {
             moduleProgress.setProgressPercentage(0.0);
             return moduleProgress;
@@ -192,8 +549,8 @@ public class ProgressService {
         int completedLessons = 0;
         int startedLessons = 0;
 
-        for (Lesson lesson : module.getLessons()) {
-            LessonProgress progress = progressMap.get(lesson.getId());
+        for (LessonNode lesson : module.lessons()) {
+            LessonProgress progress = progressMap.get(lesson.id());
             if (progress != null) {
                 startedLessons++;
                 if (progress.getCompleted()) {
@@ -215,8 +572,8 @@ public class ProgressService {
     /**
      * Create lesson progress info from lesson and progress data
      */
-    private LessonProgressInfo createLessonProgressInfo(Lesson lesson, LessonProgress progress) {
-        LessonProgressInfo info = new LessonProgressInfo(lesson.getId(), lesson.getTitle(), lesson.getType());
+    private LessonProgressInfo createLessonProgressInfo(LessonNode lesson, LessonProgress progress) {
+        LessonProgressInfo info = new LessonProgressInfo(lesson.id(), lesson.title(), lesson.type());
 
         if (progress != null) {
             info.setCompleted(progress.getCompleted());
@@ -231,15 +588,26 @@ public class ProgressService {
         return info;
     }
 
+    /**
+     * Rebuild all users' progress rollups for a course from lesson progress rows
+     *
+     * @return number of users whose course rollup was rebuilt
+     */
+    public int rebuildProgressRollups(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found with id: " + courseId);
+        }
+        return progressRollupService.rebuildCourse(courseId);
+    }
+
     /**
      * Check if user has completed a course
      */
     @Transactional(readOnly = true)
     public boolean isCourseCompleted(String userId, Long courseId) {
-        Long totalLessons = courseRepository.countLessonsByCourseId(courseId);
-        Long completedLessons = lessonProgressRepository.countCompletedLessonsByUserIdAndCourseId(userId, courseId);
-
-        return totalLessons > 0 && totalLessons.equals(completedLessons);
+        return courseStructureCache.getCourse(courseId)
+                .map(course -> completionIndexService.getIndex(userId, course).isCourseCompleted())
+                .orElse(false);
     }
 
     /**
@@ -247,9 +615,18 @@ public class ProgressService {
      */
     @Transactional(readOnly = true)
     public boolean isModuleCompleted(String userId, Long moduleId) {
-        Long totalLessons = moduleRepository.countLessonsByModuleId(moduleId);
-        Long completedLessons = lessonProgressRepository.countCompletedLessonsByUserIdAndModuleId(userId, moduleId);
+        return courseStructureCache.getCourseOfModule(moduleId)
+                .map(course -> completionIndexService.getIndex(userId, course).isModuleCompleted(moduleId))
+                .orElse(false);
+    }
 
-        return totalLessons > 0 && totalLessons.equals(completedLessons);
+    /**
+     * Strategy used to compute course-level progress
+     */
+    public enum CourseProgressEngine {
+        ROLLUP,  // read persisted per-user module and course rollups
+        BITSET,  // popcount ranges of the per-user completion bitsets
+        ENTITY,  // load the course tree and all lesson progress rows and aggregate in memory
+        SQL      // aggregate per-module counts in one grouped query returning only scalars
     }
-}
\ No newline at end of file
+}
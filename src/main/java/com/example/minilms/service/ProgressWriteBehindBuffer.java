@@ -0,0 +1,399 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.exception.ProgressBufferFullException;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ProgressRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for lesson progress updates
+ *
+ * Updates are coalesced in memory per (userId, lessonId), the latest one deciding
+ * completion as on the synchronous path, and are flushed to the lesson_progress
+ * table in periodic JDBC batches, which also update the rollups and completion
+ * bitsets from the state each row had before the flush. Updates of lessons deleted
+ * since they were buffered are dropped by the flush.
+ *
+ * The buffer is bounded: an update takes a slot until it is written or dropped. When
+ * all slots are taken the calling thread writes one batch itself, unless a flush is
+ * already running, and the update is rejected with {@link ProgressBufferFullException}
+ * if no slot is free afterwards. A batch that fails because the database is unavailable
+ * is re-queued as is; any other failure is retried row by row, and a row that keeps
+ * failing on its own is logged and dropped after {@code max-attempts} flushes.
+ */
+@Component
+public class ProgressWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressWriteBehindBuffer.class);
+
+    private final ProgressBatchWriter progressBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+
+    private final ConcurrentHashMap<ProgressKey, PendingProgress> pending = new ConcurrentHashMap<>();
+    // Slots taken by pending updates and by updates drained for a flush that is still running
+    private final AtomicInteger slots = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+    private final Counter acceptedCounter;
+    private final Counter coalescedCounter;
+    private final Counter rejectedCounter;
+    private final Counter flushedCounter;
+    private final Counter skippedCounter;
+    private final Counter orphanedCounter;
+    private final Counter failedCounter;
+    private final Counter flushFailureCounter;
+
+    @Autowired
+    public ProgressWriteBehindBuffer(ProgressBatchWriter progressBatchWriter,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${minilms.progress.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${minilms.progress.write-behind.batch-size:500}") int batchSize,
+                                     @Value("${minilms.progress.write-behind.max-pending:50000}") int maxPending,
+                                     @Value("${minilms.progress.write-behind.max-attempts:5}") int maxAttempts) {
+        this.progressBatchWriter = progressBatchWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("minilms.progress.buffer.depth", pending, Map::size)
+                .description("Number of coalesced progress updates waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("minilms.progress.buffer.flush")
+                .description("Time taken to flush buffered progress updates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.acceptedCounter = meterRegistry.counter("minilms.progress.buffer.updates", "result", "accepted");
+        this.coalescedCounter = meterRegistry.counter("minilms.progress.buffer.updates", "result", "coalesced");
+        this.rejectedCounter = meterRegistry.counter("minilms.progress.buffer.updates", "result", "rejected");
+        this.flushedCounter = meterRegistry.counter("minilms.progress.buffer.flushed.rows");
+        this.skippedCounter = meterRegistry.counter("minilms.progress.buffer.skipped.rows");
+        this.orphanedCounter = meterRegistry.counter("minilms.progress.buffer.dropped.rows", "reason", "lesson-deleted");
+        this.failedCounter = meterRegistry.counter("minilms.progress.buffer.dropped.rows", "reason", "write-failed");
+        this.flushFailureCounter = meterRegistry.counter("minilms.progress.buffer.flush.failures");
+    }
+
+    /**
+     * Check if write-behind mode is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Number of coalesced updates currently waiting to be flushed
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Buffer a resolved progress state, coalescing it with any pending update for the same key
+     *
+     * @return the coalesced state that will be written on the next flush
+     */
+    public PendingProgress submit(String userId, LessonLocation location, boolean completed, int completionPercentage) {
+        ProgressKey key = new ProgressKey(userId, location.lessonId());
+        PendingProgress update = new PendingProgress(location.moduleId(), location.courseId(),
+                completed, completionPercentage, LocalDateTime.now());
+
+        boolean[] accepted = new boolean[1];
+        PendingProgress merged = enqueue(key, update, accepted);
+        if (merged == null) {
+            // Backpressure: let the producer pay for one batch, unless a flush is already making room
+            flushOneBatch();
+            merged = enqueue(key, update, accepted);
+            if (merged == null) {
+                rejectedCounter.increment();
+                throw new ProgressBufferFullException("Progress buffer is full, please retry later");
+            }
+        }
+
+        if (accepted[0]) {
+            acceptedCounter.increment();
+        } else {
+            coalescedCounter.increment();
+        }
+        return merged;
+    }
+
+    /**
+     * Periodically flush buffered updates to the database
+     */
+    @Scheduled(fixedDelayString = "${minilms.progress.write-behind.flush-interval-ms:500}")
+    public void scheduledFlush() {
+        if (enabled && !pending.isEmpty()) {
+            flush();
+        }
+    }
+
+    /**
+     * Flush all buffered updates to the database in JDBC batches
+     *
+     * @return number of rows written
+     */
+    public int flush() {
+        flushLock.lock();
+        Map<ProgressKey, PendingProgress> failed = new LinkedHashMap<>();
+        try {
+            int written = 0;
+            while (!pending.isEmpty()) {
+                Map<ProgressKey, PendingProgress> batch = drainBatch();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int batchWritten = writeBatch(batch, failed);
+                if (batchWritten < 0) {
+                    break;
+                }
+                written += batchWritten;
+            }
+            return written;
+        } finally {
+            // Rows that failed are retried by the next flush, not again by this one
+            failed.forEach(this::requeue);
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Flush remaining updates before the application context shuts down
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pending.isEmpty()) {
+            log.info("Flushing {} buffered progress updates before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    /**
+     * Coalesce an update into the buffer, taking a slot for a new key
+     *
+     * @return the coalesced state, or null when the key is new and no slot is free
+     */
+    private PendingProgress enqueue(ProgressKey key, PendingProgress update, boolean[] accepted) {
+        return pending.compute(key, (k, current) -> {
+            if (current != null) {
+                accepted[0] = false;
+                return current.coalesce(update);
+            }
+            if (slots.incrementAndGet() > maxPending) {
+                slots.decrementAndGet();
+                return null;
+            }
+            accepted[0] = true;
+            return update;
+        });
+    }
+
+    /**
+     * Write one batch on the calling thread when no flush is running
+     */
+    private void flushOneBatch() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        Map<ProgressKey, PendingProgress> failed = new LinkedHashMap<>();
+        try {
+            Map<ProgressKey, PendingProgress> batch = drainBatch();
+            if (!batch.isEmpty()) {
+                writeBatch(batch, failed);
+            }
+        } finally {
+            failed.forEach(this::requeue);
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Remove up to a batch of updates from the buffer; they keep their slots until written or dropped
+     */
+    private Map<ProgressKey, PendingProgress> drainBatch() {
+        Map<ProgressKey, PendingProgress> batch = new LinkedHashMap<>();
+        Iterator<ProgressKey> keys = pending.keySet().iterator();
+
+        while (keys.hasNext() && batch.size() < batchSize) {
+            ProgressKey key = keys.next();
+            PendingProgress progress = pending.remove(key);
+            if (progress != null) {
+                batch.put(key, progress);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Write a drained batch, isolating the failing rows when the batch itself fails
+     *
+     * @param failed collects rows that failed on their own and are to be retried
+     * @return number of rows written, or -1 when the database is unavailable and the batch was re-queued
+     */
+    private int writeBatch(Map<ProgressKey, PendingProgress> batch, Map<ProgressKey, PendingProgress> failed) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return write(batch);
+        } catch (RuntimeException e) {
+            flushFailureCounter.increment();
+            if (isUnavailable(e)) {
+                log.error("Failed to flush {} buffered progress updates, re-queueing", batch.size(), e);
+                batch.forEach(this::requeue);
+                return -1;
+            }
+            if (batch.size() == 1) {
+                batch.forEach((key, progress) -> retryLater(key, progress, e, failed));
+                return 0;
+            }
+            log.warn("Failed to flush {} buffered progress updates, retrying them one by one", batch.size(), e);
+            int written = 0;
+            for (Map.Entry<ProgressKey, PendingProgress> entry : batch.entrySet()) {
+                try {
+                    written += write(Map.of(entry.getKey(), entry.getValue()));
+                } catch (RuntimeException rowFailure) {
+                    if (isUnavailable(rowFailure)) {
+                        requeue(entry.getKey(), entry.getValue());
+                    } else {
+                        retryLater(entry.getKey(), entry.getValue(), rowFailure, failed);
+                    }
+                }
+            }
+            return written;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * Write updates in one transaction and release their slots
+     *
+     * @return number of rows written
+     */
+    private int write(Map<ProgressKey, PendingProgress> updates) {
+        List<ProgressRow> rows = updates.entrySet().stream()
+                .map(entry -> entry.getValue().toRow(entry.getKey()))
+                .toList();
+        // Rows overtaken by a later synchronous or batch write are skipped, rows of deleted lessons dropped
+        ProgressBatchWriter.WriteResult result = transactionTemplate.execute(status -> progressBatchWriter.write(rows));
+        slots.addAndGet(-rows.size());
+        int written = rows.size() - result.skipped().size() - result.orphaned().size();
+        flushedCounter.increment(written);
+        skippedCounter.increment(result.skipped().size());
+        orphanedCounter.increment(result.orphaned().size());
+        return written;
+    }
+
+    /**
+     * Keep an update whose write failed on its own for the next flush, or drop it once it has failed too often
+     */
+    private void retryLater(ProgressKey key, PendingProgress progress, RuntimeException e,
+                            Map<ProgressKey, PendingProgress> failed) {
+        PendingProgress retry = progress.failedOnce();
+        if (retry.failedFlushes() < maxAttempts) {
+            failed.put(key, retry);
+            return;
+        }
+        slots.decrementAndGet();
+        failedCounter.increment();
+        log.error("Dropping buffered progress of user {} on lesson {} after {} failed flushes: {}",
+                key.userId(), key.lessonId(), retry.failedFlushes(), retry, e);
+    }
+
+    /**
+     * Put a drained update back, coalescing it with any update buffered for its key since
+     */
+    private void requeue(ProgressKey key, PendingProgress progress) {
+        pending.compute(key, (k, current) -> {
+            if (current == null) {
+                // Still holds the slot it was drained with
+                return progress;
+            }
+            slots.decrementAndGet();
+            return current.coalesce(progress);
+        });
+    }
+
+    /**
+     * Check if a write failed because the database could not be reached, rather than because of its rows
+     */
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Buffer key identifying a user's progress on a lesson
+     */
+    record ProgressKey(String userId, Long lessonId) {
+    }
+
+    /**
+     * Coalesced progress state awaiting flush, with the lesson's module and course as of the latest update
+     * and the number of flushes in which its row failed on its own
+     */
+    public record PendingProgress(Long moduleId, Long courseId, boolean completed, int completionPercentage,
+                                  LocalDateTime updatedAt, int failedFlushes) {
+
+        public PendingProgress(Long moduleId, Long courseId, boolean completed, int completionPercentage,
+                               LocalDateTime updatedAt) {
+            this(moduleId, courseId, completed, completionPercentage, updatedAt, 0);
+        }
+
+        /**
+         * Merge with another update of the same key: the later one (by updatedAt) wins, except that
+         * between two incomplete updates the higher percentage is kept
+         */
+        PendingProgress coalesce(PendingProgress other) {
+            PendingProgress latest = other.updatedAt.isBefore(updatedAt) ? this : other;
+            int failures = Math.max(failedFlushes, other.failedFlushes);
+            if (completed || other.completed) {
+                return new PendingProgress(latest.moduleId, latest.courseId, latest.completed,
+                        latest.completionPercentage, latest.updatedAt, failures);
+            }
+            return new PendingProgress(latest.moduleId, latest.courseId, false,
+                    Math.max(completionPercentage, other.completionPercentage), latest.updatedAt, failures);
+        }
+
+        PendingProgress failedOnce() {
+            return new PendingProgress(moduleId, courseId, completed, completionPercentage, updatedAt,
+                    failedFlushes + 1);
+        }
+
+        ProgressRow toRow(ProgressKey key) {
+            return new ProgressRow(key.userId(), key.lessonId(), moduleId, courseId, completed,
+                    completionPercentage, updatedAt);
+        }
+    }
+}
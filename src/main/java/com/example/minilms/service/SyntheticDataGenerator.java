@@ -0,0 +1,326 @@
+package com.example.minilms.service;
+
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.entity.LessonType;
+import com.example.minilms.repository.CatalogJdbcRepository;
+import com.example.minilms.repository.CatalogJdbcRepository.CourseRow;
+import com.example.minilms.repository.CatalogJdbcRepository.LessonRow;
+import com.example.minilms.repository.CatalogJdbcRepository.ModuleRow;
+import com.example.minilms.repository.IdBlocks;
+import com.example.minilms.repository.LessonProgressJdbcRepository;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ProgressRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Startup generator for a large synthetic catalog with learner progress
+ *
+ * Active with the {@code synthetic-data} profile, which also leaves out the sample data seed (db/seed).
+ * Creates N courses x M modules x K lessons with a weighted lesson type mix and realistic
+ * content sizes, then U users enrolled in a few courses each, progressing through them in
+ * lesson order. Everything is written with batched JDBC inserts and a fixed seed, so the
+ * same settings always produce the same data set. IDs come from sequence blocks reserved with
+ * {@link IdBlocks}, so the generated rows never collide with rows written through JPA meanwhile.
+ */
+@Component
+@Profile("synthetic-data")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int COURSE_CHUNK_SIZE = 100;
+    private static final int MIN_TEXT_LENGTH = 200;
+    private static final int MAX_TEXT_LENGTH = 10000;
+    private static final int HISTORY_DAYS = 180;
+
+    private static final String[] WORDS = {
+            "lesson", "module", "course", "learner", "practice", "example", "concept", "review",
+            "exercise", "design", "data", "model", "system", "process", "result", "method",
+            "skill", "project", "question", "answer", "theory", "pattern", "summary", "detail"
+    };
+
+    private final CatalogJdbcRepository catalogJdbcRepository;
+    private final LessonContentStore lessonContentStore;
+    private final LessonProgressJdbcRepository lessonProgressJdbcRepository;
+    private final ProgressRollupService progressRollupService;
+
+    private final int courses;
+    private final int modulesPerCourse;
+    private final int lessonsPerModule;
+    private final int users;
+    private final int coursesPerUser;
+    private final double progressSkew;
+    private final double completedShare;
+    private final int[] typeWeights;
+    private final long seed;
+    private final int batchSize;
+    private final boolean buildRollups;
+
+    @Autowired
+    public SyntheticDataGenerator(CatalogJdbcRepository catalogJdbcRepository,
+                                  LessonContentStore lessonContentStore,
+                                  LessonProgressJdbcRepository lessonProgressJdbcRepository,
+                                  ProgressRollupService progressRollupService,
+                                  @Value("${minilms.generator.courses:200}") int courses,
+                                  @Value("${minilms.generator.modules-per-course:8}") int modulesPerCourse,
+                                  @Value("${minilms.generator.lessons-per-module:12}") int lessonsPerModule,
+                                  @Value("${minilms.generator.users:5000}") int users,
+                                  @Value("${minilms.generator.courses-per-user:3}") int coursesPerUser,
+                                  @Value("${minilms.generator.progress-skew:2.0}") double progressSkew,
+                                  @Value("${minilms.generator.completed-share:0.15}") double completedShare,
+                                  @Value("${minilms.generator.type-weights.text:45}") int textWeight,
+                                  @Value("${minilms.generator.type-weights.video:35}") int videoWeight,
+                                  @Value("${minilms.generator.type-weights.pdf:12}") int pdfWeight,
+                                  @Value("${minilms.generator.type-weights.image:8}") int imageWeight,
+                                  @Value("${minilms.generator.seed:42}") long seed,
+                                  @Value("${minilms.generator.batch-size:5000}") int batchSize,
+                                  @Value("${minilms.generator.build-rollups:false}") boolean buildRollups) {
+        this.catalogJdbcRepository = catalogJdbcRepository;
+        this.lessonContentStore = lessonContentStore;
+        this.lessonProgressJdbcRepository = lessonProgressJdbcRepository;
+        this.progressRollupService = progressRollupService;
+        this.courses = courses;
+        this.modulesPerCourse = modulesPerCourse;
+        this.lessonsPerModule = lessonsPerModule;
+        this.users = users;
+        this.coursesPerUser = Math.min(coursesPerUser, courses);
+        this.progressSkew = progressSkew;
+        this.completedShare = completedShare;
+        this.typeWeights = new int[] {textWeight, videoWeight, pdfWeight, imageWeight};
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.buildRollups = buildRollups;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        LocalDateTime now = LocalDateTime.now();
+
+        log.info("Generating {} courses x {} modules x {} lessons and {} users enrolled in {} courses each",
+                courses, modulesPerCourse, lessonsPerModule, users, coursesPerUser);
+
+        GeneratedCatalog catalog = generateCatalog(random, now);
+        long catalogDone = System.nanoTime();
+        log.info("Generated {} courses, {} modules and {} lessons in {} ms", catalog.courseIds().length,
+                catalog.moduleIds().length, catalog.lessonIds().length, (catalogDone - started) / 1_000_000);
+
+        long progressCount = generateProgress(random, now, catalog);
+        long progressDone = System.nanoTime();
+        log.info("Generated {} lesson progress rows in {} ms", progressCount, (progressDone - catalogDone) / 1_000_000);
+
+        if (buildRollups) {
+            for (long courseId : catalog.courseIds()) {
+                progressRollupService.rebuildCourse(courseId);
+            }
+            log.info("Built progress rollups in {} ms", (System.nanoTime() - progressDone) / 1_000_000);
+        }
+    }
+
+    /**
+     * Write the course trees in chunks, recording the reserved IDs in generation order
+     */
+    private GeneratedCatalog generateCatalog(Random random, LocalDateTime now) {
+        String textPool = buildTextPool(random);
+        IdBlocks courseIdBlocks = new IdBlocks(catalogJdbcRepository, "courses");
+        IdBlocks moduleIdBlocks = new IdBlocks(catalogJdbcRepository, "modules");
+        IdBlocks lessonIdBlocks = new IdBlocks(catalogJdbcRepository, "lessons");
+        GeneratedCatalog catalog = new GeneratedCatalog(new long[courses], new long[courses * modulesPerCourse],
+                new long[courses * modulesPerCourse * lessonsPerModule]);
+        int moduleIndex = 0;
+        int lessonIndex = 0;
+
+        for (int chunkStart = 0; chunkStart < courses; chunkStart += COURSE_CHUNK_SIZE) {
+            int chunkEnd = Math.min(chunkStart + COURSE_CHUNK_SIZE, courses);
+            List<CourseRow> courseRows = new ArrayList<>(chunkEnd - chunkStart);
+            List<ModuleRow> moduleRows = new ArrayList<>((chunkEnd - chunkStart) * modulesPerCourse);
+            List<LessonRow> lessonRows = new ArrayList<>((chunkEnd - chunkStart) * modulesPerCourse * lessonsPerModule);
+
+            for (int c = chunkStart; c < chunkEnd; c++) {
+                long courseId = courseIdBlocks.next();
+                catalog.courseIds()[c] = courseId;
+                LocalDateTime createdAt = now.minusDays(HISTORY_DAYS + random.nextInt(HISTORY_DAYS));
+                courseRows.add(new CourseRow(courseId, "Course " + (c + 1) + ": " + title(random),
+                        sentence(random, 20 + random.nextInt(40)),
+                        "https://cdn.example.com/courses/" + courseId + "/thumb.jpg",
+                        "https://cdn.example.com/courses/" + courseId + "/cover.jpg", createdAt));
+
+                for (int module = 0; module < modulesPerCourse; module++) {
+                    long moduleId = moduleIdBlocks.next();
+                    catalog.moduleIds()[moduleIndex++] = moduleId;
+                    moduleRows.add(new ModuleRow(moduleId, "Module " + (module + 1) + ": " + title(random),
+                            sentence(random, 10 + random.nextInt(20)),
+                            "https://cdn.example.com/modules/" + moduleId + "/thumb.jpg",
+                            "https://cdn.example.com/modules/" + moduleId + "/cover.jpg", courseId, createdAt));
+
+                    for (int lesson = 0; lesson < lessonsPerModule; lesson++) {
+                        long lessonId = lessonIdBlocks.next();
+                        catalog.lessonIds()[lessonIndex++] = lessonId;
+                        LessonType type = pickType(random);
+                        lessonRows.add(new LessonRow(lessonId, "Lesson " + (lesson + 1) + ": " + title(random),
+                                type.name(), content(random, type, lessonId, textPool),
+                                (lesson + 1) * Lesson.ORDER_INDEX_GAP, moduleId, createdAt));
+                    }
+                }
+            }
+
+            catalogJdbcRepository.batchInsertCourses(courseRows);
+            catalogJdbcRepository.batchInsertModules(moduleRows);
+            catalogJdbcRepository.batchInsertLessons(lessonRows,
+                    row -> lessonContentStore.encode(LessonType.valueOf(row.type()), row.content()));
+        }
+        return catalog;
+    }
+
+    /**
+     * Enroll every user in distinct random courses; within a course the user completed a
+     * prefix of the lessons (fraction r^skew, or all of them for the completed share) and
+     * is part-way through the next one.
+     */
+    private long generateProgress(Random random, LocalDateTime now, GeneratedCatalog catalog) {
+        int lessonsPerCourse = modulesPerCourse * lessonsPerModule;
+        List<ProgressRow> batch = new ArrayList<>(batchSize);
+        long written = 0;
+
+        for (int u = 1; u <= users; u++) {
+            String userId = "student" + u;
+            int[] enrolled = pickDistinct(random, courses, coursesPerUser);
+
+            for (int c : enrolled) {
+                long courseId = catalog.courseIds()[c];
+                int courseModuleStart = c * modulesPerCourse;
+                int courseLessonStart = c * lessonsPerCourse;
+                int completedLessons = random.nextDouble() < completedShare
+                        ? lessonsPerCourse
+                        : (int) (Math.pow(random.nextDouble(), progressSkew) * lessonsPerCourse);
+                LocalDateTime timestamp = now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60));
+
+                for (int l = 0; l < completedLessons; l++) {
+                    batch.add(new ProgressRow(userId, catalog.lessonIds()[courseLessonStart + l],
+                            catalog.moduleIds()[courseModuleStart + l / lessonsPerModule], courseId, true, 100, timestamp));
+                    timestamp = timestamp.plusMinutes(5 + random.nextInt(60));
+                }
+                if (completedLessons < lessonsPerCourse) {
+                    batch.add(new ProgressRow(userId, catalog.lessonIds()[courseLessonStart + completedLessons],
+                            catalog.moduleIds()[courseModuleStart + completedLessons / lessonsPerModule], courseId,
+                            false, 5 + random.nextInt(90), timestamp));
+                }
+
+                if (batch.size() >= batchSize) {
+                    written += lessonProgressJdbcRepository.batchInsert(batch);
+                    batch.clear();
+                }
+            }
+        }
+        written += lessonProgressJdbcRepository.batchInsert(batch);
+        return written;
+    }
+
+    private LessonType pickType(Random random) {
+        int total = 0;
+        for (int weight : typeWeights) {
+            total += weight;
+        }
+        int roll = random.nextInt(Math.max(total, 1));
+        for (int i = 0; i < typeWeights.length; i++) {
+            roll -= typeWeights[i];
+            if (roll < 0) {
+                return LessonType.values()[i];
+            }
+        }
+        return LessonType.TEXT;
+    }
+
+    /**
+     * Text lessons are slices of a shared pool, skewed towards short articles;
+     * the other types point at media URLs that pass content validation.
+     */
+    private String content(Random random, LessonType type, long lessonId, String textPool) {
+        return switch (type) {
+            case TEXT -> {
+                int length = MIN_TEXT_LENGTH
+                        + (int) (Math.pow(random.nextDouble(), 3) * (MAX_TEXT_LENGTH - MIN_TEXT_LENGTH));
+                int offset = random.nextInt(textPool.length() - length + 1);
+                yield textPool.substring(offset, offset + length);
+            }
+            case VIDEO -> random.nextBoolean()
+                    ? "https://www.youtube.com/watch?v=lesson" + lessonId
+                    : "https://media.example.com/videos/" + lessonId + ".mp4";
+            case PDF -> "https://docs.example.com/lessons/" + lessonId + ".pdf";
+            case IMAGE -> "https://cdn.example.com/lessons/" + lessonId + ".png";
+        };
+    }
+
+    private String buildTextPool(Random random) {
+        StringBuilder pool = new StringBuilder(MAX_TEXT_LENGTH * 4);
+        while (pool.length() < MAX_TEXT_LENGTH * 4) {
+            pool.append(sentence(random, 8 + random.nextInt(16))).append(' ');
+        }
+        return pool.toString();
+    }
+
+    private String title(Random random) {
+        String first = WORDS[random.nextInt(WORDS.length)];
+        return Character.toUpperCase(first.charAt(0)) + first.substring(1) + " " + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder(title(random));
+        for (int i = 2; i < words; i++) {
+            sentence.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.append('.').toString();
+    }
+
+    /**
+     * Pick {@code count} distinct indexes below {@code bound}, by rejection when sparse
+     * and by a partial Fisher-Yates shuffle otherwise
+     */
+    private static int[] pickDistinct(Random random, int bound, int count) {
+        if (count * 4 < bound) {
+            int[] picked = new int[count];
+            Set<Integer> seen = new HashSet<>();
+            for (int i = 0; i < count; ) {
+                int candidate = random.nextInt(bound);
+                if (seen.add(candidate)) {
+                    picked[i++] = candidate;
+                }
+            }
+            return picked;
+        }
+        int[] all = new int[bound];
+        for (int i = 0; i < bound; i++) {
+            all[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(bound - i);
+            int tmp = all[i];
+            all[i] = all[j];
+            all[j] = tmp;
+        }
+        return Arrays.copyOf(all, count);
+    }
+
+    /**
+     * IDs of the generated rows in generation order: course c owns modules
+     * [c * modulesPerCourse, (c + 1) * modulesPerCourse) and lessons [c * lessonsPerCourse, (c + 1) * lessonsPerCourse)
+     * of the arrays, in display order, and lesson l of a course belongs to its module l / lessonsPerModule.
+     */
+    private record GeneratedCatalog(long[] courseIds, long[] moduleIds, long[] lessonIds) {
+    }
+}
@@ -0,0 +1,40 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Replace the identity ID columns of courses, modules and lessons with sequences handing out blocks
+ * of 50 IDs (pooled-lo: a value reserves itself and the next 49), so bulk writers can reserve IDs up
+ * front and batch their inserts. Inserts without an ID still get one from the column default.
+ *
+ * A Java migration because each sequence has to start past the existing IDs, and neither H2 nor
+ * PostgreSQL accept a computed start value in DDL.
+ */
+public class V5__catalog_id_sequences extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of("courses", "modules", "lessons");
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long start;
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    rs.next();
+                    start = rs.getLong(1);
+                }
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + start +
+                        " INCREMENT BY " + ALLOCATION_SIZE);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + table + "_seq')");
+            }
+        }
+    }
+}
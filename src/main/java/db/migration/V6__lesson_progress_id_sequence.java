@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Replace the identity ID column of lesson_progress with a sequence handing out blocks of 50 IDs
+ * (pooled-lo), like the catalog tables in V5, so Hibernate can batch progress inserts instead of
+ * inserting each row on its own to learn its ID. JDBC upserts that leave the ID out still get one
+ * from the column default.
+ */
+public class V6__lesson_progress_id_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long start;
+            try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM lesson_progress")) {
+                rs.next();
+                start = rs.getLong(1);
+            }
+            statement.execute("ALTER TABLE lesson_progress ALTER COLUMN id DROP IDENTITY");
+            statement.execute("CREATE SEQUENCE lesson_progress_seq START WITH " + start +
+                    " INCREMENT BY " + ALLOCATION_SIZE);
+            statement.execute("ALTER TABLE lesson_progress ALTER COLUMN id SET DEFAULT nextval('lesson_progress_seq')");
+        }
+    }
+}
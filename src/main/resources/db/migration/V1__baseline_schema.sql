@@ -0,0 +1,103 @@
+-- Baseline schema, as previously generated by Hibernate from the entity mappings.
+-- Portable between H2 and PostgreSQL; enums are stored as their names.
+
+CREATE TABLE courses (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title              VARCHAR(255) NOT NULL,
+    description        TEXT,
+    thumbnail_url      VARCHAR(500),
+    cover_image_url    VARCHAR(500),
+    content_version    BIGINT       DEFAULT 0 NOT NULL,
+    content_updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    created_at         TIMESTAMP(6) NOT NULL,
+    updated_at         TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE modules (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title           VARCHAR(255) NOT NULL,
+    summary         TEXT,
+    thumbnail_url   VARCHAR(500),
+    cover_image_url VARCHAR(500),
+    course_id       BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_modules_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+CREATE TABLE lessons (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title          VARCHAR(255) NOT NULL,
+    type           VARCHAR(16)  NOT NULL,
+    content_length INTEGER      NOT NULL,
+    content_valid  BOOLEAN      NOT NULL,
+    order_index    INTEGER,
+    module_id      BIGINT       NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lessons_module FOREIGN KEY (module_id) REFERENCES modules (id),
+    CONSTRAINT ck_lessons_type CHECK (type IN ('TEXT', 'VIDEO', 'IMAGE', 'PDF'))
+);
+
+CREATE TABLE lesson_contents (
+    lesson_id       BIGINT      NOT NULL,
+    encoding        VARCHAR(16) DEFAULT 'IDENTITY' NOT NULL,
+    body            TEXT,
+    compressed_body BYTEA,
+    PRIMARY KEY (lesson_id),
+    CONSTRAINT fk_lesson_contents_lesson FOREIGN KEY (lesson_id) REFERENCES lessons (id) ON DELETE CASCADE,
+    CONSTRAINT ck_lesson_contents_encoding CHECK (encoding IN ('IDENTITY', 'GZIP'))
+);
+
+CREATE TABLE lesson_progress (
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id               VARCHAR(255) NOT NULL,
+    lesson_id             BIGINT       NOT NULL,
+    completed             BOOLEAN      NOT NULL,
+    completion_percentage INTEGER,
+    started_at            TIMESTAMP(6),
+    completed_at          TIMESTAMP(6),
+    created_at            TIMESTAMP(6) NOT NULL,
+    updated_at            TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_lesson_progress_user_lesson UNIQUE (user_id, lesson_id)
+);
+
+CREATE TABLE user_module_progress (
+    user_id             VARCHAR(255)     NOT NULL,
+    module_id           BIGINT           NOT NULL,
+    course_id           BIGINT           NOT NULL,
+    total_lessons       INTEGER          NOT NULL,
+    started_lessons     INTEGER          NOT NULL,
+    completed_lessons   INTEGER          NOT NULL,
+    progress_percentage DOUBLE PRECISION NOT NULL,
+    last_updated        TIMESTAMP(6)     NOT NULL,
+    PRIMARY KEY (module_id, user_id)
+);
+
+CREATE INDEX idx_user_module_progress_user_course ON user_module_progress (user_id, course_id);
+
+CREATE TABLE user_course_progress (
+    user_id             VARCHAR(255)     NOT NULL,
+    course_id           BIGINT           NOT NULL,
+    total_lessons       INTEGER          NOT NULL,
+    total_modules       INTEGER          NOT NULL,
+    started_lessons     INTEGER          NOT NULL,
+    completed_lessons   INTEGER          NOT NULL,
+    progress_percentage DOUBLE PRECISION NOT NULL,
+    last_updated        TIMESTAMP(6)     NOT NULL,
+    PRIMARY KEY (course_id, user_id)
+);
+
+CREATE TABLE user_course_completion (
+    user_id            VARCHAR(255) NOT NULL,
+    course_id          BIGINT       NOT NULL,
+    layout_fingerprint BIGINT       NOT NULL,
+    started_bits       BYTEA        NOT NULL,
+    completed_bits     BYTEA        NOT NULL,
+    last_updated       TIMESTAMP(6),
+    PRIMARY KEY (course_id, user_id)
+);
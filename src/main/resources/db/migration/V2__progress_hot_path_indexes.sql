@@ -0,0 +1,12 @@
+-- Indexes for the catalog and progress hot paths. Foreign key columns are not indexed
+-- implicitly by PostgreSQL, and course- and module-scoped reads filter on them.
+
+-- Modules of a course, in ID order (keyset pages, tree loads, lesson_progress subqueries via lessons)
+CREATE INDEX idx_modules_course ON modules (course_id, id);
+
+-- Lessons of a module in display order (listings, keyset pages, max order index, course lesson IDs)
+CREATE INDEX idx_lessons_module_order ON lessons (module_id, order_index, id);
+
+-- Progress rows of a lesson (course-wide rollup rebuilds, per-lesson aggregates).
+-- User-scoped reads use the (user_id, lesson_id) unique index.
+CREATE INDEX idx_lesson_progress_lesson ON lesson_progress (lesson_id);
@@ -0,0 +1,24 @@
+-- Denormalize the module and course of each lesson onto its progress rows, so module- and
+-- course-scoped progress reads filter lesson_progress directly instead of joining through lessons.
+-- The application writes both columns with every progress upsert.
+
+ALTER TABLE lesson_progress ADD COLUMN module_id BIGINT;
+ALTER TABLE lesson_progress ADD COLUMN course_id BIGINT;
+
+UPDATE lesson_progress
+SET module_id = (SELECT l.module_id FROM lessons l WHERE l.id = lesson_progress.lesson_id),
+    course_id = (SELECT m.course_id FROM lessons l JOIN modules m ON m.id = l.module_id
+                 WHERE l.id = lesson_progress.lesson_id);
+
+-- Progress of lessons that no longer exist was never counted by the joined queries; it has no location
+DELETE FROM lesson_progress WHERE module_id IS NULL OR course_id IS NULL;
+
+ALTER TABLE lesson_progress ALTER COLUMN module_id SET NOT NULL;
+ALTER TABLE lesson_progress ALTER COLUMN course_id SET NOT NULL;
+
+-- A user's progress within a course or a module (progress pages, rollup rebuilds for one user)
+CREATE INDEX idx_lesson_progress_user_course ON lesson_progress (user_id, course_id);
+CREATE INDEX idx_lesson_progress_user_module ON lesson_progress (user_id, module_id);
+
+-- All progress within a course, by module (course-wide rollup rebuilds, module and course deletes)
+CREATE INDEX idx_lesson_progress_course_module ON lesson_progress (course_id, module_id);
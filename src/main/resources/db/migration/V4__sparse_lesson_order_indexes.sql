@@ -0,0 +1,8 @@
+-- Space lesson order indexes 1024 apart within each module, keeping their order, so that a lesson can be
+-- moved between two others by writing only its own row (see Lesson.ORDER_INDEX_GAP).
+UPDATE lessons SET order_index = (
+    SELECT r.position * 1024
+    FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY module_id ORDER BY order_index, id) AS position
+          FROM lessons) r
+    WHERE r.id = lessons.id
+);
@@ -0,0 +1,3 @@
+-- Progress rows in (updated_at, id) order (exports and their watermark resumes), so a full export
+-- walks the index instead of sorting the table
+CREATE INDEX idx_lesson_progress_updated ON lesson_progress (updated_at, id);
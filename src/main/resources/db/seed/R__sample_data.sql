@@ -0,0 +1,157 @@
+-- Sample data for Mini LMS
+-- Applied by Flyway after the schema migrations when db/seed is among spring.flyway.locations, which only the
+-- dev profile (H2) sets. Repeatable migrations run again whenever this file changes, so every row is inserted
+-- only when absent and rows edited or added since are left alone.
+
+-- Insert sample courses
+MERGE INTO courses USING (VALUES
+(1, 'Introduction to Java Programming', 'Learn the fundamentals of Java programming language including OOP concepts, data structures, and basic algorithms.', 'https://example.com/java-thumb.jpg', 'https://example.com/java-cover.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(2, 'Web Development with Spring Boot', 'Master modern web development using Spring Boot framework, including REST APIs, security, and database integration.', 'https://example.com/spring-thumb.jpg', 'https://example.com/spring-cover.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(3, 'Database Design and SQL', 'Comprehensive course on database design principles, normalization, and advanced SQL queries.', 'https://example.com/db-thumb.jpg', 'https://example.com/db-cover.jpg', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, description, thumbnail_url, cover_image_url, created_at, updated_at) ON courses.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, description, thumbnail_url, cover_image_url, created_at, updated_at) VALUES (s.id, s.title, s.description, s.thumbnail_url, s.cover_image_url, s.created_at, s.updated_at);
+
+-- Insert sample modules for Course 1 (Java Programming)
+MERGE INTO modules USING (VALUES
+(1, 'Java Basics', 'Introduction to Java syntax, variables, and basic programming concepts.', 'https://example.com/java-basics-thumb.jpg', 'https://example.com/java-basics-cover.jpg', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(2, 'Object-Oriented Programming', 'Learn about classes, objects, inheritance, polymorphism, and encapsulation.', 'https://example.com/oop-thumb.jpg', 'https://example.com/oop-cover.jpg', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(3, 'Collections and Data Structures', 'Explore Java Collections Framework and fundamental data structures.', 'https://example.com/collections-thumb.jpg', 'https://example.com/collections-cover.jpg', 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) ON modules.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) VALUES (s.id, s.title, s.summary, s.thumbnail_url, s.cover_image_url, s.course_id, s.created_at, s.updated_at);
+
+-- Insert sample modules for Course 2 (Spring Boot)
+MERGE INTO modules USING (VALUES
+(4, 'Spring Boot Fundamentals', 'Getting started with Spring Boot, auto-configuration, and project structure.', 'https://example.com/spring-fundamentals-thumb.jpg', 'https://example.com/spring-fundamentals-cover.jpg', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(5, 'Building REST APIs', 'Create RESTful web services using Spring Boot and Spring MVC.', 'https://example.com/rest-apis-thumb.jpg', 'https://example.com/rest-apis-cover.jpg', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(6, 'Data Access with JPA', 'Learn Spring Data JPA for database operations and entity management.', 'https://example.com/jpa-thumb.jpg', 'https://example.com/jpa-cover.jpg', 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) ON modules.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) VALUES (s.id, s.title, s.summary, s.thumbnail_url, s.cover_image_url, s.course_id, s.created_at, s.updated_at);
+
+-- Insert sample modules for Course 3 (Database Design)
+MERGE INTO modules USING (VALUES
+(7, 'Database Fundamentals', 'Introduction to databases, RDBMS concepts, and basic terminology.', 'https://example.com/db-fundamentals-thumb.jpg', 'https://example.com/db-fundamentals-cover.jpg', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(8, 'SQL Essentials', 'Master SQL queries including SELECT, INSERT, UPDATE, DELETE, and JOINs.', 'https://example.com/sql-essentials-thumb.jpg', 'https://example.com/sql-essentials-cover.jpg', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) ON modules.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, summary, thumbnail_url, cover_image_url, course_id, created_at, updated_at) VALUES (s.id, s.title, s.summary, s.thumbnail_url, s.cover_image_url, s.course_id, s.created_at, s.updated_at);
+
+-- Insert sample lessons for Module 1 (Java Basics)
+MERGE INTO lessons USING (VALUES
+(1, 'What is Java?', 'TEXT', 144, TRUE, 1024, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(2, 'Setting up Java Development Environment', 'VIDEO', 43, TRUE, 2048, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(3, 'Your First Java Program', 'TEXT', 131, TRUE, 3072, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(4, 'Java Syntax Reference', 'PDF', 45, TRUE, 4096, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(1, 'Java is a high-level, class-based, object-oriented programming language that is designed to have as few implementation dependencies as possible.'),
+(2, 'https://youtube.com/watch?v=java-setup-demo'),
+(3, 'Let''s write our first Java program - the classic "Hello, World!" example. This lesson covers the basic structure of a Java program.'),
+(4, 'https://example.com/java-syntax-reference.pdf')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 2 (OOP)
+MERGE INTO lessons USING (VALUES
+(5, 'Understanding Classes and Objects', 'TEXT', 126, TRUE, 1024, 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(6, 'Inheritance in Java', 'VIDEO', 49, TRUE, 2048, 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(7, 'Polymorphism Explained', 'TEXT', 165, TRUE, 3072, 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(8, 'OOP Best Practices', 'PDF', 42, TRUE, 4096, 2, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(5, 'A class is a blueprint for creating objects. An object is an instance of a class that contains both data (fields) and methods.'),
+(6, 'https://youtube.com/watch?v=java-inheritance-demo'),
+(7, 'Polymorphism allows objects of different types to be treated as objects of a common base type. It enables a single interface to represent different underlying forms.'),
+(8, 'https://example.com/oop-best-practices.pdf')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 3 (Collections)
+MERGE INTO lessons USING (VALUES
+(9, 'Introduction to Java Collections', 'TEXT', 126, TRUE, 1024, 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(10, 'Working with Lists and Sets', 'VIDEO', 49, TRUE, 2048, 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(11, 'Maps and HashMap Usage', 'TEXT', 117, TRUE, 3072, 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(9, 'The Java Collections Framework provides a set of interfaces and classes to store and manipulate groups of objects efficiently.'),
+(10, 'https://youtube.com/watch?v=java-collections-demo'),
+(11, 'Maps store key-value pairs and provide efficient lookup operations. HashMap is the most commonly used implementation.')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 4 (Spring Boot Fundamentals)
+MERGE INTO lessons USING (VALUES
+(12, 'Introduction to Spring Boot', 'TEXT', 117, TRUE, 1024, 4, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(13, 'Creating Your First Spring Boot Application', 'VIDEO', 49, TRUE, 2048, 4, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(14, 'Understanding Auto-Configuration', 'TEXT', 131, TRUE, 3072, 4, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(12, 'Spring Boot is an extension of the Spring framework that simplifies the setup and development of Spring applications.'),
+(13, 'https://youtube.com/watch?v=spring-boot-first-app'),
+(14, 'Spring Boot auto-configuration automatically configures your Spring application based on the dependencies present on the classpath.')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 5 (REST APIs)
+MERGE INTO lessons USING (VALUES
+(15, 'REST API Principles', 'TEXT', 126, TRUE, 1024, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(16, 'Building REST Controllers', 'VIDEO', 51, TRUE, 2048, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(17, 'API Documentation with Swagger', 'TEXT', 103, TRUE, 3072, 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(15, 'REST (Representational State Transfer) is an architectural style for designing web services that use HTTP methods effectively.'),
+(16, 'https://youtube.com/watch?v=spring-rest-controllers'),
+(17, 'Swagger provides tools for documenting and testing REST APIs, making them easier to understand and use.')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 6 (JPA)
+MERGE INTO lessons USING (VALUES
+(18, 'Introduction to JPA', 'TEXT', 96, TRUE, 1024, 6, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(19, 'Entity Mapping and Relationships', 'VIDEO', 46, TRUE, 2048, 6, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(20, 'Spring Data JPA Repositories', 'TEXT', 106, TRUE, 3072, 6, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(18, 'Java Persistence API (JPA) is a specification for managing relational data in Java applications.'),
+(19, 'https://youtube.com/watch?v=jpa-entity-mapping'),
+(20, 'Spring Data JPA provides repository support for JPA, reducing boilerplate code for data access operations.')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 7 (Database Fundamentals)
+MERGE INTO lessons USING (VALUES
+(21, 'What is a Database?', 'TEXT', 127, TRUE, 1024, 7, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(22, 'RDBMS Concepts', 'VIDEO', 42, TRUE, 2048, 7, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(23, 'Database Design Principles', 'PDF', 50, TRUE, 3072, 7, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(21, 'A database is an organized collection of structured information, or data, typically stored electronically in a computer system.'),
+(22, 'https://youtube.com/watch?v=rdbms-concepts'),
+(23, 'https://example.com/database-design-principles.pdf')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample lessons for Module 8 (SQL Essentials)
+MERGE INTO lessons USING (VALUES
+(24, 'Basic SQL Queries', 'TEXT', 123, TRUE, 1024, 8, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(25, 'Joins and Relationships', 'VIDEO', 46, TRUE, 2048, 8, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(26, 'Advanced SQL Functions', 'TEXT', 102, TRUE, 3072, 8, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) ON lessons.id = s.id
+WHEN NOT MATCHED THEN INSERT (id, title, type, content_length, content_valid, order_index, module_id, created_at, updated_at) VALUES (s.id, s.title, s.type, s.content_length, s.content_valid, s.order_index, s.module_id, s.created_at, s.updated_at);
+MERGE INTO lesson_contents USING (VALUES
+(24, 'SQL (Structured Query Language) is used to communicate with databases. Learn the basic SELECT statement and filtering data.'),
+(25, 'https://youtube.com/watch?v=sql-joins-tutorial'),
+(26, 'Explore advanced SQL functions including aggregate functions, window functions, and stored procedures.')) AS s (lesson_id, body) ON lesson_contents.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (lesson_id, body) VALUES (s.lesson_id, s.body);
+
+-- Insert sample progress data for different users
+MERGE INTO lesson_progress USING (VALUES
+-- Student1 progress in Java course
+(1, 'student1', 1, 1, 1, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(2, 'student1', 2, 1, 1, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(3, 'student1', 3, 1, 1, false, 50, CURRENT_TIMESTAMP, null, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(4, 'student1', 5, 2, 1, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+
+-- Student2 progress in Spring Boot course
+(5, 'student2', 12, 4, 2, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(6, 'student2', 13, 4, 2, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(7, 'student2', 14, 4, 2, false, 25, CURRENT_TIMESTAMP, null, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(8, 'student2', 15, 5, 2, false, 10, CURRENT_TIMESTAMP, null, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+
+-- Student3 progress in Database course
+(9, 'student3', 21, 7, 3, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(10, 'student3', 22, 7, 3, false, 75, CURRENT_TIMESTAMP, null, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(11, 'student3', 24, 8, 3, true, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)) AS s (id, user_id, lesson_id, module_id, course_id, completed, completion_percentage, started_at, completed_at, created_at, updated_at) ON lesson_progress.user_id = s.user_id AND lesson_progress.lesson_id = s.lesson_id
+WHEN NOT MATCHED THEN INSERT (id, user_id, lesson_id, module_id, course_id, completed, completion_percentage, started_at, completed_at, created_at, updated_at) VALUES (s.id, s.user_id, s.lesson_id, s.module_id, s.course_id, s.completed, s.completion_percentage, s.started_at, s.completed_at, s.created_at, s.updated_at);
+
+-- Move ID generators past the seeded ids (and any written since), never below 1000
+ALTER SEQUENCE courses_seq RESTART WITH (SELECT GREATEST(1000, COALESCE(MAX(id), 0) + 1) FROM courses);
+ALTER SEQUENCE modules_seq RESTART WITH (SELECT GREATEST(1000, COALESCE(MAX(id), 0) + 1) FROM modules);
+ALTER SEQUENCE lessons_seq RESTART WITH (SELECT GREATEST(1000, COALESCE(MAX(id), 0) + 1) FROM lessons);
+ALTER SEQUENCE lesson_progress_seq RESTART WITH (SELECT GREATEST(1000, COALESCE(MAX(id), 0) + 1) FROM lesson_progress);
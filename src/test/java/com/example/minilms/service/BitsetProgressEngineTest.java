@@ -0,0 +1,65 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.response.ProgressResponse;
+import com.example.minilms.repository.ProgressRollupJdbcRepository;
+import com.example.minilms.service.CatalogFixture.CourseTree;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * With the bitset engine, progress writes keep the completion bitsets current and leave the rollups alone
+ */
+@SpringBootTest(properties = "minilms.progress.course-engine=BITSET")
+@Import(CatalogFixture.class)
+class BitsetProgressEngineTest {
+
+    @Autowired
+    private CatalogFixture catalogFixture;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesMaintainOnlyTheBitsets() {
+        CourseTree course = catalogFixture.createCourse("Bitsets", 1, 2);
+        Long courseId = course.courseId();
+        Long moduleId = course.firstModuleId();
+        Long first = course.lessonId(0);
+        Long second = course.lessonId(1);
+        String userId = "bitset-" + UUID.randomUUID();
+
+        progressService.updateLessonProgress(userId, first, true, null);
+        progressService.updateLessonProgress(userId, second, null, 40);
+
+        ProgressResponse progress = progressService.getCourseProgress(userId, courseId);
+        assertEquals(2, progress.getStartedLessons());
+        assertEquals(1, progress.getCompletedLessons());
+        assertEquals(50.0, progress.getProgressPercentage(), 1e-9);
+        assertFalse(progressService.isModuleCompleted(userId, moduleId));
+
+        progressService.updateLessonProgress(userId, second, true, null);
+        assertTrue(progressService.isCourseCompleted(userId, courseId));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM user_course_completion WHERE user_id = ?", userId));
+        assertEquals(0, count("SELECT COUNT(*) FROM user_module_progress WHERE user_id = ?", userId));
+        // The course rollup row only serves as the lock of the user's writes in the course
+        assertEquals(ProgressRollupJdbcRepository.LOCK_ONLY_MODULES, count(
+                "SELECT total_modules FROM user_course_progress WHERE user_id = ? AND course_id = " + courseId, userId));
+    }
+
+    private int count(String sql, String userId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, userId);
+    }
+}
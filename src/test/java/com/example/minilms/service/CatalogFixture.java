@@ -0,0 +1,65 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.request.CourseCreateRequest;
+import com.example.minilms.dto.request.LessonCreateRequest;
+import com.example.minilms.dto.request.ModuleCreateRequest;
+import com.example.minilms.entity.LessonType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates courses of modules with TEXT lessons through the services, for tests that import it
+ *
+ * Module and lesson titles repeat the course title, so a title with non-ASCII text carries it
+ * through the whole tree.
+ */
+@TestComponent
+class CatalogFixture {
+
+    private final CourseService courseService;
+    private final ModuleService moduleService;
+    private final LessonService lessonService;
+
+    @Autowired
+    CatalogFixture(CourseService courseService, ModuleService moduleService, LessonService lessonService) {
+        this.courseService = courseService;
+        this.moduleService = moduleService;
+        this.lessonService = lessonService;
+    }
+
+    /**
+     * Create a course with {@code modules} modules of {@code lessonsPerModule} TEXT lessons each
+     */
+    CourseTree createCourse(String title, int modules, int lessonsPerModule) {
+        Long courseId = courseService.createCourse(new CourseCreateRequest(title, "Test course: " + title)).getId();
+        List<Long> moduleIds = new ArrayList<>(modules);
+        List<Long> lessonIds = new ArrayList<>(modules * lessonsPerModule);
+        for (int m = 0; m < modules; m++) {
+            Long moduleId = moduleService.createModule(courseId,
+                    new ModuleCreateRequest(title + " – module " + m, null)).getId();
+            moduleIds.add(moduleId);
+            for (int l = 0; l < lessonsPerModule; l++) {
+                lessonIds.add(lessonService.createLesson(moduleId, new LessonCreateRequest(
+                        title + " – lesson " + m + "." + l, LessonType.TEXT, "Body of lesson " + m + "." + l)).getId());
+            }
+        }
+        return new CourseTree(courseId, List.copyOf(moduleIds), List.copyOf(lessonIds));
+    }
+
+    /**
+     * IDs of a created course, its modules and its lessons in creation order
+     */
+    record CourseTree(Long courseId, List<Long> moduleIds, List<Long> lessonIds) {
+
+        Long firstModuleId() {
+            return moduleIds.get(0);
+        }
+
+        Long lessonId(int index) {
+            return lessonIds.get(index);
+        }
+    }
+}
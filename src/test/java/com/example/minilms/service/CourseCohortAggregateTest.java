@@ -0,0 +1,156 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CompletionLayout;
+import com.example.minilms.dto.projection.CompletionLayout.Range;
+import com.example.minilms.service.CourseCohortAggregate.Snapshot;
+import com.example.minilms.service.CourseCohortAggregate.Stats;
+import com.example.minilms.service.LessonProgressWrittenEvent.ProgressWrite;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Medians, load replay and write ordering of the in-memory cohort aggregate
+ */
+class CourseCohortAggregateTest {
+
+    private static final long MODULE = 1L;
+    private static final long FIRST = 10L;
+    private static final long SECOND = 11L;
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void medianOfOddCount() {
+        assertEquals(5L, CourseCohortAggregate.median(new int[] {9, 1, 5, 7, 2}, 5));
+        assertEquals(4L, CourseCohortAggregate.median(new int[] {4}, 1));
+    }
+
+    @Test
+    void medianOfEvenCountAveragesTheMiddleValues() {
+        assertEquals(6L, CourseCohortAggregate.median(new int[] {10, 2, 8, 4}, 4));
+        assertEquals(2L, CourseCohortAggregate.median(new int[] {3, 1}, 2));
+    }
+
+    @Test
+    void medianWithDuplicates() {
+        assertEquals(7L, CourseCohortAggregate.median(new int[] {7, 7, 1, 7, 7}, 5));
+        assertEquals(2L, CourseCohortAggregate.median(new int[] {3, 1, 3, 1}, 4));
+        assertEquals(5L, CourseCohortAggregate.median(new int[] {5, 5, 5, 5, 5, 5}, 6));
+    }
+
+    @Test
+    void medianOnlyConsidersTheFirstCountValues() {
+        assertEquals(3L, CourseCohortAggregate.median(new int[] {3, 1, 5, 100, 100}, 3));
+        assertNull(CourseCohortAggregate.median(new int[] {1, 2}, 0));
+    }
+
+    @Test
+    void medianMatchesSorting() {
+        Random random = new Random(11);
+        for (int run = 0; run < 500; run++) {
+            int count = 1 + random.nextInt(40);
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = random.nextInt(10);
+            }
+            int[] sorted = values.clone();
+            Arrays.sort(sorted);
+            long expected = count % 2 == 1 ? sorted[count / 2]
+                    : ((long) sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+            assertEquals(expected, CourseCohortAggregate.median(values, count));
+        }
+    }
+
+    @Test
+    void writesDuringLoadAreReplayedOnceAfterIt() {
+        CourseCohortAggregate aggregate = newAggregate();
+
+        // Committed while the scan runs: one newer than the row the scan reads, one read by the scan as well
+        aggregate.apply(write("alice", FIRST, true, 100, T0, T0.plusMinutes(10), T0.plusMinutes(10)));
+        aggregate.apply(write("bob", SECOND, false, 40, T0, null, T0.plusMinutes(5)));
+
+        aggregate.load(write("alice", FIRST, false, 50, T0, null, T0.plusMinutes(1)));
+        aggregate.load(write("bob", FIRST, true, 100, T0, T0.plusMinutes(20), T0.plusMinutes(20)));
+        aggregate.load(write("bob", SECOND, false, 40, T0, null, T0.plusMinutes(5)));
+        aggregate.finishLoad();
+
+        Snapshot snapshot = aggregate.snapshot();
+        assertEquals(2, snapshot.learners());
+
+        Stats first = snapshot.lessons().get(FIRST);
+        assertEquals(2, first.started());
+        assertEquals(2, first.completed());
+        assertEquals(100.0, first.averageCompletionPercentage(), 1e-9);
+        assertEquals(15 * 60L, first.medianSecondsToComplete());
+
+        Stats second = snapshot.lessons().get(SECOND);
+        assertEquals(1, second.started());
+        assertEquals(0, second.completed());
+        assertEquals(40.0, second.averageCompletionPercentage(), 1e-9);
+        assertNull(second.medianSecondsToComplete());
+
+        Stats module = snapshot.modules().get(MODULE);
+        assertEquals(2, module.started());
+        assertEquals(0, module.completed());
+        assertEquals((50.0 + 70.0) / 2, module.averageCompletionPercentage(), 1e-9);
+    }
+
+    @Test
+    void olderWritesAreIgnored() {
+        CourseCohortAggregate aggregate = newAggregate();
+        aggregate.finishLoad();
+
+        aggregate.apply(write("alice", FIRST, true, 100, T0, T0.plusMinutes(3), T0.plusMinutes(3)));
+        aggregate.apply(write("alice", FIRST, false, 20, T0, null, T0.plusMinutes(1)));
+        aggregate.apply(write("alice", SECOND, true, 100, T0, T0.plusMinutes(4), T0.plusMinutes(4)));
+
+        Snapshot snapshot = aggregate.snapshot();
+        assertEquals(1, snapshot.lessons().get(FIRST).completed());
+        assertEquals(100.0, snapshot.lessons().get(FIRST).averageCompletionPercentage(), 1e-9);
+        assertEquals(1, snapshot.modules().get(MODULE).completed());
+        assertEquals(4 * 60L, snapshot.modules().get(MODULE).medianSecondsToComplete());
+
+        // A later update wins again, and the cached figures are recomputed
+        aggregate.apply(write("alice", FIRST, false, 20, T0, null, T0.plusMinutes(5)));
+        snapshot = aggregate.snapshot();
+        assertEquals(0, snapshot.lessons().get(FIRST).completed());
+        assertEquals(0, snapshot.modules().get(MODULE).completed());
+    }
+
+    @Test
+    void columnsGrowWithLearners() {
+        CourseCohortAggregate aggregate = newAggregate();
+        aggregate.finishLoad();
+        long initialSize = aggregate.sizeInBytes();
+
+        for (int learner = 0; learner < 100; learner++) {
+            aggregate.apply(write("learner" + learner, FIRST, learner % 2 == 0, learner % 2 == 0 ? 100 : 50,
+                    T0, learner % 2 == 0 ? T0.plusSeconds(learner) : null, T0.plusSeconds(learner)));
+        }
+
+        assertEquals(initialSize * 2, aggregate.sizeInBytes());
+        Snapshot snapshot = aggregate.snapshot();
+        assertEquals(100, snapshot.learners());
+        assertEquals(100, snapshot.lessons().get(FIRST).started());
+        assertEquals(50, snapshot.lessons().get(FIRST).completed());
+        // Even learners 0..98 complete after 0..98 seconds
+        assertEquals(49L, snapshot.lessons().get(FIRST).medianSecondsToComplete());
+    }
+
+    private static CourseCohortAggregate newAggregate() {
+        CompletionLayout layout = new CompletionLayout(1L, Map.of(FIRST, 0, SECOND, 1),
+                Map.of(MODULE, new Range(0, 2)));
+        return new CourseCohortAggregate(3L, layout);
+    }
+
+    private static ProgressWrite write(String userId, long lessonId, boolean completed, int percentage,
+                                       LocalDateTime startedAt, LocalDateTime completedAt, LocalDateTime updatedAt) {
+        return new ProgressWrite(userId, lessonId, 3L, completed, percentage, startedAt, completedAt, updatedAt);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.response.ApiResponse;
+import com.example.minilms.service.CourseResponseCache.SerializedCourse;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Gzip responses spliced from the cached deflate blocks must inflate to exactly the plain JSON response
+ */
+@SpringBootTest
+@Import(CatalogFixture.class)
+class CourseResponseCacheTest {
+
+    @Autowired
+    private CourseStructureCache courseStructureCache;
+
+    @Autowired
+    private CatalogFixture catalogFixture;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CourseResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // Without the per-request timestamp two envelopes serialize to the same bytes
+        ObjectMapper mapper = objectMapper.copy().addMixIn(ApiResponse.class, WithoutTimestamp.class);
+        cache = new CourseResponseCache(courseStructureCache, mapper, new SimpleMeterRegistry(), true, true, 1 << 26);
+    }
+
+    @Test
+    void gzipResponseInflatesToThePlainResponse() throws IOException {
+        Long courseId = catalogFixture.createCourse("Small course", 1, 2).courseId();
+
+        assertSplicedGzipMatchesPlain(cache.getCourse(courseId).orElseThrow(), "Course retrieved");
+    }
+
+    @Test
+    void largeCourseWithNonAsciiTextInflatesToThePlainResponse() throws IOException {
+        // Large enough that the cached blocks and envelope span several deflate buffers
+        Long courseId = catalogFixture.createCourse("Große Übersicht – 講座 ✓", 8, 40).courseId();
+        SerializedCourse course = cache.getCourse(courseId).orElseThrow();
+
+        assertSplicedGzipMatchesPlain(course, "Kurs geladen – ✓ \"quoted\"");
+        // Served again from the cached blocks
+        SerializedCourse cached = cache.getCourse(courseId).orElseThrow();
+        assertSame(course, cached);
+        assertSplicedGzipMatchesPlain(cached, "Course retrieved");
+    }
+
+    @Test
+    void combinedCrcMatchesTheCrcOfTheConcatenation() {
+        Random random = new Random(7);
+        for (int[] lengths : new int[][] {{0, 0}, {0, 5}, {5, 0}, {1, 1}, {37, 1000}, {4096, 3}, {70000, 123457}}) {
+            byte[] first = new byte[lengths[0]];
+            byte[] second = new byte[lengths[1]];
+            random.nextBytes(first);
+            random.nextBytes(second);
+
+            CRC32 whole = new CRC32();
+            whole.update(first);
+            whole.update(second);
+            assertEquals(whole.getValue(), CourseResponseCache.crc32Combine(crc(first), crc(second), second.length));
+        }
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private void assertSplicedGzipMatchesPlain(SerializedCourse course, String message) throws IOException {
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        cache.write(course, message, false, plain);
+        MockHttpServletResponse gzip = new MockHttpServletResponse();
+        cache.write(course, message, true, gzip);
+
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(plain.getContentAsByteArray().length, plain.getContentLength());
+        assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(gzip.getContentAsByteArray().length, gzip.getContentLength());
+
+        // GZIPInputStream also checks the spliced CRC and size trailer
+        byte[] inflated;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+            inflated = in.readAllBytes();
+        }
+        assertArrayEquals(plain.getContentAsByteArray(), inflated);
+        assertEquals(objectMapper.readTree(course.json()), objectMapper.readTree(inflated).get("data"));
+        assertEquals(message, objectMapper.readTree(inflated).get("message").asText());
+    }
+
+    @JsonIgnoreProperties("timestamp")
+    private abstract static class WithoutTimestamp {
+    }
+}
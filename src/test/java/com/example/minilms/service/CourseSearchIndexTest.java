@@ -0,0 +1,162 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.CourseStructure;
+import com.example.minilms.dto.projection.CourseStructure.LessonNode;
+import com.example.minilms.dto.projection.CourseStructure.ModuleNode;
+import com.example.minilms.dto.response.CourseSearchHit;
+import com.example.minilms.dto.response.CourseSearchResponse;
+import com.example.minilms.entity.LessonType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Term matching, ranking and paging of the in-memory course search index
+ */
+class CourseSearchIndexTest {
+
+    private final CourseSearchIndex index = new CourseSearchIndex(null, null, null);
+
+    @Test
+    void editDistanceCountsTranspositionsAsOneEdit() {
+        assertEquals(0, CourseSearchIndex.editDistance("java", "java", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("java", "jave", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("form", "from", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("database", "databse", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("spring", "springs", 2));
+        assertEquals(3, CourseSearchIndex.editDistance("kitten", "sitting", 3));
+    }
+
+    @Test
+    void editDistanceStopsOnceTheBoundIsExceeded() {
+        assertEquals(2, CourseSearchIndex.editDistance("kitten", "sitting", 1));
+        assertEquals(2, CourseSearchIndex.editDistance("abcdef", "uvwxyz", 1));
+        // Length difference alone exceeds the bound
+        assertEquals(3, CourseSearchIndex.editDistance("java", "javascript", 2));
+        assertEquals(1, CourseSearchIndex.editDistance("", "a", 1));
+    }
+
+    @Test
+    void tokenizeFoldsAccentsAndDropsStopWords() {
+        assertEquals(List.of("uber", "cafe", "programming"),
+                CourseSearchIndex.tokenize("Über the Café: a Programming-to I"));
+        assertEquals(List.of(), CourseSearchIndex.tokenize("  "));
+        assertEquals(List.of(), CourseSearchIndex.tokenize(null));
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        index.indexCourse(course(1L, "Java basics", "Learn the language"), Map.of());
+        index.indexCourse(course(2L, "Python basics", "Learn the language"), Map.of());
+        index.indexCourse(course(3L, "Advanced Java", "Concurrency in depth"), Map.of());
+
+        assertEquals(List.of(1L, 3L), sorted(ids(index.search("java", 0, 10))));
+        assertEquals(List.of(1L), ids(index.search("java basics", 0, 10)));
+        assertEquals(List.of(1L, 2L), sorted(ids(index.search("basics language", 0, 10))));
+        assertEquals(0, index.search("python concurrency", 0, 10).getTotalHits());
+        // Stop words alone make an empty query
+        assertEquals(0, index.search("the of", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void onlyTheLastTokenMatchesAsPrefix() {
+        index.indexCourse(course(1L, "Programming Java", "Objects and classes"), Map.of());
+        index.indexCourse(course(2L, "Program design", "Planning projects"), Map.of());
+
+        assertEquals(List.of(1L, 2L), sorted(ids(index.search("prog", 0, 10))));
+        assertEquals(List.of(1L), ids(index.search("java prog", 0, 10)));
+        assertEquals(0, index.search("prog java", 0, 10).getTotalHits());
+
+        // An exact match ranks above prefix expansions of the same token
+        assertEquals(List.of(2L, 1L), ids(index.search("program", 0, 10)));
+    }
+
+    @Test
+    void misspelledTokensMatchFuzzily() {
+        index.indexCourse(course(1L, "Relational database design", "Normal forms"), Map.of());
+        index.indexCourse(course(2L, "Kubernetes operations", "Running clusters"), Map.of());
+
+        assertEquals(List.of(1L), ids(index.search("databse", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("relatoinal", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("kubernetse clusters", 0, 10)));
+        // Too far off, and too short to be corrected
+        assertEquals(0, index.search("dtbsae", 0, 10).getTotalHits());
+        assertEquals(0, index.search("frm", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void lessonTitlesAndTextBodiesAreSearchable() {
+        CourseStructure course = new CourseStructure(7L, "Cooking", "Kitchen course", null, null, null, null,
+                List.of(new ModuleNode(70L, "Sauces", "Classic French sauces", null, null, null, null, List.of(
+                        new LessonNode(700L, "Hollandaise", LessonType.TEXT, 0, 1024, null, null, true),
+                        new LessonNode(701L, "Demonstration", LessonType.VIDEO, 0, 2048, null, null, true)))),
+                0, Map.of(), null, null);
+        index.indexCourse(course, Map.of(700L, "Whisk the emulsion gently", 701L, "Ignored video body"));
+
+        assertEquals(List.of(7L), ids(index.search("hollandaise", 0, 10)));
+        assertEquals(List.of(7L), ids(index.search("emulsion french", 0, 10)));
+        assertEquals(0, index.search("ignored", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void equalScoresRankByCourseIdAndPagesSliceTheRanking() {
+        for (long id : new long[] {5L, 3L, 9L, 1L, 7L}) {
+            index.indexCourse(course(id, "Statistics", "Probability"), Map.of());
+        }
+
+        CourseSearchResponse first = index.search("statistics", 0, 2);
+        assertEquals(5, first.getTotalHits());
+        assertEquals(List.of(1L, 3L), ids(first));
+        assertEquals(List.of(5L, 7L), ids(index.search("statistics", 1, 2)));
+        assertEquals(List.of(9L), ids(index.search("statistics", 2, 2)));
+        CourseSearchResponse beyond = index.search("statistics", 3, 2);
+        assertEquals(5, beyond.getTotalHits());
+        assertTrue(beyond.getHits().isEmpty());
+        assertTrue(index.search("statistics", 0, 0).getHits().isEmpty());
+    }
+
+    @Test
+    void replacedCoursesStaySearchableAcrossCompaction() {
+        int courses = 2500;
+        for (long id = 1; id <= courses; id++) {
+            index.indexCourse(course(id, "Course " + id, "Original syllabus"), Map.of());
+        }
+        // Replacing every even course leaves more tombstones than the compaction threshold
+        for (long id = 2; id <= courses; id += 2) {
+            index.indexCourse(course(id, "Course " + id, "Revised syllabus"), Map.of());
+        }
+        for (long id = 2; id <= 40; id += 2) {
+            index.indexCourse(course(id, "Course " + id, "Revised again syllabus"), Map.of());
+        }
+
+        CourseSearchResponse original = index.search("original", 0, courses);
+        assertEquals(courses / 2, original.getTotalHits());
+        assertTrue(ids(original).stream().allMatch(id -> id % 2 == 1));
+        assertEquals(courses / 2, index.search("revised", 0, 1).getTotalHits());
+        assertEquals(courses, index.search("syllabus", 0, 1).getTotalHits());
+        assertEquals(List.of(2L, 4L, 6L), ids(index.search("revised again", 0, 3)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("syllabus", 0, 3)));
+
+        CourseSearchHit hit = index.search("original 999", 0, 1).getHits().get(0);
+        assertEquals(999L, hit.getId());
+        assertEquals("Course 999", hit.getTitle());
+        assertEquals("Original syllabus", hit.getDescription());
+    }
+
+    private static CourseStructure course(Long id, String title, String description) {
+        return new CourseStructure(id, title, description, null, null, null, null, List.of(),
+                0, Map.of(), null, null);
+    }
+
+    private static List<Long> ids(CourseSearchResponse response) {
+        return response.getHits().stream().map(CourseSearchHit::getId).toList();
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
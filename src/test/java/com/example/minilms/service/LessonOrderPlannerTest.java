@@ -0,0 +1,160 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.LessonOrderEntry;
+import com.example.minilms.entity.Lesson;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sparse order index planning: single moves, full reorders and respacing when gaps run out
+ */
+class LessonOrderPlannerTest {
+
+    private static final int GAP = Lesson.ORDER_INDEX_GAP;
+
+    @Test
+    void betweenPicksTheMiddleOfTheGap() {
+        assertEquals(GAP, LessonOrderPlanner.between(null, null));
+        assertEquals(1536, LessonOrderPlanner.between(1024, 2048));
+        assertEquals(3 * GAP, LessonOrderPlanner.between(2 * GAP, null));
+        assertEquals(0, LessonOrderPlanner.between(null, GAP));
+    }
+
+    @Test
+    void betweenReturnsNullWhenTheGapIsExhausted() {
+        assertNull(LessonOrderPlanner.between(5, 6));
+        assertNull(LessonOrderPlanner.between(7, 7));
+        assertNull(LessonOrderPlanner.between(Integer.MAX_VALUE, null));
+        assertNull(LessonOrderPlanner.between(null, Integer.MIN_VALUE));
+    }
+
+    @Test
+    void repeatedMovesIntoOneGapEventuallyNeedARespace() {
+        int lower = GAP;
+        Integer upper = 2 * GAP;
+        int moves = 0;
+        while (upper != null) {
+            Integer index = LessonOrderPlanner.between(lower, upper);
+            if (index == null) {
+                break;
+            }
+            assertTrue(index > lower && index < upper);
+            upper = index;
+            moves++;
+        }
+        // Halving a gap of 1024 leaves room for 10 moves
+        assertEquals(10, moves);
+    }
+
+    @Test
+    void moveToFirstPositionWritesOneRow() {
+        List<LessonOrderEntry> ordered = entries(4, 1, 2, 3);
+        List<LessonOrderEntry> changes = LessonOrderPlanner.planReorder(ordered);
+
+        assertEquals(1, changes.size());
+        assertEquals(4L, changes.get(0).lessonId());
+        assertTrue(changes.get(0).orderIndex() < GAP);
+        assertIncreasing(ordered, changes);
+    }
+
+    @Test
+    void moveToLastPositionWritesOneRow() {
+        List<LessonOrderEntry> ordered = entries(2, 3, 4, 1);
+        List<LessonOrderEntry> changes = LessonOrderPlanner.planReorder(ordered);
+
+        assertEquals(1, changes.size());
+        assertEquals(1L, changes.get(0).lessonId());
+        assertTrue(changes.get(0).orderIndex() > 4 * GAP);
+        assertIncreasing(ordered, changes);
+    }
+
+    @Test
+    void fullReverseKeepsOneLessonInPlace() {
+        List<LessonOrderEntry> ordered = entries(5, 4, 3, 2, 1);
+        List<LessonOrderEntry> changes = LessonOrderPlanner.planReorder(ordered);
+
+        assertEquals(4, changes.size());
+        assertIncreasing(ordered, changes);
+    }
+
+    @Test
+    void unchangedOrderWritesNothing() {
+        assertTrue(LessonOrderPlanner.planReorder(entries(1, 2, 3, 4)).isEmpty());
+    }
+
+    @Test
+    void exhaustedGapRespacesTheWholeModule() {
+        // Whichever increasing run is kept, the remaining lesson has no free index next to it
+        List<LessonOrderEntry> ordered = List.of(
+                new LessonOrderEntry(1L, 1), new LessonOrderEntry(2L, 3),
+                new LessonOrderEntry(3L, 2), new LessonOrderEntry(4L, 4));
+        List<LessonOrderEntry> changes = LessonOrderPlanner.planReorder(ordered);
+
+        assertEquals(List.of(
+                new LessonOrderEntry(1L, GAP), new LessonOrderEntry(2L, 2 * GAP),
+                new LessonOrderEntry(3L, 3 * GAP), new LessonOrderEntry(4L, 4 * GAP)), changes);
+    }
+
+    @Test
+    void respaceOnlyWritesLessonsThatMove() {
+        List<LessonOrderEntry> ordered = List.of(
+                new LessonOrderEntry(1L, GAP), new LessonOrderEntry(2L, GAP + 1), new LessonOrderEntry(3L, 3 * GAP));
+        assertEquals(List.of(new LessonOrderEntry(2L, 2 * GAP)), LessonOrderPlanner.respace(ordered));
+    }
+
+    @Test
+    void lessonsWithoutIndexAreAlwaysPlaced() {
+        List<LessonOrderEntry> ordered = List.of(
+                new LessonOrderEntry(1L, GAP), new LessonOrderEntry(2L, null), new LessonOrderEntry(3L, 2 * GAP));
+        List<LessonOrderEntry> changes = LessonOrderPlanner.planReorder(ordered);
+
+        assertEquals(List.of(new LessonOrderEntry(2L, GAP + GAP / 2)), changes);
+    }
+
+    @Test
+    void randomReordersAlwaysProduceIncreasingIndexes() {
+        Random random = new Random(5);
+        for (int run = 0; run < 200; run++) {
+            int size = 1 + random.nextInt(30);
+            List<LessonOrderEntry> current = new ArrayList<>();
+            int index = 0;
+            for (int i = 0; i < size; i++) {
+                // Mostly spaced, sometimes crowded, so both the gap and the respace paths are taken
+                index += 1 + (random.nextInt(4) == 0 ? random.nextInt(3) : random.nextInt(2 * GAP));
+                current.add(new LessonOrderEntry(i + 1, index));
+            }
+            List<LessonOrderEntry> ordered = new ArrayList<>(current);
+            Collections.shuffle(ordered, random);
+            assertIncreasing(ordered, LessonOrderPlanner.planReorder(ordered));
+        }
+    }
+
+    private static List<LessonOrderEntry> entries(long... lessonIdsInRequestedOrder) {
+        // Lesson n currently sits at n * GAP
+        List<LessonOrderEntry> entries = new ArrayList<>();
+        for (long lessonId : lessonIdsInRequestedOrder) {
+            entries.add(new LessonOrderEntry(lessonId, (int) lessonId * GAP));
+        }
+        return entries;
+    }
+
+    private static void assertIncreasing(List<LessonOrderEntry> ordered, List<LessonOrderEntry> changes) {
+        Map<Long, Integer> indexes = new HashMap<>();
+        ordered.forEach(entry -> indexes.put(entry.lessonId(), entry.orderIndex()));
+        changes.forEach(change -> indexes.put(change.lessonId(), change.orderIndex()));
+        for (int i = 1; i < ordered.size(); i++) {
+            assertTrue(indexes.get(ordered.get(i - 1).lessonId()) < indexes.get(ordered.get(i).lessonId()),
+                    "indexes must increase in the requested order: " + indexes);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.request.LessonPositionRequest;
+import com.example.minilms.entity.Lesson;
+import com.example.minilms.service.CatalogFixture.CourseTree;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Moving and reordering lessons keeps the requested order, respacing the module once its gaps run out
+ */
+@SpringBootTest
+@Import(CatalogFixture.class)
+class LessonReorderTest {
+
+    @Autowired
+    private CatalogFixture catalogFixture;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Test
+    void repeatedMovesIntoOneGapRespaceTheModule() {
+        CourseTree course = catalogFixture.createCourse("Gap exhaustion", 1, 3);
+        Long moduleId = course.firstModuleId();
+        List<Long> expected = new ArrayList<>(course.lessonIds());
+        assertOrder(moduleId, expected);
+
+        // Moving the last lesson right after the first one halves the same gap every time
+        for (int move = 0; move < 15; move++) {
+            Long last = expected.remove(expected.size() - 1);
+            expected.add(1, last);
+            lessonService.moveLesson(last, new LessonPositionRequest(expected.get(0), null));
+            assertOrder(moduleId, expected);
+        }
+
+        lessonService.rebalanceModule(moduleId);
+        assertEquals(List.of(Lesson.ORDER_INDEX_GAP, 2 * Lesson.ORDER_INDEX_GAP, 3 * Lesson.ORDER_INDEX_GAP),
+                orderIndexes(moduleId));
+        assertOrder(moduleId, expected);
+        assertEquals(0, lessonService.rebalanceModule(moduleId));
+    }
+
+    @Test
+    void movesToTheFirstAndLastPositions() {
+        CourseTree course = catalogFixture.createCourse("First and last", 1, 4);
+        Long moduleId = course.firstModuleId();
+        List<Long> expected = new ArrayList<>(course.lessonIds());
+
+        Long last = expected.remove(3);
+        expected.add(0, last);
+        lessonService.moveLesson(last, new LessonPositionRequest(null, expected.get(1)));
+        assertOrder(moduleId, expected);
+
+        Long first = expected.remove(0);
+        expected.add(first);
+        lessonService.moveLesson(first, new LessonPositionRequest(expected.get(2), null));
+        assertOrder(moduleId, expected);
+    }
+
+    @Test
+    void fullListReorder() {
+        CourseTree course = catalogFixture.createCourse("Full reorder", 1, 6);
+        Long moduleId = course.firstModuleId();
+
+        List<Long> reversed = new ArrayList<>(course.lessonIds());
+        Collections.reverse(reversed);
+        lessonService.reorderLessons(moduleId, reversed);
+        assertOrder(moduleId, reversed);
+
+        List<Long> interleaved = List.of(reversed.get(1), reversed.get(3), reversed.get(5),
+                reversed.get(0), reversed.get(2), reversed.get(4));
+        lessonService.reorderLessons(moduleId, interleaved);
+        assertOrder(moduleId, interleaved);
+    }
+
+    private void assertOrder(Long moduleId, List<Long> expected) {
+        List<Lesson> lessons = lessonService.getLessonsByModuleId(moduleId);
+        assertEquals(expected, lessons.stream().map(Lesson::getId).toList());
+        List<Integer> indexes = orderIndexes(moduleId);
+        for (int i = 1; i < indexes.size(); i++) {
+            assertTrue(indexes.get(i - 1) < indexes.get(i), "order indexes must be distinct: " + indexes);
+        }
+    }
+
+    private List<Integer> orderIndexes(Long moduleId) {
+        return lessonService.getLessonsByModuleId(moduleId).stream().map(Lesson::getOrderIndex).toList();
+    }
+}
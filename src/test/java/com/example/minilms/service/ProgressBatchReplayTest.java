@@ -0,0 +1,89 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.request.ProgressBatchItem;
+import com.example.minilms.dto.response.ProgressBatchItemResult;
+import com.example.minilms.dto.response.ProgressBatchResponse;
+import com.example.minilms.dto.response.ProgressResponse;
+import com.example.minilms.entity.LessonProgress;
+import com.example.minilms.repository.LessonProgressRepository;
+import com.example.minilms.service.CatalogFixture.CourseTree;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replaying an old offline batch must not undo progress stored since, and must keep the rollups current;
+ * new rows take IDs from reserved sequence blocks
+ */
+@SpringBootTest
+@Import(CatalogFixture.class)
+class ProgressBatchReplayTest {
+
+    @Autowired
+    private CatalogFixture catalogFixture;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private LessonProgressRepository lessonProgressRepository;
+
+    @Test
+    void olderBatchEventsAreSkipped() {
+        CourseTree course = catalogFixture.createCourse("Replay", 1, 2);
+        Long courseId = course.courseId();
+        Long first = course.lessonId(0);
+        Long second = course.lessonId(1);
+        String userId = "replay-" + UUID.randomUUID();
+
+        LessonProgress online = progressService.updateLessonProgress(userId, first, true, null);
+
+        ProgressBatchItem stale = new ProgressBatchItem(userId, first, false, null);
+        stale.setClientTimestamp(online.getUpdatedAt().minusHours(1));
+        ProgressBatchItem fresh = new ProgressBatchItem(userId, second, true, null);
+        fresh.setClientTimestamp(LocalDateTime.now().minusMinutes(1));
+        ProgressBatchResponse response = progressService.applyProgressBatch(List.of(stale, fresh));
+
+        assertEquals(1, response.getApplied());
+        assertEquals(1, response.getSkipped());
+        assertEquals(ProgressBatchItemResult.Status.SKIPPED, response.getResults().get(0).getStatus());
+
+        LessonProgress stored = lessonProgressRepository.findByUserIdAndLessonId(userId, first).orElseThrow();
+        assertTrue(stored.getCompleted());
+        assertTrue(stored.getUpdatedAt().isAfter(stale.getClientTimestamp()));
+
+        ProgressResponse progress = progressService.getCourseProgress(userId, courseId);
+        assertEquals(2, progress.getStartedLessons());
+        assertEquals(2, progress.getCompletedLessons());
+        assertEquals(100.0, progress.getProgressPercentage(), 1e-9);
+    }
+
+    @Test
+    void batchInsertedRowsTakeConsecutiveIds() {
+        CourseTree course = catalogFixture.createCourse("Ids", 1, 3);
+        Long courseId = course.courseId();
+        List<ProgressBatchItem> items = new ArrayList<>();
+        String userId = "ids-" + UUID.randomUUID();
+        for (Long lessonId : course.lessonIds()) {
+            items.add(new ProgressBatchItem(userId, lessonId, true, null));
+        }
+
+        assertEquals(3, progressService.applyProgressBatch(items).getApplied());
+
+        // IDs come from one reserved block, not a sequence block per row
+        List<Long> ids = lessonProgressRepository.findByUserIdAndCourseId(userId, courseId).stream()
+                .map(LessonProgress::getId)
+                .sorted()
+                .toList();
+        assertEquals(List.of(ids.get(0), ids.get(0) + 1, ids.get(0) + 2), ids);
+    }
+}
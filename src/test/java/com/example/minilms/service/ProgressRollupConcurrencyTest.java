@@ -0,0 +1,124 @@
+package com.example.minilms.service;
+
+import com.example.minilms.entity.LessonProgress;
+import com.example.minilms.entity.UserCourseProgress;
+import com.example.minilms.entity.UserModuleProgress;
+import com.example.minilms.repository.LessonProgressRepository;
+import com.example.minilms.repository.ProgressRollupJdbcRepository;
+import com.example.minilms.repository.UserCourseProgressRepository;
+import com.example.minilms.service.CatalogFixture.CourseTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent progress writes of one user in one course must leave the rollups equal to an aggregate
+ * of lesson_progress, including the first writes that materialize them
+ */
+@SpringBootTest
+@Import(CatalogFixture.class)
+class ProgressRollupConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 25;
+
+    @Autowired
+    private CatalogFixture catalogFixture;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressRollupService progressRollupService;
+
+    @Autowired
+    private ProgressRollupJdbcRepository rollupJdbcRepository;
+
+    @Autowired
+    private UserCourseProgressRepository userCourseProgressRepository;
+
+    @Autowired
+    private LessonProgressRepository lessonProgressRepository;
+
+    private Long courseId;
+    private List<Long> lessonIds;
+
+    @BeforeEach
+    void createCourse() {
+        CourseTree course = catalogFixture.createCourse("Concurrency", 2, 3);
+        courseId = course.courseId();
+        lessonIds = course.lessonIds();
+    }
+
+    @Test
+    void concurrentWritesKeepRollupsExact() throws Exception {
+        String userId = "rollup-" + UUID.randomUUID();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            Random random = new Random(7);
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<LessonProgress>> writes = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    // Several threads per lesson, so the same row as well as the same rollups are contended
+                    Long lessonId = lessonIds.get(random.nextInt(lessonIds.size()));
+                    boolean completed = random.nextBoolean();
+                    writes.add(executor.submit(() -> {
+                        start.await();
+                        return progressService.updateLessonProgress(userId, lessonId, completed, null);
+                    }));
+                }
+                start.countDown();
+                for (Future<LessonProgress> write : writes) {
+                    write.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<LessonProgress> rows = lessonProgressRepository.findByUserIdAndCourseId(userId, courseId);
+        long completed = rows.stream().filter(LessonProgress::getCompleted).count();
+
+        UserCourseProgress course = userCourseProgressRepository.findById(
+                new UserCourseProgress.Key(userId, courseId)).orElseThrow();
+        assertEquals(rows.size(), course.getStartedLessons());
+        assertEquals(completed, course.getCompletedLessons());
+
+        List<UserModuleProgress> expected = sorted(rollupJdbcRepository.aggregateUserModules(userId, courseId));
+        List<UserModuleProgress> actual = sorted(progressRollupService.getCourseRollup(userId, courseId).modules());
+        assertEquals(expected.size(), actual.size());
+        double percentageSum = 0.0;
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getModuleId(), actual.get(i).getModuleId());
+            assertEquals(expected.get(i).getStartedLessons(), actual.get(i).getStartedLessons());
+            assertEquals(expected.get(i).getCompletedLessons(), actual.get(i).getCompletedLessons());
+            assertEquals(expected.get(i).getProgressPercentage(), actual.get(i).getProgressPercentage(), 1e-9);
+            percentageSum += expected.get(i).getProgressPercentage();
+        }
+        assertEquals(percentageSum / course.getTotalModules(), course.getProgressPercentage(), 1e-9);
+        assertTrue(course.getStartedLessons() > 0);
+    }
+
+    private static List<UserModuleProgress> sorted(List<UserModuleProgress> modules) {
+        List<UserModuleProgress> copy = new ArrayList<>(modules);
+        copy.sort(Comparator.comparing(UserModuleProgress::getModuleId));
+        return copy;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.projection.LessonLocation;
+import com.example.minilms.exception.ProgressBufferFullException;
+import com.example.minilms.repository.LessonProgressJdbcRepository.ProgressRow;
+import com.example.minilms.service.ProgressBatchWriter.WriteResult;
+import com.example.minilms.service.ProgressWriteBehindBuffer.PendingProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coalescing of buffered updates must persist what the synchronous path would; the buffer stays
+ * bounded and a failing row cannot block it
+ */
+class ProgressWriteBehindBufferTest {
+
+    private static final LessonLocation LESSON = new LessonLocation(3L, 2L, 1L);
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void completedThenIncompleteWithinOneWindowIsIncomplete() {
+        ProgressWriteBehindBuffer buffer = new ProgressWriteBehindBuffer(null, null, new SimpleMeterRegistry(),
+                true, 500, 100, 3);
+
+        buffer.submit("learner", LESSON, true, 100);
+        PendingProgress pending = buffer.submit("learner", LESSON, false, 0);
+
+        assertFalse(pending.completed());
+        assertEquals(0, pending.completionPercentage());
+        assertEquals(1, buffer.getPendingCount());
+    }
+
+    @Test
+    void latestUpdateWinsRegardlessOfMergeOrder() {
+        PendingProgress completed = new PendingProgress(2L, 1L, true, 100, T0);
+        PendingProgress reset = new PendingProgress(2L, 1L, false, 0, T0.plusSeconds(1));
+
+        assertFalse(completed.coalesce(reset).completed());
+        assertFalse(reset.coalesce(completed).completed());
+        assertEquals(T0.plusSeconds(1), completed.coalesce(reset).updatedAt());
+
+        PendingProgress recompleted = new PendingProgress(2L, 1L, true, 100, T0.plusSeconds(2));
+        assertTrue(reset.coalesce(recompleted).completed());
+    }
+
+    @Test
+    void incompleteUpdatesKeepTheHighestPercentage() {
+        PendingProgress later = new PendingProgress(2L, 1L, false, 40, T0.plusSeconds(1));
+        PendingProgress earlier = new PendingProgress(2L, 1L, false, 60, T0);
+
+        PendingProgress merged = earlier.coalesce(later);
+        assertFalse(merged.completed());
+        assertEquals(60, merged.completionPercentage());
+        assertEquals(T0.plusSeconds(1), merged.updatedAt());
+    }
+
+    @Test
+    void concurrentSubmitsNeverOvershootTheBound() throws Exception {
+        // The database is down, so no flush frees a slot
+        ProgressWriteBehindBuffer buffer = buffer(rows -> {
+            throw new TransientDataAccessResourceException("database unavailable");
+        }, 100, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> submits = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int learner = thread;
+                submits.add(executor.submit(() -> {
+                    start.await();
+                    for (long lesson = 0; lesson < 50; lesson++) {
+                        try {
+                            buffer.submit("learner" + learner, new LessonLocation(lesson, 2L, 1L), false, 10);
+                        } catch (ProgressBufferFullException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> submit : submits) {
+                submit.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100, buffer.getPendingCount());
+        assertEquals(300, rejected.get());
+    }
+
+    @Test
+    void unavailableDatabaseKeepsEveryUpdate() {
+        ProgressWriteBehindBuffer buffer = buffer(rows -> {
+            throw new TransientDataAccessResourceException("database unavailable");
+        }, 10, 3);
+        buffer.submit("learner", LESSON, true, 100);
+
+        for (int flush = 0; flush < 10; flush++) {
+            assertEquals(0, buffer.flush());
+        }
+        assertEquals(1, buffer.getPendingCount());
+    }
+
+    @Test
+    void rowFailingOnItsOwnIsDroppedAfterMaxAttempts() {
+        List<Long> written = new ArrayList<>();
+        ProgressWriteBehindBuffer buffer = buffer(rows -> {
+            if (rows.stream().anyMatch(row -> row.lessonId() == 13L)) {
+                throw new DataIntegrityViolationException("bad row");
+            }
+            rows.forEach(row -> written.add(row.lessonId()));
+            return new WriteResult(List.of(), List.of());
+        }, 10, 3);
+        buffer.submit("learner", new LessonLocation(12L, 2L, 1L), true, 100);
+        buffer.submit("learner", new LessonLocation(13L, 2L, 1L), true, 100);
+        buffer.submit("learner", new LessonLocation(14L, 2L, 1L), true, 100);
+
+        // The failing batch is retried row by row, so the other rows are written by the first flush
+        assertEquals(2, buffer.flush());
+        assertEquals(List.of(12L, 14L), written.stream().sorted().toList());
+        assertEquals(1, buffer.getPendingCount());
+
+        assertEquals(0, buffer.flush());
+        assertEquals(1, buffer.getPendingCount());
+        assertEquals(0, buffer.flush());
+        assertEquals(0, buffer.getPendingCount());
+
+        // Its slot is free again
+        buffer.submit("learner", new LessonLocation(15L, 2L, 1L), true, 100);
+        assertEquals(1, buffer.flush());
+    }
+
+    @Test
+    void fullBufferRejectsWhenTheInlineBatchCannotMakeRoom() {
+        ProgressWriteBehindBuffer buffer = buffer(rows -> {
+            throw new TransientDataAccessResourceException("database unavailable");
+        }, 1, 3);
+        buffer.submit("learner", new LessonLocation(1L, 2L, 1L), true, 100);
+
+        assertThrows(ProgressBufferFullException.class,
+                () -> buffer.submit("learner", new LessonLocation(2L, 2L, 1L), true, 100));
+        // Updates of a buffered key still coalesce
+        buffer.submit("learner", new LessonLocation(1L, 2L, 1L), false, 50);
+        assertEquals(1, buffer.getPendingCount());
+    }
+
+    private static ProgressWriteBehindBuffer buffer(Function<List<ProgressRow>, WriteResult> write,
+                                                    int maxPending, int maxAttempts) {
+        ProgressBatchWriter writer = new ProgressBatchWriter(null, null, null, null, null) {
+            @Override
+            public WriteResult write(List<ProgressRow> rows) {
+                return write.apply(rows);
+            }
+        };
+        return new ProgressWriteBehindBuffer(writer, new TransactionTemplate(new NoTransactionManager()),
+                new SimpleMeterRegistry(), true, 500, maxPending, maxAttempts);
+    }
+
+    private static class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.minilms.service;
+
+import com.example.minilms.dto.response.ProgressResponse;
+import com.example.minilms.repository.LessonProgressRepository;
+import com.example.minilms.service.CatalogFixture.CourseTree;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Flushing buffered progress must not resurrect the progress of lessons deleted meanwhile
+ */
+@SpringBootTest
+@Import(CatalogFixture.class)
+class ProgressWriteBehindFlushTest {
+
+    @Autowired
+    private CatalogFixture catalogFixture;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ProgressWriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private LessonProgressRepository lessonProgressRepository;
+
+    @Test
+    void updatesOfDeletedLessonsAreDropped() {
+        CourseTree course = catalogFixture.createCourse("Buffered", 1, 2);
+        Long courseId = course.courseId();
+        Long kept = course.lessonId(0);
+        Long deleted = course.lessonId(1);
+        String userId = "buffered-" + UUID.randomUUID();
+
+        progressService.updateLessonProgress(userId, kept, true, null);
+        progressService.enqueueLessonProgress(userId, deleted, true, null);
+        lessonService.deleteLesson(deleted);
+        writeBehindBuffer.flush();
+
+        assertEquals(0, writeBehindBuffer.getPendingCount());
+        assertTrue(lessonProgressRepository.findByUserIdAndLessonId(userId, deleted).isEmpty());
+        ProgressResponse progress = progressService.getCourseProgress(userId, courseId);
+        assertEquals(1, progress.getTotalLessons());
+        assertEquals(1, progress.getStartedLessons());
+        assertEquals(1, progress.getCompletedLessons());
+        assertEquals(100.0, progress.getProgressPercentage(), 1e-9);
+    }
+}